@@ -16,6 +16,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
 import tech.jhipster.config.DefaultProfileUtil;
 import tech.jhipster.config.JHipsterConstants;
 
@@ -67,10 +69,26 @@ public class TaskManagerApp {
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(TaskManagerApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
+        if (isMigrateRun(args)) {
+            // One-shot migration: the web server is not started, and the application exits once Liquibase has run
+            String[] migrateArgs = Arrays.copyOf(args, args.length + 1);
+            migrateArgs[args.length] = "--server.port=-1";
+            System.exit(SpringApplication.exit(app.run(migrateArgs)));
+        }
         Environment env = app.run(args).getEnvironment();
         logApplicationStartup(env);
     }
 
+    /**
+     * The {@code migrate} run mode is selected with {@code --application.liquibase.mode=migrate} or the
+     * {@code APPLICATION_LIQUIBASE_MODE=migrate} environment variable, see {@link ApplicationProperties.Liquibase.Mode}.
+     */
+    private static boolean isMigrateRun(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return ApplicationProperties.Liquibase.Mode.MIGRATE.name().equalsIgnoreCase(environment.getProperty("application.liquibase.mode"));
+    }
+
     private static void logApplicationStartup(Environment env) {
         String protocol = Optional.ofNullable(env.getProperty("server.ssl.key-store")).map(key -> "https").orElse("http");
         String applicationName = env.getProperty("spring.application.name");
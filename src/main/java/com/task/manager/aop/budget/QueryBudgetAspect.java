@@ -0,0 +1,55 @@
+package com.task.manager.aop.budget;
+
+import com.task.manager.repository.QueryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Aspect counting the requests whose database work was stopped as their {@link QueryBudget} was exhausted: by a
+ * statement timeout, by a transaction refused once no time was left, or by a statement cancelled as the client gave
+ * up. Each request is counted once, whichever service or repository call failed first.
+ * <p>
+ * It runs before the transaction interceptor, to see the transactions refused when they start.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetAspect {
+
+    public static final String TIMEOUTS_METER_NAME = "query.budget.timeouts";
+    public static final String TIMEOUTS_METER_DESCRIPTION = "Number of requests stopped as their query budget was exhausted.";
+    public static final String ENDPOINT_CLASS_DIMENSION = "endpoint-class";
+    public static final String CAUSE_DIMENSION = "cause";
+
+    private final MeterRegistry registry;
+
+    public QueryBudgetAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @AfterThrowing(
+        pointcut = "execution(* com.task.manager.service..*(..)) || execution(* com.task.manager.repository..*Repository.*(..))",
+        throwing = "e"
+    )
+    public void countTimeout(RuntimeException e) {
+        QueryBudget budget = QueryBudget.current();
+        if (budget == null || !(budget.isCancelled() || e instanceof QueryTimeoutException || e instanceof TransactionTimedOutException)) {
+            return;
+        }
+        if (!budget.markStopped()) {
+            return;
+        }
+        Counter
+            .builder(TIMEOUTS_METER_NAME)
+            .description(TIMEOUTS_METER_DESCRIPTION)
+            .tag(ENDPOINT_CLASS_DIMENSION, budget.getName())
+            .tag(CAUSE_DIMENSION, budget.isCancelled() ? "cancelled" : "timeout")
+            .register(registry)
+            .increment();
+    }
+}
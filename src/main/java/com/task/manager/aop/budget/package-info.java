@@ -0,0 +1,4 @@
+/**
+ * Query budget aspect.
+ */
+package com.task.manager.aop.budget;
@@ -0,0 +1,50 @@
+package com.task.manager.aop.pool;
+
+import com.task.manager.repository.ConnectionPool;
+import com.task.manager.repository.Workload;
+import com.task.manager.repository.WorkloadRoutingDataSource;
+import java.lang.reflect.Method;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aspect setting the {@link Workload} of the methods annotated with {@link ConnectionPool}, or of the methods of
+ * annotated classes, for their duration.
+ * <p>
+ * It runs before the transaction interceptor, as the connection of a read-only transaction is acquired when the
+ * transaction starts. Within a transaction, the workload is left as it is, as the transaction keeps its connection.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConnectionPoolAspect {
+
+    @Around("@annotation(com.task.manager.repository.ConnectionPool) || @within(com.task.manager.repository.ConnectionPool)")
+    public Object useConnectionPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Workload previous = WorkloadRoutingDataSource.use(workload(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+        }
+    }
+
+    private static Workload workload(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        ConnectionPool connectionPool = AnnotatedElementUtils.findMergedAnnotation(method, ConnectionPool.class);
+        if (connectionPool == null) {
+            connectionPool = AnnotatedElementUtils.findMergedAnnotation(targetClass, ConnectionPool.class);
+        }
+        return connectionPool.value();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Connection pool aspect.
+ */
+package com.task.manager.aop.pool;
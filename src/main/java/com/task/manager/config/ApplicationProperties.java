@@ -1,6 +1,8 @@
 package com.task.manager.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Task Manager.
@@ -10,7 +12,479 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Liquibase liquibase = new Liquibase();
+
+    private final Archive archive = new Archive();
+
+    private final Partitioning partitioning = new Partitioning();
+
+    private final TagFilter tagFilter = new TagFilter();
+
+    private final IdGenerator idGenerator = new IdGenerator();
+
+    private final GroupCommit groupCommit = new GroupCommit();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final Reporting reporting = new Reporting();
+
+    private final ConnectionPools connectionPools = new ConnectionPools();
+
+    private final LatencyBudgets latencyBudgets = new LatencyBudgets();
+
     // jhipster-needle-application-properties-property
+
+    public Liquibase getLiquibase() {
+        return liquibase;
+    }
+
+    public Archive getArchive() {
+        return archive;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public TagFilter getTagFilter() {
+        return tagFilter;
+    }
+
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    public GroupCommit getGroupCommit() {
+        return groupCommit;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public Reporting getReporting() {
+        return reporting;
+    }
+
+    public ConnectionPools getConnectionPools() {
+        return connectionPools;
+    }
+
+    public LatencyBudgets getLatencyBudgets() {
+        return latencyBudgets;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Liquibase {
+
+        public enum Mode {
+            /**
+             * Liquibase validates and applies the changelog on every startup.
+             */
+            ALWAYS,
+            /**
+             * Liquibase is skipped when the checksum of the changelog matches the one stored by the last migration.
+             */
+            SKIP_IF_UNCHANGED,
+            /**
+             * One-shot run: applies the changelog, stores its checksum and exits, without starting the web server.
+             */
+            MIGRATE,
+        }
+
+        private Mode mode = Mode.ALWAYS;
+
+        private String markerTable = "jhi_changelog_checksum";
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public String getMarkerTable() {
+            return markerTable;
+        }
+
+        public void setMarkerTable(String markerTable) {
+            this.markerTable = markerTable;
+        }
+    }
+
+    public static class Archive {
+
+        private boolean enabled = true;
+
+        private String cron = "0 30 2 * * ?";
+
+        private Duration horizon = Duration.ofDays(365);
+
+        private int batchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public Duration getHorizon() {
+            return horizon;
+        }
+
+        public void setHorizon(Duration horizon) {
+            this.horizon = horizon;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Partitioning {
+
+        public enum ExpiredPartitions {
+            /**
+             * Partitions are never removed.
+             */
+            KEEP,
+            /**
+             * The tasks of the partition are moved to the archive table, then the empty partition is dropped.
+             */
+            ARCHIVE,
+            /**
+             * The partition is dropped with its tasks.
+             */
+            DROP,
+        }
+
+        private String cron = "0 0 3 * * ?";
+
+        private int futureMonths = 3;
+
+        private Duration retention = Duration.ofDays(5 * 365);
+
+        private ExpiredPartitions expiredPartitions = ExpiredPartitions.KEEP;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getFutureMonths() {
+            return futureMonths;
+        }
+
+        public void setFutureMonths(int futureMonths) {
+            this.futureMonths = futureMonths;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public ExpiredPartitions getExpiredPartitions() {
+            return expiredPartitions;
+        }
+
+        public void setExpiredPartitions(ExpiredPartitions expiredPartitions) {
+            this.expiredPartitions = expiredPartitions;
+        }
+    }
+
+    public static class TagFilter {
+
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        private int maxUsers = 10_000;
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+    }
+
+    public static class IdGenerator {
+
+        private int workerId = 0;
+
+        public int getWorkerId() {
+            return workerId;
+        }
+
+        public void setWorkerId(int workerId) {
+            this.workerId = workerId;
+        }
+    }
+
+    public static class GroupCommit {
+
+        private boolean enabled = false;
+
+        private int maxBatchSize = 50;
+
+        private Duration maxDelay = Duration.ofMillis(2);
+
+        private int queueCapacity = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+    public static class ResponseCache {
+
+        private boolean enabled = true;
+
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Reporting {
+
+        private int poolSize = 4;
+
+        private int queueCapacity = 100;
+
+        private Duration timeout = Duration.ofSeconds(30);
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class ConnectionPools {
+
+        private boolean enabled = true;
+
+        private final Pool oltp = Pool.ofMaximumSize(10);
+
+        private final Pool reporting = Pool.ofMaximumSize(4);
+
+        private final Pool batch = Pool.ofMaximumSize(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Pool getOltp() {
+            return oltp;
+        }
+
+        public Pool getReporting() {
+            return reporting;
+        }
+
+        public Pool getBatch() {
+            return batch;
+        }
+
+        /**
+         * Settings of a pool, overriding those of {@code spring.datasource.hikari}. Unset ones are inherited.
+         */
+        public static class Pool {
+
+            private int maximumPoolSize;
+
+            private Integer minimumIdle;
+
+            private Duration connectionTimeout;
+
+            private static Pool ofMaximumSize(int maximumPoolSize) {
+                Pool pool = new Pool();
+                pool.setMaximumPoolSize(maximumPoolSize);
+                return pool;
+            }
+
+            public int getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(int maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public Integer getMinimumIdle() {
+                return minimumIdle;
+            }
+
+            public void setMinimumIdle(Integer minimumIdle) {
+                this.minimumIdle = minimumIdle;
+            }
+
+            public Duration getConnectionTimeout() {
+                return connectionTimeout;
+            }
+
+            public void setConnectionTimeout(Duration connectionTimeout) {
+                this.connectionTimeout = connectionTimeout;
+            }
+        }
+    }
+
+    public static class LatencyBudgets {
+
+        private boolean enabled = true;
+
+        private Duration crud = Duration.ofSeconds(5);
+
+        private Duration search = Duration.ofSeconds(3);
+
+        private Duration calendar = Duration.ofSeconds(5);
+
+        private Duration report = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getCrud() {
+            return crud;
+        }
+
+        public void setCrud(Duration crud) {
+            this.crud = crud;
+        }
+
+        public Duration getSearch() {
+            return search;
+        }
+
+        public void setSearch(Duration search) {
+            this.search = search;
+        }
+
+        public Duration getCalendar() {
+            return calendar;
+        }
+
+        public void setCalendar(Duration calendar) {
+            this.calendar = calendar;
+        }
+
+        public Duration getReport() {
+            return report;
+        }
+
+        public void setReport(Duration report) {
+            this.report = report;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -1,18 +1,25 @@
 package com.task.manager.config;
 
+import com.task.manager.repository.QueryBudget;
+import com.task.manager.repository.Workload;
+import com.task.manager.repository.WorkloadRoutingDataSource;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
 @Configuration
@@ -25,13 +32,34 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final Environment env;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        Environment env
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
+        this.env = env;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (Threading.VIRTUAL.isActive(env)) {
+            log.debug("Creating Async Task Executor on virtual threads");
+            // one virtual thread per task: the pool and queue sizes no longer apply, only the optional concurrency limit
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+            executor.setVirtualThreads(true);
+            Integer concurrencyLimit = taskExecutionProperties.getSimple().getConcurrencyLimit();
+            if (concurrencyLimit != null) {
+                executor.setConcurrencyLimit(concurrencyLimit);
+            }
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
         log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
@@ -41,6 +69,27 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Executor of the reports, so that they neither hold the request threads nor compete with the other requests for
+     * them. Bounded, so that a burst of reports is rejected instead of piling up.
+     */
+    @Bean(name = "reportingExecutor")
+    public ThreadPoolTaskExecutor reportingExecutor() {
+        log.debug("Creating Reporting Task Executor");
+        ApplicationProperties.Reporting reporting = applicationProperties.getReporting();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reporting.getPoolSize());
+        executor.setMaxPoolSize(reporting.getPoolSize());
+        executor.setQueueCapacity(reporting.getQueueCapacity());
+        executor.setThreadNamePrefix("task-manager-reporting-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(env));
+        // reports run with the authentication and the query budget of their request, on the reporting connection pool
+        executor.setTaskDecorator(runnable ->
+            WorkloadRoutingDataSource.wrap(Workload.REPORTING, QueryBudget.wrap(DelegatingSecurityContextRunnable.create(runnable, null)))
+        );
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,45 @@
+package com.task.manager.config;
+
+import com.task.manager.web.rest.json.BinaryFormats;
+import com.task.manager.web.rest.json.EntityProtobufHttpMessageConverter;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Binary response formats, negotiated with the {@code Accept} header: CBOR and Smile for every response, protocol buffers
+ * for the task and tag lists.
+ * <p>
+ * The CBOR and Smile converters replace the default ones, whose mappers lack the modules and settings of the JSON one.
+ * The protobuf converter is added last, so that JSON is still preferred when any type is accepted.
+ */
+@Configuration
+public class BinaryFormatConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders;
+
+    public BinaryFormatConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders) {
+        this.objectMapperBuilders = objectMapperBuilders;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(BinaryFormats.cbor(objectMapperBuilders.getObject()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(BinaryFormats.smile(objectMapperBuilders.getObject()));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new EntityProtobufHttpMessageConverter(BinaryFormats.protobuf(objectMapperBuilders.getObject())));
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 import org.springframework.boot.ansi.AnsiColor;
@@ -43,27 +44,70 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         ELEMENTS = Collections.unmodifiableMap(ansiElements);
     }
 
+    private final Map<String, Boolean> loggerSafety = new ConcurrentHashMap<>();
+
+    private AnsiElement element;
+
+    @Override
+    public void start() {
+        element = ELEMENTS.get(getFirstOption());
+        super.start();
+    }
+
     @Override
     protected String transform(ILoggingEvent event, String in) {
-        AnsiElement element = ELEMENTS.get(getFirstOption());
+        int first = indexOfControlCharacter(in);
+        if (first < 0) {
+            return in;
+        }
         List<Marker> markers = event.getMarkerList();
         if ((markers != null && !markers.isEmpty() && markers.get(0).contains(CRLF_SAFE_MARKER)) || isLoggerSafe(event)) {
             return in;
         }
         String replacement = element == null ? "_" : toAnsiString("_", element);
-        return in.replaceAll("[\n\r\t]", replacement);
+        StringBuilder out = new StringBuilder(in.length() + replacement.length() * 2);
+        out.append(in, 0, first);
+        for (int i = first; i < in.length(); i++) {
+            char c = in.charAt(i);
+            if (isControlCharacter(c)) {
+                out.append(replacement);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
     }
 
+    /**
+     * Logger names are a small, stable set, so the prefix scan is done once per logger.
+     */
     protected boolean isLoggerSafe(ILoggingEvent event) {
+        return loggerSafety.computeIfAbsent(event.getLoggerName(), CRLFLogConverter::isSafeLoggerName);
+    }
+
+    protected String toAnsiString(String in, AnsiElement element) {
+        return AnsiOutput.toString(element, in);
+    }
+
+    private static boolean isSafeLoggerName(String loggerName) {
         for (String safeLogger : SAFE_LOGGERS) {
-            if (event.getLoggerName().startsWith(safeLogger)) {
+            if (loggerName.startsWith(safeLogger)) {
                 return true;
             }
         }
         return false;
     }
 
-    protected String toAnsiString(String in, AnsiElement element) {
-        return AnsiOutput.toString(element, in);
+    private static int indexOfControlCharacter(String in) {
+        for (int i = 0; i < in.length(); i++) {
+            if (isControlCharacter(in.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isControlCharacter(char c) {
+        return c == '\n' || c == '\r' || c == '\t';
     }
 }
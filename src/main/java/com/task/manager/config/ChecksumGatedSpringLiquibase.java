@@ -0,0 +1,139 @@
+package com.task.manager.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.util.StopWatch;
+
+/**
+ * Synchronous {@link SpringLiquibase} which records the checksum of the changelog it applied in a marker table, and
+ * optionally skips Liquibase entirely when that checksum did not change since the last migration.
+ * <p>
+ * The checksum covers every file of the changelog directory, as well as the contexts and labels, so that any change
+ * to a changeset, a data file or the selected contexts triggers a real Liquibase run. Skipping saves the changelog
+ * parsing, the lock and the validation of every changeset against {@code DATABASECHANGELOG}.
+ */
+public class ChecksumGatedSpringLiquibase extends SpringLiquibase {
+
+    private static final String MARKER_ID = "master";
+
+    private final Logger log = LoggerFactory.getLogger(ChecksumGatedSpringLiquibase.class);
+
+    private final boolean skipIfUnchanged;
+
+    private final String markerTable;
+
+    public ChecksumGatedSpringLiquibase(boolean skipIfUnchanged, String markerTable) {
+        this.skipIfUnchanged = skipIfUnchanged;
+        this.markerTable = markerTable;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        StopWatch watch = new StopWatch();
+        watch.start();
+        String checksum = changelogChecksum();
+        if (skipIfUnchanged) {
+            Optional<String> applied = readMarker();
+            if (applied.isPresent() && applied.get().equals(checksum)) {
+                watch.stop();
+                log.info("Liquibase changelog unchanged (checksum {}), skipped in {} ms", checksum, watch.getTotalTimeMillis());
+                return;
+            }
+            log.info("Liquibase changelog checksum {} differs from the applied one ({})", checksum, applied.orElse("none"));
+        }
+        super.afterPropertiesSet();
+        writeMarker(checksum);
+        watch.stop();
+        log.info("Liquibase changelog applied (checksum {}) in {} ms", checksum, watch.getTotalTimeMillis());
+    }
+
+    /**
+     * SHA-256 of the relative path and content of every file next to the master changelog, in path order, followed by
+     * the contexts and labels.
+     */
+    String changelogChecksum() throws LiquibaseException {
+        String changeLog = getChangeLog().replaceFirst("^classpath\\*?:", "");
+        String directory = changeLog.substring(0, changeLog.lastIndexOf('/') + 1);
+        ResourcePatternResolver resolver = ResourcePatternUtils.getResourcePatternResolver(getResourceLoader());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Resource[] resources = resolver.getResources("classpath*:" + directory + "**/*.*");
+            String[] paths = new String[resources.length];
+            for (int i = 0; i < resources.length; i++) {
+                String url = resources[i].getURL().toString();
+                paths[i] = url.substring(url.lastIndexOf(directory));
+            }
+            Integer[] order = new Integer[resources.length];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.comparing(i -> paths[i]));
+            for (int i : order) {
+                digest.update(paths[i].getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resources[i].getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            digest.update(("contexts=" + getContexts() + ";labels=" + getLabelFilter()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new LiquibaseException("Could not compute the checksum of " + getChangeLog(), e);
+        }
+    }
+
+    /**
+     * @return the checksum stored by the last migration, empty when there is none or when the marker table does not
+     * exist yet.
+     */
+    Optional<String> readMarker() {
+        try (
+            Connection connection = getDataSource().getConnection();
+            PreparedStatement statement = connection.prepareStatement("select checksum from " + markerTable + " where id = ?")
+        ) {
+            statement.setString(1, MARKER_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.ofNullable(resultSet.getString(1)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not read the Liquibase marker table {}: {}", markerTable, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeMarker(String checksum) throws LiquibaseException {
+        String upsert =
+            "insert into " +
+            markerTable +
+            " (id, checksum, applied_date) values (?, ?, ?)" +
+            " on duplicate key update checksum = values(checksum), applied_date = values(applied_date)";
+        try (Connection connection = getDataSource().getConnection(); PreparedStatement statement = connection.prepareStatement(upsert)) {
+            statement.setString(1, MARKER_ID);
+            statement.setString(2, checksum);
+            statement.setTimestamp(3, Timestamp.from(Instant.now()));
+            statement.executeUpdate();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new LiquibaseException("Could not store the changelog checksum in " + markerTable, e);
+        }
+    }
+}
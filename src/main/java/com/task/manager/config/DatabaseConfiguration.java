@@ -1,6 +1,27 @@
 package com.task.manager.config;
 
+import com.task.manager.aop.budget.QueryBudgetAspect;
+import com.task.manager.aop.pool.ConnectionPoolAspect;
+import com.task.manager.repository.QueryBudget;
+import com.task.manager.repository.QueryBudgetTransactionManager;
+import com.task.manager.repository.Workload;
+import com.task.manager.repository.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -9,4 +30,71 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaRepositories({ "com.task.manager.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(DatabaseConfiguration.class);
+
+    /**
+     * One Hikari pool per {@link Workload}, configured by {@code spring.datasource.hikari} then by its own
+     * {@code application.connection-pools} settings. Their {@code hikaricp.*} meters are tagged with the pool name.
+     * <p>
+     * When disabled, Spring Boot configures its single pool.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.connection-pools", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public WorkloadRoutingDataSource dataSource(
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        Environment env,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        ApplicationProperties.ConnectionPools connectionPools = applicationProperties.getConnectionPools();
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        pools.put(Workload.OLTP, pool(Workload.OLTP, connectionPools.getOltp(), dataSourceProperties, env, meterRegistry));
+        pools.put(Workload.REPORTING, pool(Workload.REPORTING, connectionPools.getReporting(), dataSourceProperties, env, meterRegistry));
+        pools.put(Workload.BATCH, pool(Workload.BATCH, connectionPools.getBatch(), dataSourceProperties, env, meterRegistry));
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    @Bean
+    public ConnectionPoolAspect connectionPoolAspect() {
+        return new ConnectionPoolAspect();
+    }
+
+    /**
+     * The JPA transaction manager of Spring Boot, bounding transactions by the {@link QueryBudget} of their request.
+     */
+    @Bean
+    public QueryBudgetTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        QueryBudgetTransactionManager transactionManager = new QueryBudgetTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public QueryBudgetAspect queryBudgetAspect(MeterRegistry meterRegistry) {
+        return new QueryBudgetAspect(meterRegistry);
+    }
+
+    private HikariDataSource pool(
+        Workload workload,
+        ApplicationProperties.ConnectionPools.Pool settings,
+        DataSourceProperties dataSourceProperties,
+        Environment env,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(workload.poolName());
+        pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+        if (settings.getMinimumIdle() != null) {
+            pool.setMinimumIdle(settings.getMinimumIdle());
+        }
+        if (settings.getConnectionTimeout() != null) {
+            pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+        }
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        log.debug("Configured connection pool {} of at most {} connections", pool.getPoolName(), pool.getMaximumPoolSize());
+        return pool;
+    }
+}
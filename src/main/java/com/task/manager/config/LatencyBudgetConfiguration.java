@@ -0,0 +1,26 @@
+package com.task.manager.config;
+
+import com.task.manager.web.rest.budget.LatencyBudgetInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Latency budgets of the REST endpoints, see {@link com.task.manager.web.rest.budget.LatencyBudget}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.latency-budgets", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LatencyBudgetConfiguration implements WebMvcConfigurer {
+
+    private final ApplicationProperties applicationProperties;
+
+    public LatencyBudgetConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LatencyBudgetInterceptor(applicationProperties)).addPathPatterns("/api/**");
+    }
+}
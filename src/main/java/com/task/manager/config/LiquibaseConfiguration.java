@@ -24,8 +24,11 @@ public class LiquibaseConfiguration {
 
     private final Environment env;
 
-    public LiquibaseConfiguration(Environment env) {
+    private final ApplicationProperties applicationProperties;
+
+    public LiquibaseConfiguration(Environment env, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.applicationProperties = applicationProperties;
     }
 
     @Bean
@@ -36,16 +39,30 @@ public class LiquibaseConfiguration {
         ObjectProvider<DataSource> dataSource,
         DataSourceProperties dataSourceProperties
     ) {
-        // If you don't want Liquibase to start asynchronously, substitute by this:
-        // SpringLiquibase liquibase = SpringLiquibaseUtil.createSpringLiquibase(liquibaseDataSource.getIfAvailable(), liquibaseProperties, dataSource.getIfUnique(), dataSourceProperties);
-        SpringLiquibase liquibase = SpringLiquibaseUtil.createAsyncSpringLiquibase(
-            this.env,
-            executor,
-            liquibaseDataSource.getIfAvailable(),
-            liquibaseProperties,
-            dataSource.getIfUnique(),
-            dataSourceProperties
-        );
+        ApplicationProperties.Liquibase.Mode mode = applicationProperties.getLiquibase().getMode();
+        SpringLiquibase liquibase;
+        if (mode == ApplicationProperties.Liquibase.Mode.ALWAYS || !isLiquibaseEnabled(liquibaseProperties)) {
+            // If you don't want Liquibase to start asynchronously, substitute by this:
+            // SpringLiquibase liquibase = SpringLiquibaseUtil.createSpringLiquibase(liquibaseDataSource.getIfAvailable(), liquibaseProperties, dataSource.getIfUnique(), dataSourceProperties);
+            liquibase =
+                SpringLiquibaseUtil.createAsyncSpringLiquibase(
+                    this.env,
+                    executor,
+                    liquibaseDataSource.getIfAvailable(),
+                    liquibaseProperties,
+                    dataSource.getIfUnique(),
+                    dataSourceProperties
+                );
+        } else {
+            // Runs synchronously, so that the checksum is only stored once the changelog is applied
+            log.debug("Configuring checksum gated Liquibase, mode {}", mode);
+            liquibase =
+                new ChecksumGatedSpringLiquibase(
+                    mode == ApplicationProperties.Liquibase.Mode.SKIP_IF_UNCHANGED,
+                    applicationProperties.getLiquibase().getMarkerTable()
+                );
+            liquibase.setDataSource(liquibaseDataSource.getIfAvailable(dataSource::getIfUnique));
+        }
         liquibase.setChangeLog("classpath:config/liquibase/master.xml");
         liquibase.setContexts(liquibaseProperties.getContexts());
         liquibase.setDefaultSchema(liquibaseProperties.getDefaultSchema());
@@ -66,4 +83,8 @@ public class LiquibaseConfiguration {
         }
         return liquibase;
     }
+
+    private boolean isLiquibaseEnabled(LiquibaseProperties liquibaseProperties) {
+        return liquibaseProperties.isEnabled() && !env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_NO_LIQUIBASE));
+    }
 }
@@ -0,0 +1,101 @@
+package com.task.manager.config;
+
+import com.task.manager.repository.TaskPartitionRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import liquibase.change.custom.CustomSqlChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+
+/**
+ * Range partitions the {@code task} table by month of {@code execution_time}, from the month of the oldest task to
+ * {@code futureMonths} months ahead, followed by the catch-all partition. Used by the {@code partitioning} Liquibase
+ * context, see {@link TaskPartitionRepository} for the layout.
+ * <p>
+ * The partition list depends on the data, so it is computed when the changeset runs rather than written in the
+ * changelog.
+ */
+public class PartitionTaskTableChange implements CustomSqlChange {
+
+    /**
+     * Older tasks all go to the first partition, so that a few wrong dates do not create thousands of partitions.
+     */
+    private static final int MAX_HISTORY_MONTHS = 240;
+
+    private int futureMonths = 3;
+
+    private int partitionCount;
+
+    public void setFutureMonths(int futureMonths) {
+        this.futureMonths = futureMonths;
+    }
+
+    @Override
+    public SqlStatement[] generateStatements(Database database) throws CustomChangeException {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        YearMonth firstMonth = oldestMonth(database);
+        if (firstMonth == null || firstMonth.isAfter(currentMonth)) {
+            firstMonth = currentMonth;
+        } else if (firstMonth.isBefore(currentMonth.minusMonths(MAX_HISTORY_MONTHS))) {
+            firstMonth = currentMonth.minusMonths(MAX_HISTORY_MONTHS);
+        }
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth.plusMonths(futureMonths)); month = month.plusMonths(1)) {
+            partitions.add(TaskPartitionRepository.partitionDefinition(month));
+        }
+        partitions.add(TaskPartitionRepository.catchAllPartitionDefinition());
+        partitionCount = partitions.size();
+        return new SqlStatement[] {
+            new RawSqlStatement("alter table task partition by range columns (execution_time) (" + String.join(", ", partitions) + ")"),
+        };
+    }
+
+    private YearMonth oldestMonth(Database database) throws CustomChangeException {
+        try (
+            Statement statement = ((JdbcConnection) database.getConnection()).createStatement();
+            ResultSet resultSet = statement.executeQuery("select min(execution_time) from task")
+        ) {
+            resultSet.next();
+            LocalDateTime oldest = resultSet.getObject(1, LocalDateTime.class);
+            return oldest == null ? null : YearMonth.from(oldest);
+        } catch (DatabaseException | SQLException e) {
+            throw new CustomChangeException("Could not read the oldest execution time of the task table", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Table task partitioned in " + partitionCount + " partitions";
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no file used
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        if (futureMonths < 0) {
+            errors.addError("futureMonths must not be negative");
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,37 @@
+package com.task.manager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Request handling on virtual threads, with {@code spring.threads.virtual.enabled} on Java 21 (the
+ * {@code virtual-threads} profile).
+ * <p>
+ * Spring Boot switches its own task executor and scheduler to virtual threads, but not Undertow: servlet requests are
+ * dispatched by Undertow to the deployment executor, one virtual thread per request, instead of the XNIO worker pool.
+ * The {@code taskExecutor} of {@link AsyncConfiguration} follows the same setting.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    private static final String UNDERTOW_THREAD_NAME_PREFIX = "undertow-";
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory -> {
+            log.info("Handling requests on virtual threads");
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(UNDERTOW_THREAD_NAME_PREFIX);
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor).setAsyncExecutor(executor));
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.task.manager.domain;
+
+import java.lang.reflect.Member;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/**
+ * Hibernate identifier generator of the entities annotated with {@link SnowflakeId}, one sequence per entity.
+ * <p>
+ * The worker id is read from the {@value #WORKER_ID} Hibernate setting, mapped from
+ * {@code application.id-generator.worker-id}. Each node writing to the database needs its own.
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    public static final String WORKER_ID = "hibernate.id.snowflake.worker_id";
+
+    private final SnowflakeIds ids;
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        Integer workerId = context
+            .getServiceRegistry()
+            .getService(ConfigurationService.class)
+            .getSetting(WORKER_ID, StandardConverters.INTEGER, 0);
+        this.ids = new SnowflakeIds(workerId);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return ids.next();
+    }
+}
@@ -0,0 +1,119 @@
+package com.task.manager.domain;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Time-ordered 64-bit ids of one node, Snowflake style: seconds since {@link #EPOCH}, then the worker id of the node,
+ * then a sequence within the second.
+ * <p>
+ * The layout is narrowed to 53 bits (32 bits of seconds, {@value #WORKER_BITS} bits of worker id,
+ * {@value #SEQUENCE_BITS} bits of sequence) so that ids stay exact as JavaScript numbers in the SPA. An id never holds a
+ * second later than the clock, so that a restarted node cannot hand out ids it already used: when the sequence of a
+ * second is exhausted, the next id waits for the next second, and when the clock goes backwards by at most
+ * {@value #MAX_CLOCK_REGRESSION_SECONDS} seconds, it waits for the clock to catch up, beyond that it fails.
+ */
+public class SnowflakeIds {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    public static final int WORKER_BITS = 8;
+
+    public static final int SEQUENCE_BITS = 13;
+
+    public static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+
+    static final long MAX_CLOCK_REGRESSION_SECONDS = 5;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerId;
+
+    /**
+     * A lock rather than {@code synchronized}, so that a virtual thread waiting for the next second does not pin its
+     * carrier.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Seconds since the epoch of the last id.
+     */
+    private long lastSecond = -1;
+
+    private long sequence;
+
+    public SnowflakeIds(int workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("The worker id must be between 0 and " + MAX_WORKER_ID + ", not " + workerId);
+        }
+        this.workerId = workerId;
+    }
+
+    /**
+     * @return the next id of the node.
+     * @throws IllegalStateException if the clock went backwards by more than {@value #MAX_CLOCK_REGRESSION_SECONDS}
+     *                               seconds, or the thread is interrupted while waiting for the clock.
+     */
+    public long next() {
+        lock.lock();
+        try {
+            long second = currentSecond();
+            if (second < lastSecond) {
+                if (lastSecond - second > MAX_CLOCK_REGRESSION_SECONDS) {
+                    throw new IllegalStateException(
+                        "The clock went backwards by " + (lastSecond - second) + " seconds, ids of the last seconds would be reused"
+                    );
+                }
+                second = awaitSecond(lastSecond);
+            }
+            if (second > lastSecond) {
+                sequence = 0;
+            } else if (sequence < SEQUENCE_MASK) {
+                sequence++;
+            } else {
+                second = awaitSecond(lastSecond + 1);
+                sequence = 0;
+            }
+            lastSecond = second;
+            return (second << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    void sleep(long millis) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(millis);
+    }
+
+    private long currentSecond() {
+        return currentTimeMillis() / 1000 - EPOCH.getEpochSecond();
+    }
+
+    private long awaitSecond(long target) {
+        while (true) {
+            long millis = currentTimeMillis();
+            long second = millis / 1000 - EPOCH.getEpochSecond();
+            if (second >= target) {
+                return second;
+            }
+            try {
+                sleep((target + EPOCH.getEpochSecond()) * 1000 - millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next second of ids", e);
+            }
+        }
+    }
+
+    /**
+     * @return the second in which {@code id} was generated.
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusSeconds(id >>> (WORKER_BITS + SEQUENCE_BITS));
+    }
+}
@@ -1,10 +1,12 @@
 package com.task.manager.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * A Tag.
@@ -17,10 +19,18 @@ public class Tag implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "id")
     private Long id;
 
+    /**
+     * Identity of the entity for {@link #equals(Object)} and {@link #hashCode()}, assigned at construction and kept by
+     * the database, unlike the id which is only known once inserted.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "uuid", nullable = false, updatable = false)
+    private UUID uuid = TimeOrderedUuids.next();
+
     @Column(name = "name")
     private String name;
 
@@ -46,6 +56,17 @@ public class Tag implements Serializable {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return this.uuid;
+    }
+
+    /**
+     * Only meant to give a detached copy the identity of the stored tag before merging it.
+     */
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getName() {
         return this.name;
     }
@@ -110,16 +131,16 @@ public class Tag implements Serializable {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof Tag)) {
+        if (!(o instanceof Tag other)) {
             return false;
         }
-        return getId() != null && getId().equals(((Tag) o).getId());
+        // getters, so that uninitialized proxies compare by the uuid of their target
+        return getUuid().equals(other.getUuid());
     }
 
     @Override
     public int hashCode() {
-        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
-        return getClass().hashCode();
+        return getUuid().hashCode();
     }
 
     // prettier-ignore
@@ -127,6 +148,7 @@ public class Tag implements Serializable {
     public String toString() {
         return "Tag{" +
             "id=" + getId() +
+            ", uuid=" + getUuid() +
             ", name='" + getName() + "'" +
             "}";
     }
@@ -1,11 +1,16 @@
 package com.task.manager.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
+import org.hibernate.Hibernate;
 
 /**
  * A Task.
@@ -18,14 +23,27 @@ public class Task implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "id")
     private Long id;
 
+    /**
+     * Identity of the entity for {@link #equals(Object)} and {@link #hashCode()}, assigned at construction and kept by
+     * the database, unlike the id which is only known once inserted.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "uuid", nullable = false, updatable = false)
+    private UUID uuid = TimeOrderedUuids.next();
+
     @Column(name = "title")
     private String title;
 
-    @Column(name = "description")
+    /**
+     * Only shown by the detail view, so that list queries neither select nor serialize it: loaded on first access, in
+     * the session, by the bytecode enhancement of the entity.
+     */
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "description", columnDefinition = "text")
     private String description;
 
     @Column(name = "execution_time")
@@ -37,6 +55,10 @@ public class Task implements Serializable {
     @Column(name = "closed")
     private Boolean closed;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
@@ -60,6 +82,17 @@ public class Task implements Serializable {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return this.uuid;
+    }
+
+    /**
+     * Only meant to give a detached copy the identity of the stored task before merging it.
+     */
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getTitle() {
         return this.title;
     }
@@ -73,15 +106,26 @@ public class Task implements Serializable {
         this.title = title;
     }
 
+    @JsonIgnore
     public String getDescription() {
         return this.description;
     }
 
+    /**
+     * @return the description if it is loaded, without loading it, so that tasks read without it can be serialized.
+     */
+    @JsonProperty("description")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getLoadedDescription() {
+        return Hibernate.isPropertyInitialized(this, "description") ? this.description : null;
+    }
+
     public Task description(String description) {
         this.setDescription(description);
         return this;
     }
 
+    @JsonProperty("description")
     public void setDescription(String description) {
         this.description = description;
     }
@@ -125,6 +169,14 @@ public class Task implements Serializable {
         this.closed = closed;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getUser() {
         return this.user;
     }
@@ -168,16 +220,16 @@ public class Task implements Serializable {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof Task)) {
+        if (!(o instanceof Task other)) {
             return false;
         }
-        return getId() != null && getId().equals(((Task) o).getId());
+        // getters, so that uninitialized proxies compare by the uuid of their target
+        return getUuid().equals(other.getUuid());
     }
 
     @Override
     public int hashCode() {
-        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
-        return getClass().hashCode();
+        return getUuid().hashCode();
     }
 
     // prettier-ignore
@@ -185,11 +237,13 @@ public class Task implements Serializable {
     public String toString() {
         return "Task{" +
             "id=" + getId() +
+            ", uuid=" + getUuid() +
             ", title='" + getTitle() + "'" +
-            ", description='" + getDescription() + "'" +
+            ", description='" + getLoadedDescription() + "'" +
             ", executionTime='" + getExecutionTime() + "'" +
             ", durationMin=" + getDurationMin() +
             ", closed='" + getClosed() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
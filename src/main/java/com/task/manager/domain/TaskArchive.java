@@ -0,0 +1,143 @@
+package com.task.manager.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A closed {@link Task} moved out of the {@code task} table once it got older than the archive horizon.
+ * <p>
+ * Rows are only written by bulk statements of the archiver, which keep the id of the original task.
+ */
+@Entity
+@Immutable
+@Table(name = "task_archive")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TaskArchive implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "uuid", nullable = false)
+    private UUID uuid;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "execution_time")
+    private Instant executionTime;
+
+    @Column(name = "duration_min")
+    private Long durationMin;
+
+    @Column(name = "closed")
+    private Boolean closed;
+
+    @Column(name = "archived_date", nullable = false)
+    private Instant archivedDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User user;
+
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "rel_task_archive__tag",
+        joinColumns = @JoinColumn(name = "task_archive_id"),
+        inverseJoinColumns = @JoinColumn(name = "tag_id")
+    )
+    private Set<Tag> tags = new HashSet<>();
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getTitle() {
+        return this.title;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public Instant getExecutionTime() {
+        return this.executionTime;
+    }
+
+    public Long getDurationMin() {
+        return this.durationMin;
+    }
+
+    public Boolean getClosed() {
+        return this.closed;
+    }
+
+    public Instant getArchivedDate() {
+        return this.archivedDate;
+    }
+
+    public User getUser() {
+        return this.user;
+    }
+
+    public Set<Tag> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * @param withTags whether the tags are copied, which initializes them.
+     * @return a detached {@link Task} with the content of this archived task.
+     */
+    public Task toTask(boolean withTags) {
+        Task task = new Task()
+            .id(id)
+            .title(title)
+            .description(description)
+            .executionTime(executionTime)
+            .durationMin(durationMin)
+            .closed(closed)
+            .user(user);
+        task.setUuid(uuid);
+        if (withTags) {
+            task.setTags(new HashSet<>(tags));
+        }
+        return task;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskArchive)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((TaskArchive) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskArchive{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", executionTime='" + getExecutionTime() + "'" +
+            ", archivedDate='" + getArchivedDate() + "'" +
+            "}";
+    }
+}
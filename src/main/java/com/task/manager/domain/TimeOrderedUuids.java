@@ -0,0 +1,23 @@
+package com.task.manager.domain;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates the identity keys of new entities: version 7 UUIDs, made of the current time in milliseconds followed by 74
+ * random bits.
+ * <p>
+ * The random bits come from {@link ThreadLocalRandom}, so that generation neither blocks nor contends between threads.
+ * They are not meant to be unguessable.
+ */
+public final class TimeOrderedUuids {
+
+    private TimeOrderedUuids() {}
+
+    public static UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
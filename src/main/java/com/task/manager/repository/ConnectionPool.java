@@ -0,0 +1,21 @@
+package com.task.manager.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated service method, or every method of the annotated class, on the connection pool of a
+ * {@link Workload}.
+ * <p>
+ * The pool is chosen when a transaction starts: a method called within a transaction keeps the connection of the
+ * transaction, whatever its own annotation. Work outside any annotated method runs on the {@link Workload#OLTP} pool.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConnectionPool {
+    Workload value();
+}
@@ -0,0 +1,147 @@
+package com.task.manager.repository;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time left to the database work of a request, from its start.
+ * <p>
+ * Each transaction started with a budget gets the time left as timeout, applied by Hibernate to its statements and by
+ * Spring as {@code jakarta.persistence.query.timeout} hint to its queries; no transaction starts once it is exhausted.
+ * {@link #cancel()} cancels the statements running in its transactions, when the client gave up on the request.
+ *
+ * @see QueryBudgetTransactionManager
+ */
+public final class QueryBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudget.class);
+
+    private static final ThreadLocal<QueryBudget> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+
+    private final long deadline;
+
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cancelled;
+
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /**
+     * @param name the endpoint class of the request, as meter tag.
+     * @param budget the time given to the database work of the request.
+     */
+    public QueryBudget(String name, Duration budget) {
+        this.name = name;
+        this.deadline = System.nanoTime() + budget.toNanos();
+    }
+
+    /**
+     * @return the budget of the current thread, or {@code null}.
+     */
+    public static QueryBudget current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the budget of the current thread, until {@link #restore(QueryBudget)} is called.
+     *
+     * @param budget the budget of the transactions started from now on.
+     * @return the previous budget of the current thread, to restore.
+     */
+    public static QueryBudget use(QueryBudget budget) {
+        QueryBudget previous = CURRENT.get();
+        CURRENT.set(budget);
+        return previous;
+    }
+
+    /**
+     * @param previous the budget returned by {@link #use(QueryBudget)}, {@code null} to clear it.
+     */
+    public static void restore(QueryBudget previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @param task the task to run on another thread.
+     * @return the task, run with the budget of the current thread.
+     */
+    public static Runnable wrap(Runnable task) {
+        QueryBudget budget = current();
+        if (budget == null) {
+            return task;
+        }
+        return () -> {
+            QueryBudget previous = use(budget);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the time left, negative once exhausted.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(deadline - System.nanoTime());
+    }
+
+    /**
+     * @return whether no time is left, or the budget was cancelled.
+     */
+    public boolean isExhausted() {
+        return cancelled || deadline - System.nanoTime() <= 0;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the statements running in the transactions of the budget, and exhausts it.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Session session : sessions) {
+            try {
+                session.cancelQuery();
+            } catch (HibernateException e) {
+                log.debug("Could not cancel the running statement of budget {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records that the budget stopped the database work of its request.
+     *
+     * @return {@code true} the first time only, so that each request is counted once.
+     */
+    public boolean markStopped() {
+        return stopped.compareAndSet(false, true);
+    }
+
+    void register(Session session) {
+        sessions.add(session);
+    }
+
+    void unregister(Session session) {
+        sessions.remove(session);
+    }
+}
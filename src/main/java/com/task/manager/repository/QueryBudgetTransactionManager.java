@@ -0,0 +1,60 @@
+package com.task.manager.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager bounding the transactions started with a {@link QueryBudget} by the time left in the budget.
+ * <p>
+ * The timeout of the transaction, in seconds as for JDBC statements, is the time left rounded up, or the timeout of its
+ * definition if shorter. Its session is registered in the budget for the duration of the transaction, so that
+ * {@link QueryBudget#cancel()} cancels its running statement.
+ */
+public class QueryBudgetTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        QueryBudget budget = QueryBudget.current();
+        if (budget == null) {
+            return timeout;
+        }
+        if (budget.isExhausted()) {
+            String state = budget.isCancelled() ? "cancelled" : "exhausted";
+            throw new TransactionTimedOutException("Query budget " + budget.getName() + " " + state);
+        }
+        long remainingMillis = budget.remaining().toMillis();
+        int remaining = (int) Math.max(1, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remaining : Math.min(timeout, remaining);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        QueryBudget budget = QueryBudget.current();
+        EntityManager entityManager = currentEntityManager();
+        if (budget != null && entityManager != null) {
+            budget.register(entityManager.unwrap(Session.class));
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        QueryBudget budget = QueryBudget.current();
+        EntityManager entityManager = currentEntityManager();
+        if (budget != null && entityManager != null) {
+            budget.unregister(entityManager.unwrap(Session.class));
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private EntityManager currentEntityManager() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder == null ? null : holder.getEntityManager();
+    }
+}
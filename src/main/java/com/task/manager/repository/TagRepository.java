@@ -1,6 +1,7 @@
 package com.task.manager.repository;
 
 import com.task.manager.domain.Tag;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,4 +18,6 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     List<Tag> findByUserIsCurrentUser();
 
     Page<Tag> findAllByUserId(Long userId, Pageable pageable);
+
+    long countByUserIdAndIdIn(Long userId, Collection<Long> ids);
 }
@@ -0,0 +1,81 @@
+package com.task.manager.repository;
+
+import com.task.manager.domain.TaskArchive;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the TaskArchive entity.
+ * <p>
+ * The move statements work on the tables directly, so that a batch of tasks is archived with a fixed number of
+ * statements whatever its size. They must run in the same transaction, in declaration order.
+ */
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<TaskArchive, Long> {
+    @Query(
+        value = "select id from task where closed = true and execution_time < :horizon limit :batchSize for update skip locked",
+        nativeQuery = true
+    )
+    List<Long> findArchivableTaskIds(@Param("horizon") Instant horizon, @Param("batchSize") int batchSize);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "insert into task_archive (id, uuid, title, description, execution_time, duration_min, closed, user_id, archived_date)" +
+        " select id, uuid, title, description, execution_time, duration_min, closed, user_id, :archivedDate from task where id in (:ids)",
+        nativeQuery = true
+    )
+    int copyTasks(@Param("ids") Collection<Long> ids, @Param("archivedDate") Instant archivedDate);
+
+    @Modifying
+    @Query(
+        value = "insert into rel_task_archive__tag (task_archive_id, tag_id) select task_id, tag_id from rel_task__tag where task_id in (:ids)",
+        nativeQuery = true
+    )
+    int copyTaskTags(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from rel_task__tag where task_id in (:ids)", nativeQuery = true)
+    int deleteTaskTags(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "delete from task where id in (:ids)", nativeQuery = true)
+    int deleteTasks(@Param("ids") Collection<Long> ids);
+
+    @Query("select max(archive.executionTime) from TaskArchive archive")
+    Optional<Instant> findLatestExecutionTime();
+
+    @Query("select distinct archive from TaskArchive archive left join fetch archive.tags where archive in :archives")
+    List<TaskArchive> fetchTags(@Param("archives") List<TaskArchive> archives);
+
+    Page<TaskArchive> findAllByUserId(Long userId, Pageable pageable);
+
+    @Query(
+        "select archive from TaskArchive archive where archive.user.id = :userId and function('YEAR', archive.executionTime) = :year and function('MONTH', archive.executionTime) = :month and function('DAY', archive.executionTime) = :day"
+    )
+    Page<TaskArchive> findAllByUserIdAndExecutionTime(Long userId, int year, int month, int day, Pageable pageable);
+
+    @Query(
+        "select archive from TaskArchive archive where archive.user.id = :userId and archive.executionTime >= :startDate and archive.executionTime <= :endDate"
+    )
+    Page<TaskArchive> findAllByUserIdAndExecutionTimeByWeek(Long userId, Instant startDate, Instant endDate, Pageable pageable);
+
+    @Query(
+        "select archive from TaskArchive archive where archive.user.id = :userId and function('YEAR', archive.executionTime) = :year and function('MONTH', archive.executionTime) = :month"
+    )
+    Page<TaskArchive> findAllByUserIdAndExecutionTimeByMonth(Long userId, int year, int month, Pageable pageable);
+
+    @Query("SELECT COUNT(archive) FROM TaskArchive archive WHERE archive.user.id = :userId AND archive.executionTime < CURRENT_TIMESTAMP")
+    Long countPastTasks(@Param("userId") Long userId);
+
+    @Query(
+        "SELECT t.name, COUNT(t.name) FROM TaskArchive archive JOIN archive.tags t WHERE archive.user.id = :userId AND archive.executionTime < CURRENT_TIMESTAMP GROUP BY t.name"
+    )
+    List<Object[]> countResolvedTasksByTag(@Param("userId") Long userId);
+}
@@ -0,0 +1,99 @@
+package com.task.manager.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Restriction of the projection queries of {@link TaskRepositoryWithProjection}, the same as the one of the matching
+ * entity query of {@link TaskRepository}. It is written on the alias {@code task}, so that it applies to hot and
+ * archived tasks alike.
+ *
+ * @param where the JPQL condition, or an empty string for every task.
+ * @param parameters the values of the named parameters of the condition.
+ * @param archivedFrom the earliest execution time of the matching tasks, to tell whether archived tasks may match, or
+ * {@code null} when archived tasks are not read.
+ */
+public record TaskCondition(String where, Map<String, Object> parameters, Instant archivedFrom) {
+    public TaskCondition {
+        parameters = Map.copyOf(parameters);
+    }
+
+    public static TaskCondition all() {
+        return new TaskCondition("", Map.of(), null);
+    }
+
+    public static TaskCondition ofUser(Long userId, boolean includeArchived) {
+        return new TaskCondition("task.user.id = :userId", Map.of("userId", userId), includeArchived ? Instant.MIN : null);
+    }
+
+    /**
+     * Same as {@code findAllByUserIdAndTitleContaining}, the wildcards of {@code title} matching themselves.
+     */
+    public static TaskCondition ofUserAndTitle(Long userId, String title) {
+        String pattern = "%" + title.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        return new TaskCondition(
+            "task.user.id = :userId and task.title like :title escape '!'",
+            Map.of("userId", userId, "title", pattern),
+            null
+        );
+    }
+
+    public static TaskCondition ofUserAndDay(Long userId, int year, int month, int day) {
+        LocalDate date = LocalDate.of(year, month, day);
+        return new TaskCondition(
+            "task.user.id = :userId and task.executionTime >= :from and task.executionTime < :to and function('YEAR', task.executionTime) = :year and function('MONTH', task.executionTime) = :month and function('DAY', task.executionTime) = :day",
+            Map.of(
+                "userId",
+                userId,
+                "from",
+                firstStartOf(date),
+                "to",
+                lastStartOf(date.plusDays(1)),
+                "year",
+                year,
+                "month",
+                month,
+                "day",
+                day
+            ),
+            firstStartOf(date)
+        );
+    }
+
+    public static TaskCondition ofUserAndWeek(Long userId, Instant startDate, Instant endDate) {
+        return new TaskCondition(
+            "task.user.id = :userId and task.executionTime >= :startDate and task.executionTime <= :endDate",
+            Map.of("userId", userId, "startDate", startDate, "endDate", endDate),
+            startDate
+        );
+    }
+
+    public static TaskCondition ofUserAndMonth(Long userId, int year, int month) {
+        LocalDate first = LocalDate.of(year, month, 1);
+        return new TaskCondition(
+            "task.user.id = :userId and task.executionTime >= :from and task.executionTime < :to and function('YEAR', task.executionTime) = :year and function('MONTH', task.executionTime) = :month",
+            Map.of("userId", userId, "from", firstStartOf(first), "to", lastStartOf(first.plusMonths(1)), "year", year, "month", month),
+            firstStartOf(first)
+        );
+    }
+
+    String whereClause() {
+        return where.isEmpty() ? "" : " where " + where;
+    }
+
+    /**
+     * @return the instant at which {@code date} starts in the most advanced time zone.
+     */
+    static Instant firstStartOf(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.MAX).toInstant();
+    }
+
+    /**
+     * @return the instant at which {@code date} starts in the most delayed time zone.
+     */
+    static Instant lastStartOf(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.MIN).toInstant();
+    }
+}
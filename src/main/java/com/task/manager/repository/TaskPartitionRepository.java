@@ -0,0 +1,119 @@
+package com.task.manager.repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Partitions of the {@code task} table, when it is range partitioned by month of {@code execution_time} (Liquibase
+ * context {@code partitioning}).
+ * <p>
+ * Each month {@code yyyy-MM} has a partition {@code pyyyyMM} holding the tasks executed before the first day of the next
+ * month, and the last partition {@value #CATCH_ALL_PARTITION} holds everything after the last month. Months follow the
+ * local time stored in the column, as the calendar queries do.
+ * <p>
+ * Partition statements are DDL, they commit on their own and must not run in a transaction.
+ */
+@Repository
+public class TaskPartitionRepository {
+
+    public static final String CATCH_ALL_PARTITION = "p_future";
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("p(\\d{6}|_future)");
+
+    /**
+     * A partition of the task table.
+     *
+     * @param name the partition name.
+     * @param upperBound the exclusive upper bound of the partition, {@code null} for the catch-all partition.
+     */
+    public record TaskPartition(String name, LocalDate upperBound) {
+        public boolean isCatchAll() {
+            return upperBound == null;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return NAME_FORMAT.format(month);
+    }
+
+    public static String partitionDefinition(YearMonth month) {
+        return "partition " + partitionName(month) + " values less than ('" + month.plusMonths(1).atDay(1) + " 00:00:00')";
+    }
+
+    public static String catchAllPartitionDefinition() {
+        return "partition " + CATCH_ALL_PARTITION + " values less than (maxvalue)";
+    }
+
+    /**
+     * @return the partitions in ascending order, empty when the table is not partitioned.
+     */
+    public List<TaskPartition> findPartitions() {
+        return jdbcTemplate.query(
+            "select partition_name, partition_description from information_schema.partitions" +
+            " where table_schema = database() and table_name = 'task' and partition_name is not null" +
+            " order by partition_ordinal_position",
+            (rs, rowNum) -> {
+                String description = rs.getString(2);
+                LocalDate upperBound = "MAXVALUE".equalsIgnoreCase(description)
+                    ? null
+                    : LocalDate.parse(description.replace("'", "").substring(0, 10));
+                return new TaskPartition(rs.getString(1), upperBound);
+            }
+        );
+    }
+
+    /**
+     * Splits the catch-all partition, so that each of the given months, which must follow the last monthly partition,
+     * gets its own partition. Only the rows of the catch-all partition are copied.
+     */
+    public void addMonthPartitions(List<YearMonth> months) {
+        String partitions = months.stream().map(TaskPartitionRepository::partitionDefinition).collect(Collectors.joining(", "));
+        jdbcTemplate.execute(
+            "alter table task reorganize partition " +
+            CATCH_ALL_PARTITION +
+            " into (" +
+            partitions +
+            ", " +
+            catchAllPartitionDefinition() +
+            ")"
+        );
+    }
+
+    public List<Long> findTaskIds(String partition, int limit) {
+        return jdbcTemplate.queryForList("select id from task partition (" + checkName(partition) + ") limit ?", Long.class, limit);
+    }
+
+    /**
+     * Deletes the tag links of the tasks of a partition, which are not removed by dropping it.
+     */
+    public int deleteTaskTags(String partition) {
+        return jdbcTemplate.update(
+            "delete link from rel_task__tag link join task partition (" + checkName(partition) + ") t on t.id = link.task_id"
+        );
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("alter table task drop partition " + checkName(partition));
+    }
+
+    private static String checkName(String partition) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Invalid partition name: " + partition);
+        }
+        return partition;
+    }
+}
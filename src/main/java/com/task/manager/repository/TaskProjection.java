@@ -0,0 +1,133 @@
+package com.task.manager.repository;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Plan of a sparse fieldset of tasks, the fields requested with {@code ?fields=}: the select lists of the projection
+ * queries and the mapping of their rows.
+ * <p>
+ * Plans are compiled once per distinct set of fields and cached, at most one per subset of {@link #FIELDS}. Requests with
+ * the same fields, in any order, share the plan, hence the text of the query and the query plan Hibernate caches for it.
+ * The id is always selected, to key the rows and their tags. Tags are loaded by a second query, only when requested.
+ */
+public final class TaskProjection {
+
+    public static final String TAGS = "tags";
+
+    /**
+     * The fields which may be requested, in the order of the rows.
+     */
+    public static final List<String> FIELDS = List.of(
+        "id",
+        "uuid",
+        "title",
+        "description",
+        "executionTime",
+        "durationMin",
+        "closed",
+        "version",
+        TAGS
+    );
+
+    /**
+     * Archived tasks have no version, which their rows hold as {@code null}.
+     */
+    private static final String VERSION = "version";
+
+    private static final Map<Set<String>, TaskProjection> PLANS = new ConcurrentHashMap<>();
+
+    private final List<String> fields;
+
+    private final List<String> columns;
+
+    private final boolean withTags;
+
+    private final String select;
+
+    private final String archivedSelect;
+
+    private TaskProjection(Set<String> requested) {
+        this.fields = FIELDS.stream().filter(requested::contains).toList();
+        this.columns = fields.stream().filter(field -> !TAGS.equals(field)).toList();
+        this.withTags = requested.contains(TAGS);
+        this.select = select(columns);
+        this.archivedSelect = select(columns.stream().filter(column -> !VERSION.equals(column)).toList());
+    }
+
+    /**
+     * @param fields the comma separated names of the requested fields.
+     * @return the cached plan of the requested fields, and of the id.
+     * @throws IllegalArgumentException if a field is not one of {@link #FIELDS}.
+     */
+    public static TaskProjection of(String fields) {
+        Set<String> requested = new HashSet<>();
+        requested.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown task field: " + name);
+            }
+            requested.add(name);
+        }
+        return PLANS.computeIfAbsent(requested, TaskProjection::new);
+    }
+
+    /**
+     * @return whether the projection queries can sort by every property of {@code sort}.
+     */
+    public static boolean isSortable(Sort sort) {
+        return sort.stream().allMatch(order -> FIELDS.contains(order.getProperty()) && !TAGS.equals(order.getProperty()));
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public boolean isWithTags() {
+        return withTags;
+    }
+
+    String selectClause(boolean archived) {
+        return archived ? archivedSelect : select;
+    }
+
+    static String orderByClause(Sort sort, boolean archived) {
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "").setEmptyValue("");
+        for (Sort.Order order : sort) {
+            if (archived && VERSION.equals(order.getProperty())) {
+                continue;
+            }
+            orderBy.add("task." + order.getProperty() + (order.isAscending() ? " asc" : " desc"));
+        }
+        return orderBy.toString();
+    }
+
+    /**
+     * @param tuple a row of the query selecting {@link #selectClause(boolean)}.
+     * @return the row keyed by field, in the order of {@link #FIELDS}, without the tags.
+     */
+    Map<String, Object> toRow(Object[] tuple, boolean archived) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int index = 0;
+        for (String column : columns) {
+            row.put(column, archived && VERSION.equals(column) ? null : tuple[index++]);
+        }
+        return row;
+    }
+
+    private static String select(List<String> columns) {
+        StringJoiner select = new StringJoiner(", ", "select ", "");
+        columns.forEach(column -> select.add("task." + column));
+        return select.toString();
+    }
+}
@@ -3,7 +3,7 @@ package com.task.manager.repository;
 import com.task.manager.domain.Task;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -20,7 +20,8 @@ import org.springframework.stereotype.Repository;
  * https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface TaskRepository extends TaskRepositoryWithBagRelationships, JpaRepository<Task, Long> {
+public interface TaskRepository
+    extends TaskRepositoryWithBagRelationships, TaskRepositoryWithPartialUpdate, TaskRepositoryWithProjection, JpaRepository<Task, Long> {
     @Query("select task from Task task where task.user.login = ?#{authentication.name}")
     List<Task> findByUserIsCurrentUser();
 
@@ -48,10 +49,27 @@ public interface TaskRepository extends TaskRepositoryWithBagRelationships, JpaR
         return this.fetchBagRelationships(this.findAllByUserIdAndTitleContaining(userId, title, pageable));
     }
 
+    /**
+     * The range on {@code executionTime} is a superset of the requested day whatever the time zone of the database,
+     * redundant with the exact filter but usable for partition pruning and index range scans.
+     */
     @Query(
-        "select task from Task task where task.user.id = :userId and function('YEAR', task.executionTime) = :year and function('MONTH', task.executionTime) = :month and function('DAY', task.executionTime) = :day"
+        "select task from Task task where task.user.id = :userId and task.executionTime >= :from and task.executionTime < :to and function('YEAR', task.executionTime) = :year and function('MONTH', task.executionTime) = :month and function('DAY', task.executionTime) = :day"
     )
-    Page<Task> findAllByUserIdAndExecutionTime(Long userId, int year, int month, int day, Pageable pageable);
+    Page<Task> findAllByUserIdAndExecutionTime(Long userId, int year, int month, int day, Instant from, Instant to, Pageable pageable);
+
+    default Page<Task> findAllByUserIdAndExecutionTime(Long userId, int year, int month, int day, Pageable pageable) {
+        LocalDate date = LocalDate.of(year, month, day);
+        return findAllByUserIdAndExecutionTime(
+            userId,
+            year,
+            month,
+            day,
+            TaskCondition.firstStartOf(date),
+            TaskCondition.lastStartOf(date.plusDays(1)),
+            pageable
+        );
+    }
 
     default Page<Task> findAllByUserIdAndExecutionTimeWithEagerRelationships(Long userId, int year, int month, int day, Pageable pageable) {
         return this.fetchBagRelationships(this.findAllByUserIdAndExecutionTime(userId, year, month, day, pageable));
@@ -71,10 +89,25 @@ public interface TaskRepository extends TaskRepositoryWithBagRelationships, JpaR
         return this.fetchBagRelationships(this.findAllByUserIdAndExecutionTimeByWeek(userId, startDate, endDate, pageable));
     }
 
+    /**
+     * Same range as {@link #findAllByUserIdAndExecutionTime(Long, int, int, int, Instant, Instant, Pageable)}, for a month.
+     */
     @Query(
-        "select task from Task task where task.user.id = :userId and function('YEAR', task.executionTime) = :year and function('MONTH', task.executionTime) = :month"
+        "select task from Task task where task.user.id = :userId and task.executionTime >= :from and task.executionTime < :to and function('YEAR', task.executionTime) = :year and function('MONTH', task.executionTime) = :month"
     )
-    Page<Task> findAllByUserIdAndExecutionTimeByMonth(Long userId, int year, int month, Pageable pageable);
+    Page<Task> findAllByUserIdAndExecutionTimeByMonth(Long userId, int year, int month, Instant from, Instant to, Pageable pageable);
+
+    default Page<Task> findAllByUserIdAndExecutionTimeByMonth(Long userId, int year, int month, Pageable pageable) {
+        LocalDate first = LocalDate.of(year, month, 1);
+        return findAllByUserIdAndExecutionTimeByMonth(
+            userId,
+            year,
+            month,
+            TaskCondition.firstStartOf(first),
+            TaskCondition.lastStartOf(first.plusMonths(1)),
+            pageable
+        );
+    }
 
     default Page<Task> findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(Long userId, int year, int month, Pageable pageable) {
         return this.fetchBagRelationships(this.findAllByUserIdAndExecutionTimeByMonth(userId, year, month, pageable));
@@ -90,4 +123,104 @@ public interface TaskRepository extends TaskRepositoryWithBagRelationships, JpaR
         "SELECT t.name, COUNT(t.name) FROM Task task JOIN task.tags t WHERE task.user.id = :userId AND task.executionTime < CURRENT_TIMESTAMP GROUP BY t.name"
     )
     List<Object[]> countResolvedTasksByTag(@Param("userId") Long userId);
+
+    @Query("select task.user.id from Task task where task.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    /**
+     * @return the id and execution time of every task of the user, for the tag index.
+     */
+    @Query("select task.id, task.executionTime from Task task where task.user.id = :userId")
+    List<Object[]> findIdAndExecutionTimeByUserId(@Param("userId") Long userId);
+
+    /**
+     * @return the task id and tag id of every tag of every task of the user, for the tag index.
+     */
+    @Query("select task.id, tag.id from Task task join task.tags tag where task.user.id = :userId")
+    List<Object[]> findTaskIdAndTagIdByUserId(@Param("userId") Long userId);
+
+    /*
+     * Set-based statements of the bulk operations, each on the tasks of a user selected either by id or by execution time
+     * range. The tag links of deleted tasks must be deleted first, in the same transaction.
+     */
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "delete from rel_task__tag where task_id in (select id from task where user_id = :userId and id in (:ids))",
+        nativeQuery = true
+    )
+    int deleteTagLinks(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "delete from rel_task__tag where task_id in (select id from task where user_id = :userId and execution_time >= :from and execution_time < :to)",
+        nativeQuery = true
+    )
+    int deleteTagLinksInRange(@Param("userId") Long userId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "delete from task where user_id = :userId and id in (:ids)", nativeQuery = true)
+    int deleteTasks(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "delete from task where user_id = :userId and execution_time >= :from and execution_time < :to", nativeQuery = true)
+    int deleteTasksInRange(@Param("userId") Long userId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "update task set closed = :closed, version = version + 1 where user_id = :userId and id in (:ids)",
+        nativeQuery = true
+    )
+    int updateClosed(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("closed") boolean closed);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "update task set closed = :closed, version = version + 1 where user_id = :userId and execution_time >= :from and execution_time < :to",
+        nativeQuery = true
+    )
+    int updateClosedInRange(
+        @Param("userId") Long userId,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        @Param("closed") boolean closed
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "update task set execution_time = timestampadd(second, :seconds, execution_time), version = version + 1 where user_id = :userId and id in (:ids)",
+        nativeQuery = true
+    )
+    int shiftExecutionTime(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("seconds") long seconds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "update task set execution_time = timestampadd(second, :seconds, execution_time), version = version + 1 where user_id = :userId and execution_time >= :from and execution_time < :to",
+        nativeQuery = true
+    )
+    int shiftExecutionTimeInRange(
+        @Param("userId") Long userId,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        @Param("seconds") long seconds
+    );
+
+    /*
+     * Tag changes of a single task, writing only the links which change. The task has no foreign key from the links, so
+     * callers check that it exists.
+     */
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from rel_task__tag where task_id = :taskId and tag_id in (:tagIds)", nativeQuery = true)
+    int deleteTagLinksOfTask(@Param("taskId") Long taskId, @Param("tagIds") Collection<Long> tagIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "insert into rel_task__tag (task_id, tag_id) select :taskId, tag.id from tag where tag.id in (:tagIds) and not exists (select 1 from rel_task__tag link where link.task_id = :taskId and link.tag_id = tag.id)",
+        nativeQuery = true
+    )
+    int insertTagLinks(@Param("taskId") Long taskId, @Param("tagIds") Collection<Long> tagIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Task task set task.version = task.version + 1 where task.id = :id")
+    int incrementVersion(@Param("id") Long id);
 }
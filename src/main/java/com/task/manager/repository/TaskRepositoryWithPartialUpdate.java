@@ -0,0 +1,16 @@
+package com.task.manager.repository;
+
+import com.task.manager.domain.Task;
+
+public interface TaskRepositoryWithPartialUpdate {
+    /**
+     * Sets the non-null fields of {@code changes} on the task with the same id and increments its version, in a single
+     * statement.
+     *
+     * @param changes the fields to set, and the id of the task.
+     * @param ownerLogin the login of the user the task must belong to, or {@code null} for any user.
+     * @param expectedVersion the version the task must have, or {@code null} for any version.
+     * @return 1 if the task was updated, 0 if it does not exist or does not match the conditions.
+     */
+    int partialUpdate(Task changes, String ownerLogin, Long expectedVersion);
+}
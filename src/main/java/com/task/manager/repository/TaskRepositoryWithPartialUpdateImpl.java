@@ -0,0 +1,54 @@
+package com.task.manager.repository;
+
+import com.task.manager.domain.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Partial update issuing a bulk update with only the supplied columns, instead of loading the task and letting the
+ * persistence context find what changed.
+ */
+public class TaskRepositoryWithPartialUpdateImpl implements TaskRepositoryWithPartialUpdate {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int partialUpdate(Task changes, String ownerLogin, Long expectedVersion) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("update Task task set task.version = task.version + 1");
+        set(jpql, parameters, "title", changes.getTitle());
+        set(jpql, parameters, "description", changes.getDescription());
+        set(jpql, parameters, "executionTime", changes.getExecutionTime());
+        set(jpql, parameters, "durationMin", changes.getDurationMin());
+        set(jpql, parameters, "closed", changes.getClosed());
+        jpql.append(" where task.id = :id");
+        parameters.put("id", changes.getId());
+        if (ownerLogin != null) {
+            jpql.append(" and task.user.id in (select owner.id from User owner where owner.login = :ownerLogin)");
+            parameters.put("ownerLogin", ownerLogin);
+        }
+        if (expectedVersion != null) {
+            jpql.append(" and task.version = :expectedVersion");
+            parameters.put("expectedVersion", expectedVersion);
+        }
+
+        entityManager.flush();
+        Query query = entityManager.createQuery(jpql.toString());
+        parameters.forEach(query::setParameter);
+        int updated = query.executeUpdate();
+        // managed copies of the task would be stale
+        entityManager.clear();
+        return updated;
+    }
+
+    private static void set(StringBuilder jpql, Map<String, Object> parameters, String field, Object value) {
+        if (value != null) {
+            jpql.append(", task.").append(field).append(" = :").append(field);
+            parameters.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.task.manager.repository;
+
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TaskRepositoryWithProjection {
+    /**
+     * Selects only the columns of the requested fields, and the tags only when requested.
+     *
+     * @param projection the requested fields.
+     * @param condition the tasks to select.
+     * @param pageable the pagination information, sorted by fields other than the tags.
+     * @return the page of the requested fields of the tasks, keyed by field.
+     */
+    Page<Map<String, Object>> findAllProjected(TaskProjection projection, TaskCondition condition, Pageable pageable);
+
+    /**
+     * Same as {@link #findAllProjected(TaskProjection, TaskCondition, Pageable)} for the archived tasks, whose version is
+     * {@code null}.
+     */
+    Page<Map<String, Object>> findAllArchivedProjected(TaskProjection projection, TaskCondition condition, Pageable pageable);
+}
@@ -0,0 +1,80 @@
+package com.task.manager.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Sparse fieldsets read as tuples of the requested columns, so that neither entities nor unrequested columns, such as
+ * the description, are loaded. The tags of a page are read by a single query, keyed by task id.
+ */
+public class TaskRepositoryWithProjectionImpl implements TaskRepositoryWithProjection {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findAllProjected(TaskProjection projection, TaskCondition condition, Pageable pageable) {
+        return find(projection, condition, pageable, false);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllArchivedProjected(TaskProjection projection, TaskCondition condition, Pageable pageable) {
+        return find(projection, condition, pageable, true);
+    }
+
+    private Page<Map<String, Object>> find(TaskProjection projection, TaskCondition condition, Pageable pageable, boolean archived) {
+        String from = (archived ? " from TaskArchive task" : " from Task task") + condition.whereClause();
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            projection.selectClause(archived) + from + TaskProjection.orderByClause(pageable.getSort(), archived),
+            Object[].class
+        );
+        condition.parameters().forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = query.getResultList().stream().map(tuple -> projection.toRow(tuple, archived)).toList();
+        if (projection.isWithTags() && !rows.isEmpty()) {
+            addTags(rows, archived);
+        }
+        // the count is only queried when the page does not tell the total
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(from, condition));
+    }
+
+    private void addTags(List<Map<String, Object>> rows, boolean archived) {
+        List<Object> ids = rows.stream().map(row -> row.get("id")).toList();
+        Map<Object, List<Map<String, Object>>> tagsByTask = new HashMap<>();
+        entityManager
+            .createQuery(
+                "select task.id, tag.id, tag.uuid, tag.name" +
+                (archived ? " from TaskArchive task" : " from Task task") +
+                " join task.tags tag where task.id in :ids",
+                Object[].class
+            )
+            .setParameter("ids", ids)
+            .getResultList()
+            .forEach(tuple -> {
+                Map<String, Object> tag = new LinkedHashMap<>();
+                tag.put("id", tuple[1]);
+                tag.put("uuid", tuple[2]);
+                tag.put("name", tuple[3]);
+                tagsByTask.computeIfAbsent(tuple[0], id -> new ArrayList<>()).add(tag);
+            });
+        rows.forEach(row -> row.put(TaskProjection.TAGS, tagsByTask.getOrDefault(row.get("id"), List.of())));
+    }
+
+    private long count(String from, TaskCondition condition) {
+        TypedQuery<Long> query = entityManager.createQuery("select count(task)" + from, Long.class);
+        condition.parameters().forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+}
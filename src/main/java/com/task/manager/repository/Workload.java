@@ -0,0 +1,33 @@
+package com.task.manager.repository;
+
+import java.util.Locale;
+
+/**
+ * Classes of database work, each served by its own connection pool, so that the work of one class cannot take the
+ * connections that the others need.
+ *
+ * @see ConnectionPool
+ */
+public enum Workload {
+    /**
+     * Short transactions of the requests (reads and writes of tasks, tags and users), and any work not annotated.
+     */
+    OLTP,
+
+    /**
+     * Aggregates and exports, which may hold their connection for long.
+     */
+    REPORTING,
+
+    /**
+     * Scheduled jobs.
+     */
+    BATCH;
+
+    /**
+     * @return the name of the connection pool, as configured under {@code application.connection-pools}.
+     */
+    public String poolName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.task.manager.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Data source handing out the connections of the pool of the {@link Workload} of the current thread, set by the
+ * {@link ConnectionPool} annotation or by {@link #wrap(Workload, Runnable)}, or of the {@link Workload#OLTP} pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public WorkloadRoutingDataSource(Map<Workload, ? extends DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.OLTP));
+        setLenientFallback(false);
+    }
+
+    /**
+     * @return the workload of the current thread.
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? Workload.OLTP : workload;
+    }
+
+    /**
+     * Sets the workload of the current thread, until {@link #restore(Workload)} is called.
+     *
+     * @param workload the workload of the connections acquired from now on.
+     * @return the previous workload of the current thread, to restore.
+     */
+    public static Workload use(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    /**
+     * @param previous the workload returned by {@link #use(Workload)}.
+     */
+    public static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @param workload the workload of the connections acquired by the task.
+     * @param task the task to run.
+     * @return the task, run with the workload.
+     */
+    public static Runnable wrap(Workload workload, Runnable task) {
+        return () -> {
+            Workload previous = use(workload);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return current();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource pool : getResolvedDataSources().values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
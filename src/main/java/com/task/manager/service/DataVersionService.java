@@ -0,0 +1,76 @@
+package com.task.manager.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version of the tasks and tags of each user, changed by every committed write, so that anything derived from them can
+ * be kept under the version it was derived from and is never used once they changed.
+ * <p>
+ * Versions are taken from a single sequence: the version of a user is the sequence number of its last write, or of the
+ * last write to every user when more recent. A derived value must be keyed by the version read <em>before</em> reading
+ * the data, since a concurrent write may commit in between.
+ * <p>
+ * Writes of other nodes are not seen, so derived values must also expire.
+ */
+@Service
+public class DataVersionService {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private volatile long allChanged;
+
+    /**
+     * @param userId the id of the user.
+     * @return the current version of the tasks and tags of the user.
+     */
+    public long version(Long userId) {
+        long all = allChanged;
+        Long version = versions.get(userId);
+        return version == null ? all : Math.max(version, all);
+    }
+
+    /**
+     * Changes the version of a user once the current transaction is committed, after a write to its tasks or tags.
+     *
+     * @param userId the id of the user, ignored when {@code null}.
+     */
+    public void changed(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> versions.merge(userId, sequence.incrementAndGet(), Math::max));
+        }
+    }
+
+    /**
+     * Changes the version of every user once the current transaction is committed, after writes which are not tied to
+     * a user.
+     */
+    public void changedAll() {
+        afterCommit(() -> {
+            allChanged = sequence.incrementAndGet();
+            // versions older than allChanged no longer matter
+            versions.values().removeIf(version -> version < allChanged);
+        });
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.task.manager.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the queries of reports on the {@code reportingExecutor}, skipping those still queued once their request was
+ * answered.
+ */
+public interface ReportRunner {
+    /**
+     * Runs a report on the reporting executor.
+     *
+     * @param report computes the response.
+     * @return the future result of the report.
+     * @throws RejectedExecutionException if the reporting queue is full.
+     */
+    <T> CompletableFuture<T> supply(Supplier<? extends T> report);
+}
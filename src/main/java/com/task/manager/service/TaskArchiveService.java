@@ -0,0 +1,260 @@
+package com.task.manager.service;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.domain.Task;
+import com.task.manager.domain.TaskArchive;
+import com.task.manager.repository.ConnectionPool;
+import com.task.manager.repository.TaskArchiveRepository;
+import com.task.manager.repository.TaskRepository;
+import com.task.manager.repository.Workload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service moving closed tasks older than {@code application.archive.horizon} from the {@code task} table to
+ * {@code task_archive}, and merging archived tasks into the reads which reach past the horizon.
+ * <p>
+ * Tasks are moved in batches of {@code application.archive.batch-size}, each batch in its own transaction, so that the
+ * archiver never holds locks on more than one batch of the hot table.
+ */
+@Service
+public class TaskArchiveService {
+
+    public static final String ROWS_METER_NAME = "task.storage.rows";
+    public static final String ROWS_METER_DESCRIPTION = "Number of tasks stored in the hot and in the archive table.";
+    public static final String ROWS_METER_TABLE_DIMENSION = "table";
+    public static final String ARCHIVED_METER_NAME = "task.archive.moved";
+    public static final String ARCHIVED_METER_DESCRIPTION = "Number of tasks moved to the archive table.";
+
+    /**
+     * Row counts are refreshed at most once per interval, as counting an InnoDB table scans an index. So is the latest
+     * archived execution time, which other nodes may move forward.
+     */
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(1);
+
+    private final Logger log = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private final TaskRepository taskRepository;
+
+    private final TaskArchiveRepository taskArchiveRepository;
+
+    private final TaskTagIndexService taskTagIndexService;
+
+    private final DataVersionService dataVersionService;
+
+    private final ApplicationProperties.Archive properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter archivedCounter;
+
+    private volatile RowCounts rowCounts;
+
+    private volatile LatestArchived latestArchived;
+
+    public TaskArchiveService(
+        TaskRepository taskRepository,
+        TaskArchiveRepository taskArchiveRepository,
+        TaskTagIndexService taskTagIndexService,
+        DataVersionService dataVersionService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry registry
+    ) {
+        this.taskRepository = taskRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.taskTagIndexService = taskTagIndexService;
+        this.dataVersionService = dataVersionService;
+        this.properties = applicationProperties.getArchive();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter =
+            Counter.builder(ARCHIVED_METER_NAME).baseUnit("tasks").description(ARCHIVED_METER_DESCRIPTION).register(registry);
+        Gauge
+            .builder(ROWS_METER_NAME, this, service -> service.rowCounts().hotRows())
+            .baseUnit("rows")
+            .description(ROWS_METER_DESCRIPTION)
+            .tag(ROWS_METER_TABLE_DIMENSION, "task")
+            .register(registry);
+        Gauge
+            .builder(ROWS_METER_NAME, this, service -> service.rowCounts().archivedRows())
+            .baseUnit("rows")
+            .description(ROWS_METER_DESCRIPTION)
+            .tag(ROWS_METER_TABLE_DIMENSION, "task_archive")
+            .register(registry);
+    }
+
+    /**
+     * Moves the closed tasks older than the horizon, and their tags, to the archive.
+     * <p>
+     * This is scheduled to get fired everyday, at 02:30 (am) by default.
+     */
+    @Scheduled(cron = "${application.archive.cron:0 30 2 * * ?}")
+    @ConnectionPool(Workload.BATCH)
+    public void archiveClosedTasks() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant horizon = horizon();
+        long start = System.nanoTime();
+        long total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(horizon, properties.getBatchSize()));
+            total += moved;
+        } while (moved == properties.getBatchSize());
+        rowCounts = null;
+        latestArchived = null;
+        if (total > 0) {
+            taskTagIndexService.invalidateAll();
+            dataVersionService.changedAll();
+        }
+        log.info("Archived {} closed tasks older than {} in {} ms", total, horizon, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Moves one batch, in the current transaction.
+     *
+     * @return the number of moved tasks, lower than {@code batchSize} once the hot table has nothing left to archive.
+     */
+    int archiveBatch(Instant horizon, int batchSize) {
+        List<Long> ids = taskArchiveRepository.findArchivableTaskIds(horizon, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        taskArchiveRepository.copyTasks(ids, Instant.now());
+        taskArchiveRepository.copyTaskTags(ids);
+        taskArchiveRepository.deleteTaskTags(ids);
+        int moved = taskArchiveRepository.deleteTasks(ids);
+        archivedCounter.increment(moved);
+        log.debug("Archived a batch of {} tasks", moved);
+        return moved;
+    }
+
+    /**
+     * @return whether tasks executed at or after {@code from} may have been archived. Archived tasks are always older
+     * than the current horizon, unless the horizon was extended after they were moved.
+     */
+    public boolean mayBeArchived(Instant from) {
+        return from.isBefore(horizon()) || latestArchived().executionTime().map(latest -> !from.isAfter(latest)).orElse(false);
+    }
+
+    /**
+     * Same as {@link #mayBeArchived(Instant)} for a local date of the database, whatever its time zone.
+     */
+    public boolean mayBeArchived(LocalDate from) {
+        return mayBeArchived(from.atStartOfDay(ZoneOffset.MAX).toInstant());
+    }
+
+    public Optional<Task> findOne(Long id) {
+        return taskArchiveRepository.findById(id).map(archive -> toTasks(List.of(archive), true).get(0));
+    }
+
+    /**
+     * Appends the archived tasks to a page of hot tasks, as if both tables were a single one holding the hot tasks first.
+     *
+     * @param hot the requested page of hot tasks.
+     * @param pageable the requested page.
+     * @param archive the query returning a page of archived tasks.
+     * @param eagerload whether the tags of the archived tasks are loaded.
+     * @return the requested page of the concatenation of both tables.
+     */
+    public Page<Task> appendArchived(Page<Task> hot, Pageable pageable, Function<Pageable, Page<TaskArchive>> archive, boolean eagerload) {
+        return appendArchived(hot, pageable, archive, archives -> toTasks(archives, eagerload));
+    }
+
+    /**
+     * Same as {@link #appendArchived(Page, Pageable, Function, boolean)} for any representation of the tasks.
+     *
+     * @param convert converts archived rows to the representation of the hot ones.
+     */
+    public <T, A> Page<T> appendArchived(
+        Page<T> hot,
+        Pageable pageable,
+        Function<Pageable, Page<A>> archive,
+        Function<List<A>, List<T>> convert
+    ) {
+        if (pageable.isUnpaged()) {
+            List<T> content = new ArrayList<>(hot.getContent());
+            content.addAll(convert.apply(archive.apply(pageable).getContent()));
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        int size = pageable.getPageSize();
+        List<T> content = new ArrayList<>(hot.getContent());
+        int missing = size - content.size();
+        if (missing == 0) {
+            return new PageImpl<>(content, pageable, hot.getTotalElements() + archive.apply(PageRequest.of(0, 1)).getTotalElements());
+        }
+        // The missing rows start at this offset of the archive and span at most two of its pages
+        long from = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+        Page<A> first = archive.apply(PageRequest.of((int) (from / size), size, pageable.getSort()));
+        List<A> window = new ArrayList<>(first.getContent());
+        int skip = (int) (from % size);
+        if (skip + missing > size && first.hasNext()) {
+            window.addAll(archive.apply(first.nextPageable()).getContent());
+        }
+        content.addAll(convert.apply(window.subList(Math.min(skip, window.size()), Math.min(skip + missing, window.size()))));
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + first.getTotalElements());
+    }
+
+    private List<Task> toTasks(List<TaskArchive> archives, boolean eagerload) {
+        if (archives.isEmpty() || !eagerload) {
+            return archives.stream().map(archive -> archive.toTask(false)).toList();
+        }
+        Map<Long, TaskArchive> withTags = taskArchiveRepository
+            .fetchTags(archives)
+            .stream()
+            .collect(Collectors.toMap(TaskArchive::getId, Function.identity()));
+        return archives.stream().map(archive -> withTags.get(archive.getId()).toTask(true)).toList();
+    }
+
+    private Instant horizon() {
+        return Instant.now().minus(properties.getHorizon());
+    }
+
+    private RowCounts rowCounts() {
+        RowCounts current = rowCounts;
+        if (current == null || isStale(current.takenAt())) {
+            current = new RowCounts(Instant.now(), taskRepository.count(), taskArchiveRepository.count());
+            rowCounts = current;
+        }
+        return current;
+    }
+
+    private LatestArchived latestArchived() {
+        LatestArchived current = latestArchived;
+        if (current == null || isStale(current.takenAt())) {
+            current = new LatestArchived(Instant.now(), taskArchiveRepository.findLatestExecutionTime());
+            latestArchived = current;
+        }
+        return current;
+    }
+
+    private static boolean isStale(Instant takenAt) {
+        return takenAt.plus(REFRESH_INTERVAL).isBefore(Instant.now());
+    }
+
+    private record RowCounts(Instant takenAt, long hotRows, long archivedRows) {}
+
+    private record LatestArchived(Instant takenAt, Optional<Instant> executionTime) {}
+}
@@ -0,0 +1,57 @@
+package com.task.manager.service;
+
+import com.task.manager.service.dto.TaskCountDTO;
+import com.task.manager.service.dto.TaskDashboardDTO;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Dashboard of a user, whose independent queries run concurrently through the {@link ReportRunner}, each in its own
+ * read-only transaction, so that it takes as long as the slowest of them rather than their sum.
+ */
+@Service
+public class TaskDashboardService {
+
+    private final Logger log = LoggerFactory.getLogger(TaskDashboardService.class);
+
+    private final TaskService taskService;
+
+    private final ReportRunner reportRunner;
+
+    public TaskDashboardService(TaskService taskService, ReportRunner reportRunner) {
+        this.taskService = taskService;
+        this.reportRunner = reportRunner;
+    }
+
+    /**
+     * Get the dashboard of a user.
+     *
+     * @param userId the id of the user.
+     * @return the future dashboard, completed once every query completed.
+     * @throws RejectedExecutionException if the reporting queue is full, the queries already queued are then skipped.
+     */
+    public CompletableFuture<TaskDashboardDTO> getDashboard(Long userId) {
+        log.debug("Request to get the dashboard of user : {}", userId);
+        CompletableFuture<Long> past = reportRunner.supply(() -> taskService.countPastTasks(userId));
+        CompletableFuture<Long> upcoming = null;
+        try {
+            upcoming = reportRunner.supply(() -> taskService.countUpcomingTasks(userId));
+            CompletableFuture<List<TaskCountDTO>> resolved = reportRunner.supply(() -> taskService.countResolvedTasksByTag(userId));
+            return resolved.thenCombine(
+                past.thenCombine(upcoming, TaskCountDTO::pastAndUpcoming),
+                (resolvedTasksByTag, tasks) -> new TaskDashboardDTO(tasks, resolvedTasksByTag)
+            );
+        } catch (RejectedExecutionException e) {
+            // a cancelled future does not run its query
+            past.cancel(false);
+            if (upcoming != null) {
+                upcoming.cancel(false);
+            }
+            throw e;
+        }
+    }
+}
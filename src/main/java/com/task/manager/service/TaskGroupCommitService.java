@@ -0,0 +1,285 @@
+package com.task.manager.service;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.domain.Task;
+import com.task.manager.repository.QueryBudget;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creation of tasks with group commit: when {@code application.group-commit.enabled}, concurrent creations are queued
+ * and inserted by a single writer thread, many per transaction, so that a burst of creations pays for a few commits
+ * instead of one each.
+ * <p>
+ * The writer takes up to {@code max-batch-size} tasks, waiting at most {@code max-delay} for the batch to fill, and
+ * saves them with {@link TaskService#saveAll(List)}. Each caller returns once the batch of its task is committed. If a
+ * batch fails, its tasks are saved one by one, so that only the callers of invalid tasks get an error. When the queue
+ * holds {@code queue-capacity} tasks, callers save their task themselves.
+ * <p>
+ * No caller is left waiting: a task queued while the writer stops is saved by its caller or by {@link #stop()}, and if
+ * the writer dies, the tasks it holds fail and the next callers save their task themselves. Each transaction of the
+ * writer gets the {@code crud} latency budget as a request would, and a caller whose task is not committed within
+ * {@code max-delay} plus that budget fails with a {@link QueryTimeoutException}, answered with 503.
+ */
+@Service
+public class TaskGroupCommitService implements SmartLifecycle {
+
+    public static final String BATCH_SIZE_METER_NAME = "task.group_commit.batch.size";
+    public static final String BATCH_SIZE_METER_DESCRIPTION = "Number of tasks inserted by a group commit.";
+    public static final String COMMIT_METER_NAME = "task.group_commit.commit";
+    public static final String COMMIT_METER_DESCRIPTION = "Duration of the transaction of a group commit.";
+
+    /**
+     * Started before and stopped after the web server, so that no request is queued once the writer has stopped.
+     */
+    private static final int PHASE = WebServerApplicationContext.START_STOP_LIFECYCLE_PHASE - 1024;
+
+    /**
+     * Bounds the idle wait of the writer, which producers wake up anyway, so that it notices {@link #stop()}.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Budget name of the transactions of the writer, the endpoint class of {@code POST /api/tasks}.
+     */
+    private static final String BUDGET_NAME = "crud";
+
+    private final Logger log = LoggerFactory.getLogger(TaskGroupCommitService.class);
+
+    private final TaskService taskService;
+
+    private final ApplicationProperties.GroupCommit properties;
+
+    private final ApplicationProperties.LatencyBudgets latencyBudgets;
+
+    private final Queue<PendingTask> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final DistributionSummary batchSizes;
+
+    private final Timer commits;
+
+    private volatile boolean running;
+
+    private volatile Thread writer;
+
+    public TaskGroupCommitService(TaskService taskService, ApplicationProperties applicationProperties, MeterRegistry registry) {
+        this.taskService = taskService;
+        this.properties = applicationProperties.getGroupCommit();
+        this.latencyBudgets = applicationProperties.getLatencyBudgets();
+        this.batchSizes =
+            DistributionSummary
+                .builder(BATCH_SIZE_METER_NAME)
+                .baseUnit("tasks")
+                .description(BATCH_SIZE_METER_DESCRIPTION)
+                .register(registry);
+        this.commits = Timer.builder(COMMIT_METER_NAME).description(COMMIT_METER_DESCRIPTION).register(registry);
+    }
+
+    /**
+     * Saves a new task, through the writer when group commit is enabled.
+     *
+     * @param task the task to save.
+     * @return the persisted task, once committed.
+     */
+    public Task save(Task task) {
+        Thread currentWriter = writer;
+        if (!running || currentWriter == null) {
+            return taskService.save(task);
+        }
+        if (queued.incrementAndGet() > properties.getQueueCapacity()) {
+            queued.decrementAndGet();
+            return taskService.save(task);
+        }
+        PendingTask pending = new PendingTask(task, new CompletableFuture<>());
+        queue.offer(pending);
+        if (!running && queue.remove(pending)) {
+            // stopped since the check above: the writer and stop() may have drained the queue already
+            queued.decrementAndGet();
+            return taskService.save(task);
+        }
+        LockSupport.unpark(currentWriter);
+        Duration timeout = properties.getMaxDelay().plus(latencyBudgets.getCrud());
+        try {
+            return pending.result().orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                // still queued, it is not committed at all; already taken by the writer, it may still be committed
+                if (queue.remove(pending)) {
+                    queued.decrementAndGet();
+                }
+                throw new QueryTimeoutException("Task creation not committed within " + timeout.toMillis() + " ms");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::writeBatches, "task-group-commit");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        log.info(
+            "Group commit of task creations enabled: up to {} tasks per transaction, waiting at most {} ms",
+            properties.getMaxBatchSize(),
+            properties.getMaxDelay().toMillis()
+        );
+    }
+
+    /**
+     * Stops taking new tasks, then lets the writer commit the queued ones.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(Duration.ofSeconds(30).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        PendingTask pending;
+        while ((pending = poll()) != null) {
+            commitAlone(pending);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void writeBatches() {
+        List<PendingTask> batch = new ArrayList<>(properties.getMaxBatchSize());
+        try {
+            writeBatches(batch);
+        } catch (RuntimeException | Error e) {
+            log.error("Group commit writer failed, task creations are now committed by their requests", e);
+            running = false;
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            PendingTask pending;
+            while ((pending = poll()) != null) {
+                pending.result().completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    private void writeBatches(List<PendingTask> batch) {
+        int maxBatchSize = properties.getMaxBatchSize();
+        long maxDelay = properties.getMaxDelay().toNanos();
+        while (running || !queue.isEmpty()) {
+            PendingTask first = poll();
+            if (first == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + maxDelay;
+            while (batch.size() < maxBatchSize) {
+                PendingTask next = poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private PendingTask poll() {
+        PendingTask pending = queue.poll();
+        if (pending != null) {
+            queued.decrementAndGet();
+        }
+        return pending;
+    }
+
+    private void commit(List<PendingTask> batch) {
+        batchSizes.record(batch.size());
+        List<Task> saved;
+        try {
+            saved = commits.record(() -> withBudget(() -> taskService.saveAll(batch.stream().map(PendingTask::task).toList())));
+        } catch (RuntimeException e) {
+            log.debug("Group commit of {} tasks failed, saving them one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(saved.get(i));
+        }
+    }
+
+    private void commitAlone(PendingTask pending) {
+        Task task = pending.task();
+        // the failed batch assigned an id and a version, which would make the task look already persisted
+        task.setId(null);
+        task.setVersion(null);
+        try {
+            pending.result().complete(withBudget(() -> taskService.save(task)));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Runs a transaction of the writer with a budget of its own, as it runs for many requests.
+     */
+    private <T> T withBudget(Supplier<T> transaction) {
+        if (!latencyBudgets.isEnabled()) {
+            return transaction.get();
+        }
+        QueryBudget previous = QueryBudget.use(new QueryBudget(BUDGET_NAME, latencyBudgets.getCrud()));
+        try {
+            return transaction.get();
+        } finally {
+            QueryBudget.restore(previous);
+        }
+    }
+
+    private record PendingTask(Task task, CompletableFuture<Task> result) {}
+}
@@ -0,0 +1,142 @@
+package com.task.manager.service;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.config.ApplicationProperties.Partitioning.ExpiredPartitions;
+import com.task.manager.repository.ConnectionPool;
+import com.task.manager.repository.TaskArchiveRepository;
+import com.task.manager.repository.TaskPartitionRepository;
+import com.task.manager.repository.TaskPartitionRepository.TaskPartition;
+import com.task.manager.repository.Workload;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintenance of the monthly partitions of the {@code task} table, see {@link TaskPartitionRepository}.
+ * <p>
+ * Does nothing when the table is not partitioned, so that it can stay scheduled on every installation.
+ */
+@Service
+public class TaskPartitionService {
+
+    private final Logger log = LoggerFactory.getLogger(TaskPartitionService.class);
+
+    private final TaskPartitionRepository taskPartitionRepository;
+
+    private final TaskArchiveRepository taskArchiveRepository;
+
+    private final TaskTagIndexService taskTagIndexService;
+
+    private final DataVersionService dataVersionService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ZoneId databaseZone;
+
+    public TaskPartitionService(
+        TaskPartitionRepository taskPartitionRepository,
+        TaskArchiveRepository taskArchiveRepository,
+        TaskTagIndexService taskTagIndexService,
+        DataVersionService dataVersionService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}") String databaseZone
+    ) {
+        this.taskPartitionRepository = taskPartitionRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.taskTagIndexService = taskTagIndexService;
+        this.dataVersionService = dataVersionService;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databaseZone = ZoneId.of(databaseZone);
+    }
+
+    /**
+     * Creates the partitions of the coming months and handles the expired ones.
+     * <p>
+     * This is scheduled to get fired everyday, at 03:00 (am) by default.
+     */
+    @Scheduled(cron = "${application.partitioning.cron:0 0 3 * * ?}")
+    @ConnectionPool(Workload.BATCH)
+    public void maintainPartitions() {
+        List<TaskPartition> partitions = taskPartitionRepository.findPartitions();
+        if (partitions.isEmpty()) {
+            log.debug("The task table is not partitioned");
+            return;
+        }
+        ApplicationProperties.Partitioning properties = applicationProperties.getPartitioning();
+        createFuturePartitions(partitions, YearMonth.now(databaseZone).plusMonths(properties.getFutureMonths()));
+        if (properties.getExpiredPartitions() != ExpiredPartitions.KEEP) {
+            LocalDate expiry = YearMonth.from(Instant.now().minus(properties.getRetention()).atZone(databaseZone)).atDay(1);
+            // the oldest partition also holds anything older than its month, it is never removed
+            for (TaskPartition partition : partitions.subList(1, partitions.size())) {
+                if (!partition.isCatchAll() && !partition.upperBound().isAfter(expiry)) {
+                    removeExpiredPartition(partition.name());
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the catch-all partition so that every month up to {@code lastMonth} has its own partition.
+     */
+    void createFuturePartitions(List<TaskPartition> partitions, YearMonth lastMonth) {
+        LocalDate lastBound = partitions
+            .stream()
+            .filter(partition -> !partition.isCatchAll())
+            .map(TaskPartition::upperBound)
+            .reduce((first, second) -> second)
+            .orElseThrow(() -> new IllegalStateException("The task table has no monthly partition"));
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(lastBound); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        if (!months.isEmpty()) {
+            log.info("Creating task partitions from {} to {}", months.get(0), lastMonth);
+            taskPartitionRepository.addMonthPartitions(months);
+        }
+    }
+
+    private void removeExpiredPartition(String partition) {
+        if (applicationProperties.getPartitioning().getExpiredPartitions() == ExpiredPartitions.ARCHIVE) {
+            int batchSize = applicationProperties.getArchive().getBatchSize();
+            long archived = 0;
+            int moved;
+            do {
+                moved = transactionTemplate.execute(status -> archiveBatch(partition, batchSize));
+                archived += moved;
+            } while (moved > 0);
+            log.info("Archived the {} tasks of the expired partition {}", archived, partition);
+        } else {
+            int links = taskPartitionRepository.deleteTaskTags(partition);
+            log.info("Deleted {} tag links of the expired partition {}", links, partition);
+        }
+        taskPartitionRepository.dropPartition(partition);
+        taskTagIndexService.invalidateAll();
+        dataVersionService.changedAll();
+        log.info("Dropped the expired partition {}", partition);
+    }
+
+    private int archiveBatch(String partition, int batchSize) {
+        List<Long> ids = taskPartitionRepository.findTaskIds(partition, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        taskArchiveRepository.copyTasks(ids, Instant.now());
+        taskArchiveRepository.copyTaskTags(ids);
+        taskArchiveRepository.deleteTaskTags(ids);
+        return taskArchiveRepository.deleteTasks(ids);
+    }
+}
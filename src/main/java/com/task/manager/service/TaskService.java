@@ -2,10 +2,18 @@ package com.task.manager.service;
 
 import com.task.manager.domain.Tag;
 import com.task.manager.domain.Task;
+import com.task.manager.repository.TaskCondition;
+import com.task.manager.repository.TaskProjection;
+import com.task.manager.service.dto.TaskBulkOperationDTO;
+import com.task.manager.service.dto.TaskBulkResultDTO;
+import com.task.manager.service.dto.TaskCountDTO;
+import com.task.manager.service.dto.TaskTagFilter;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -13,6 +21,40 @@ import org.springframework.data.domain.Pageable;
  * Service Interface for managing {@link com.task.manager.domain.Task}.
  */
 public interface TaskService {
+    /**
+     * Outcome of a {@link #partialUpdate(Task, String, Long)}.
+     */
+    enum PartialUpdateResult {
+        UPDATED,
+        /**
+         * The patch sets no field, so the task and its version are left as they are.
+         */
+        UNCHANGED,
+        /**
+         * The task does not exist or does not belong to the given user.
+         */
+        NOT_FOUND,
+        /**
+         * The task does not have the expected version.
+         */
+        VERSION_MISMATCH,
+    }
+
+    /**
+     * Outcome of a {@link #changeTags(Long, String, Set, Set)}.
+     */
+    enum TagChangeResult {
+        UPDATED,
+        /**
+         * The task does not exist or does not belong to the given user.
+         */
+        NOT_FOUND,
+        /**
+         * Some of the tags to add do not exist or do not belong to the owner of the task.
+         */
+        TAG_NOT_OWNED,
+    }
+
     /**
      * Save a task.
      *
@@ -21,6 +63,14 @@ public interface TaskService {
      */
     Task save(Task task);
 
+    /**
+     * Save tasks in a single transaction, their inserts batched.
+     *
+     * @param tasks the entities to save.
+     * @return the persisted entities.
+     */
+    List<Task> saveAll(List<Task> tasks);
+
     /**
      * Updates a task.
      *
@@ -30,12 +80,14 @@ public interface TaskService {
     Task update(Task task);
 
     /**
-     * Partially updates a task.
+     * Partially updates a task with a single statement, setting only its non-null fields.
      *
-     * @param task the entity to update partially.
-     * @return the persisted entity.
+     * @param task the fields to update, with the id of the task.
+     * @param ownerLogin the login of the user the task must belong to, or {@code null} for any user.
+     * @param expectedVersion the version the task must have, or {@code null} for any version.
+     * @return the outcome of the update.
      */
-    Optional<Task> partialUpdate(Task task);
+    PartialUpdateResult partialUpdate(Task task, String ownerLogin, Long expectedVersion);
 
     /**
      * Get all the tasks.
@@ -53,6 +105,16 @@ public interface TaskService {
      */
     Page<Task> findAllWithEagerRelationships(Pageable pageable);
 
+    /**
+     * Get the requested fields of the tasks matching a condition, followed by the archived ones when they may match.
+     *
+     * @param projection the requested fields.
+     * @param condition the tasks to get.
+     * @param pageable the pagination information.
+     * @return the list of the requested fields, keyed by field.
+     */
+    Page<Map<String, Object>> findAllProjected(TaskProjection projection, TaskCondition condition, Pageable pageable);
+
     /**
      * Get the "id" task.
      *
@@ -86,6 +148,16 @@ public interface TaskService {
      */
     Page<Task> findAllByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Get all the tasks by userId, followed by the archived ones.
+     *
+     * @param userId the id of the user.
+     * @param pageable the pagination information.
+     * @param eagerload whether the tags are loaded.
+     * @return the list of entities.
+     */
+    Page<Task> findAllByUserIdIncludingArchived(Long userId, Pageable pageable, boolean eagerload);
+
     /**
      * Get all the tasks by title.
      *
@@ -173,20 +245,64 @@ public interface TaskService {
     void updateTags(Long taskId, List<Tag> tags);
 
     /**
-     * Get all the tasks by userId for report of solved and non solved.
+     * Adds and removes tags of a task, writing only the links which change.
      *
-     * @param userId
-     * @param pageable
-     * @return
+     * @param taskId the id of the task.
+     * @param ownerLogin the login of the user the task must belong to, or {@code null} for any user.
+     * @param add the ids of the tags to add, which must belong to the owner of the task.
+     * @param remove the ids of the tags to remove.
+     * @return the outcome of the change.
      */
-    Object getTasksForRel(Long userId);
+    TagChangeResult changeTags(Long taskId, String ownerLogin, Set<Long> add, Set<Long> remove);
 
     /**
-     * Get all the tasks by userId for report of solved and non solved.
+     * Get the tasks of the user matching tag predicates, evaluated on the in-memory tag index.
      *
-     * @param userId
-     * @param pageable
-     * @return
+     * @param userId the id of the user.
+     * @param filter the tag predicates and execution time range.
+     * @param pageable the pagination information, sorted by execution time.
+     * @return the page of matching tasks, with their tags.
+     */
+    Page<Task> findAllByUserIdAndTags(Long userId, TaskTagFilter filter, Pageable pageable);
+
+    /**
+     * Apply an operation to many tasks of a user, with set-based statements in a single transaction.
+     *
+     * @param operation the operation and the selected tasks, either by id or by execution time range.
+     * @param ownerLogin the login the user of the operation must have, or {@code null} for any user.
+     * @return the number of affected tasks and deleted tag links, or empty if the user of the operation is not the owner.
+     */
+    Optional<TaskBulkResultDTO> bulkOperation(TaskBulkOperationDTO operation, String ownerLogin);
+
+    /**
+     * Count the past tasks of a user, archived ones included.
+     *
+     * @param userId the id of the user.
+     * @return the number of tasks executed before now.
+     */
+    long countPastTasks(Long userId);
+
+    /**
+     * Count the upcoming tasks of a user.
+     *
+     * @param userId the id of the user.
+     * @return the number of tasks executed from now on.
+     */
+    long countUpcomingTasks(Long userId);
+
+    /**
+     * Get the number of past and upcoming tasks of a user, for the report of solved and non solved tasks.
+     *
+     * @param userId the id of the user.
+     * @return the past then the upcoming tasks.
+     */
+    List<TaskCountDTO> getTasksForRel(Long userId);
+
+    /**
+     * Count the past tasks of a user by tag, archived ones included.
+     *
+     * @param userId the id of the user.
+     * @return the number of past tasks of each tag.
      */
-    Object countResolvedTasksByTag(Long userId);
+    List<TaskCountDTO> countResolvedTasksByTag(Long userId);
 }
@@ -0,0 +1,533 @@
+package com.task.manager.service;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import com.task.manager.repository.TaskRepository;
+import com.task.manager.service.dto.TaskTagFilter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of the tags of the tasks of each user, evaluating {@link TaskTagFilter}s without touching the database.
+ * <p>
+ * The tasks of a user are numbered with ordinals, and the index holds a compressed bitmap of ordinals per tag and per day
+ * of execution time. A filter is a few bitmap operations, intersected with the days of its time range; only the ordinals
+ * of the requested page are then sorted and turned back into task ids, so that the caller loads a single page of tasks.
+ * <p>
+ * The index of a user is loaded by the first filter of the user, then kept up to date by the writes of
+ * {@link TaskService}, once their transaction is committed. Writes of other nodes and bulk jobs are only seen once the
+ * index is rebuilt, after {@code application.tag-filter.time-to-live}, so callers must check the tasks they load.
+ */
+@Service
+public class TaskTagIndexService {
+
+    private static final long MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private static final long NO_EXECUTION_TIME = Long.MIN_VALUE;
+
+    private final Logger log = LoggerFactory.getLogger(TaskTagIndexService.class);
+
+    private final TaskRepository taskRepository;
+
+    private final ApplicationProperties.TagFilter properties;
+
+    private final ConcurrentMap<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    public TaskTagIndexService(TaskRepository taskRepository, ApplicationProperties applicationProperties) {
+        this.taskRepository = taskRepository;
+        this.properties = applicationProperties.getTagFilter();
+    }
+
+    /**
+     * Evaluates a filter on the tasks of a user, loading the index of the user when needed.
+     *
+     * @param userId the id of the user.
+     * @param filter the filter.
+     * @param pageable the requested page, sorted by execution time ascending unless sorted by {@code executionTime,desc}, tasks
+     *                 without execution time first in ascending order and last in descending order, as sorted by MySQL.
+     * @return the ids of the tasks of the page, in order, and the number of matching tasks.
+     */
+    public Hits find(Long userId, TaskTagFilter filter, Pageable pageable) {
+        UserIndex index = index(userId);
+        index.lock.readLock().lock();
+        try {
+            return index.find(filter, pageable);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a new task, once the current transaction is committed.
+     */
+    public void taskCreated(Task task) {
+        IndexedTask indexed = IndexedTask.of(task);
+        afterCommit(() -> apply(indexed, false));
+    }
+
+    /**
+     * Indexes the new state of a task, which may have moved to another user, once the current transaction is committed.
+     */
+    public void taskUpdated(Task task) {
+        IndexedTask indexed = IndexedTask.of(task);
+        afterCommit(() -> apply(indexed, true));
+    }
+
+    /**
+     * Moves a task to its new execution time in the index, once the current transaction is committed.
+     */
+    public void taskRescheduled(Long taskId, Instant executionTime) {
+        afterCommit(() -> indexes.values().forEach(index -> index.reschedule(taskId, executionTime)));
+    }
+
+    /**
+     * Adds and removes tags of a task in the index, once the current transaction is committed.
+     */
+    public void taskTagsChanged(Long taskId, Collection<Long> added, Collection<Long> removed) {
+        List<Long> addedIds = List.copyOf(added);
+        List<Long> removedIds = List.copyOf(removed);
+        afterCommit(() -> indexes.values().forEach(index -> index.retag(taskId, addedIds, removedIds)));
+    }
+
+    /**
+     * Removes a task from the index, once the current transaction is committed.
+     */
+    public void taskDeleted(Long taskId) {
+        afterCommit(() -> indexes.values().forEach(index -> index.remove(taskId)));
+    }
+
+    /**
+     * Drops the index of a user once the current transaction is committed, after set-based writes to its tasks.
+     */
+    public void tasksChanged(Long userId) {
+        afterCommit(() -> invalidate(userId));
+    }
+
+    /**
+     * Drops the index of a user, rebuilt by the next filter.
+     */
+    public void invalidate(Long userId) {
+        indexes.remove(userId);
+    }
+
+    /**
+     * Drops every index, after writes which bypass {@link TaskService}.
+     */
+    public void invalidateAll() {
+        indexes.clear();
+    }
+
+    private void apply(IndexedTask task, boolean mayBeIndexed) {
+        UserIndex own = task.userId() == null ? null : indexes.get(task.userId());
+        if (mayBeIndexed) {
+            indexes.values().stream().filter(index -> index != own).forEach(index -> index.remove(task.id()));
+        }
+        if (own != null) {
+            own.put(task);
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            }
+        );
+    }
+
+    private UserIndex index(Long userId) {
+        while (true) {
+            UserIndex index = indexes.get(userId);
+            if (index != null && !index.isExpired(properties.getTimeToLive())) {
+                return index;
+            }
+            UserIndex loaded = load(userId, index);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+    }
+
+    /**
+     * Publishes a new index of the user, write locked while it is loaded so that readers and commits of the user wait
+     * for it rather than see it empty.
+     *
+     * @return the loaded index, or {@code null} if another thread published one first.
+     */
+    private UserIndex load(Long userId, UserIndex expired) {
+        UserIndex index = new UserIndex(Instant.now());
+        index.lock.writeLock().lock();
+        try {
+            boolean published = expired == null ? indexes.putIfAbsent(userId, index) == null : indexes.replace(userId, expired, index);
+            if (!published) {
+                return null;
+            }
+            evictOldestIfFull();
+            long start = System.nanoTime();
+            try {
+                index.load(taskRepository.findIdAndExecutionTimeByUserId(userId), taskRepository.findTaskIdAndTagIdByUserId(userId));
+            } catch (RuntimeException e) {
+                indexes.remove(userId, index);
+                throw e;
+            }
+            log.debug(
+                "Loaded the tag index of user {}: {} tasks in {} ms",
+                userId,
+                index.live.getCardinality(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis()
+            );
+            return index;
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    private void evictOldestIfFull() {
+        while (indexes.size() > properties.getMaxUsers()) {
+            indexes
+                .entrySet()
+                .stream()
+                .min(Comparator.comparing(entry -> entry.getValue().loadedAt))
+                .ifPresent(oldest -> indexes.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static long toMillis(Instant executionTime) {
+        return executionTime == null ? NO_EXECUTION_TIME : executionTime.toEpochMilli();
+    }
+
+    /**
+     * The ids of the tasks of the requested page, in order, and the number of tasks matching the filter.
+     */
+    public record Hits(List<Long> taskIds, long total) {}
+
+    private record IndexedTask(Long id, Long userId, Instant executionTime, List<Long> tagIds) {
+        static IndexedTask of(Task task) {
+            return new IndexedTask(
+                task.getId(),
+                task.getUser() == null ? null : task.getUser().getId(),
+                task.getExecutionTime(),
+                task.getTags().stream().map(Tag::getId).toList()
+            );
+        }
+    }
+
+    /**
+     * Index of the tasks of one user. Queries need the read lock, loads and updates take the write lock.
+     */
+    private static final class UserIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Instant loadedAt;
+
+        /**
+         * Concurrent, so that updates skip the indexes which do not hold a task without locking them.
+         */
+        private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+
+        private long[] taskIds = new long[16];
+
+        private long[] executionTimes = new long[16];
+
+        private int size;
+
+        private final RoaringBitmap live = new RoaringBitmap();
+
+        /**
+         * Ordinals of the removed tasks, given to the next added tasks.
+         */
+        private final RoaringBitmap free = new RoaringBitmap();
+
+        private final Map<Long, RoaringBitmap> tags = new HashMap<>();
+
+        private final TreeMap<Long, RoaringBitmap> days = new TreeMap<>();
+
+        private final RoaringBitmap undated = new RoaringBitmap();
+
+        UserIndex(Instant loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(Duration timeToLive) {
+            return loadedAt.plus(timeToLive).isBefore(Instant.now());
+        }
+
+        /**
+         * Numbers the tasks in execution time order, so that the bitmaps of days are compact runs and the ordinals of a
+         * page are already sorted until tasks are updated.
+         */
+        void load(List<Object[]> executionTimesById, List<Object[]> tagIdsById) {
+            List<Object[]> rows = new ArrayList<>(executionTimesById);
+            rows.sort(Comparator.comparingLong((Object[] row) -> toMillis((Instant) row[1])).thenComparingLong(row -> (Long) row[0]));
+            for (Object[] row : rows) {
+                index(add((Long) row[0]), (Instant) row[1], List.of());
+            }
+            for (Object[] row : tagIdsById) {
+                Integer ordinal = ordinals.get((Long) row[0]);
+                if (ordinal != null) {
+                    tags.computeIfAbsent((Long) row[1], tagId -> new RoaringBitmap()).add(ordinal);
+                }
+            }
+            live.runOptimize();
+            tags.values().forEach(RoaringBitmap::runOptimize);
+            days.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        void put(IndexedTask task) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(task.id());
+                if (ordinal == null) {
+                    ordinal = add(task.id());
+                } else {
+                    unindex(ordinal);
+                }
+                index(ordinal, task.executionTime(), task.tagIds());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void reschedule(Long taskId, Instant executionTime) {
+            if (!ordinals.containsKey(taskId)) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(taskId);
+                if (ordinal != null) {
+                    unindexTime(ordinal);
+                    indexTime(ordinal, executionTime);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void retag(Long taskId, List<Long> added, List<Long> removed) {
+            if (!ordinals.containsKey(taskId)) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(taskId);
+                if (ordinal != null) {
+                    for (Long tagId : removed) {
+                        RoaringBitmap bitmap = tags.get(tagId);
+                        if (bitmap != null) {
+                            bitmap.remove(ordinal);
+                        }
+                    }
+                    for (Long tagId : added) {
+                        tags.computeIfAbsent(tagId, id -> new RoaringBitmap()).add(ordinal);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long taskId) {
+            if (!ordinals.containsKey(taskId)) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.remove(taskId);
+                if (ordinal != null) {
+                    unindex(ordinal);
+                    live.remove(ordinal);
+                    free.add(ordinal);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int add(Long taskId) {
+            int ordinal;
+            if (!free.isEmpty()) {
+                ordinal = free.first();
+                free.remove(ordinal);
+            } else {
+                if (size == taskIds.length) {
+                    taskIds = Arrays.copyOf(taskIds, size * 2);
+                    executionTimes = Arrays.copyOf(executionTimes, size * 2);
+                }
+                ordinal = size++;
+            }
+            taskIds[ordinal] = taskId;
+            ordinals.put(taskId, ordinal);
+            live.add(ordinal);
+            return ordinal;
+        }
+
+        private void index(int ordinal, Instant executionTime, List<Long> tagIds) {
+            indexTime(ordinal, executionTime);
+            for (Long tagId : tagIds) {
+                tags.computeIfAbsent(tagId, id -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        private void unindex(int ordinal) {
+            unindexTime(ordinal);
+            tags.values().forEach(bitmap -> bitmap.remove(ordinal));
+        }
+
+        private void indexTime(int ordinal, Instant executionTime) {
+            executionTimes[ordinal] = toMillis(executionTime);
+            if (executionTime == null) {
+                undated.add(ordinal);
+            } else {
+                days.computeIfAbsent(day(executionTimes[ordinal]), day -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        private void unindexTime(int ordinal) {
+            if (executionTimes[ordinal] == NO_EXECUTION_TIME) {
+                undated.remove(ordinal);
+            } else {
+                long day = day(executionTimes[ordinal]);
+                RoaringBitmap bitmap = days.get(day);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    days.remove(day);
+                }
+            }
+        }
+
+        Hits find(TaskTagFilter filter, Pageable pageable) {
+            RoaringBitmap matches = matchingTags(filter);
+            Sort.Order order = pageable.getSort().getOrderFor("executionTime");
+            boolean descending = order != null && order.isDescending();
+
+            // Matching tasks of each day of the range, in page order. Only the first and last days need the exact times.
+            // Tasks without execution time come first in ascending order and last in descending order, as in MySQL.
+            List<RoaringBitmap> groups = new ArrayList<>();
+            RoaringBitmap undatedHits = filter.hasTimeRange() ? new RoaringBitmap() : RoaringBitmap.and(undated, matches);
+            if (!descending && !undatedHits.isEmpty()) {
+                groups.add(undatedHits);
+            }
+            Long firstDay = filter.from() == null ? null : day(filter.from().toEpochMilli());
+            Long lastDay = filter.to() == null ? null : day(filter.to().toEpochMilli() - 1);
+            if (firstDay == null || lastDay == null || firstDay <= lastDay) {
+                NavigableMap<Long, RoaringBitmap> range = days;
+                if (firstDay != null) {
+                    range = range.tailMap(firstDay, true);
+                }
+                if (lastDay != null) {
+                    range = range.headMap(lastDay, true);
+                }
+                for (Map.Entry<Long, RoaringBitmap> day : (descending ? range.descendingMap() : range).entrySet()) {
+                    RoaringBitmap hits = RoaringBitmap.and(day.getValue(), matches);
+                    if (day.getKey().equals(firstDay) || day.getKey().equals(lastDay)) {
+                        hits = withinRange(hits, filter);
+                    }
+                    if (!hits.isEmpty()) {
+                        groups.add(hits);
+                    }
+                }
+            }
+            if (descending && !undatedHits.isEmpty()) {
+                groups.add(undatedHits);
+            }
+            return new Hits(page(groups, pageable, descending), groups.stream().mapToLong(RoaringBitmap::getLongCardinality).sum());
+        }
+
+        private RoaringBitmap matchingTags(TaskTagFilter filter) {
+            RoaringBitmap matches = live.clone();
+            for (Long tagId : filter.allTags()) {
+                matches.and(tags.getOrDefault(tagId, new RoaringBitmap()));
+            }
+            if (!filter.anyTags().isEmpty()) {
+                RoaringBitmap any = new RoaringBitmap();
+                filter.anyTags().stream().map(tags::get).filter(Objects::nonNull).forEach(any::or);
+                matches.and(any);
+            }
+            filter.noneTags().stream().map(tags::get).filter(Objects::nonNull).forEach(matches::andNot);
+            return matches;
+        }
+
+        private RoaringBitmap withinRange(RoaringBitmap hits, TaskTagFilter filter) {
+            long from = filter.from() == null ? Long.MIN_VALUE : filter.from().toEpochMilli();
+            long to = filter.to() == null ? Long.MAX_VALUE : filter.to().toEpochMilli();
+            RoaringBitmap within = new RoaringBitmap();
+            PeekableIntIterator iterator = hits.getIntIterator();
+            while (iterator.hasNext()) {
+                int ordinal = iterator.next();
+                if (executionTimes[ordinal] >= from && executionTimes[ordinal] < to) {
+                    within.add(ordinal);
+                }
+            }
+            return within;
+        }
+
+        /**
+         * Skips the whole groups before the page, and sorts only the groups the page spans.
+         */
+        private List<Long> page(List<RoaringBitmap> groups, Pageable pageable, boolean descending) {
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            long limit = pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE;
+            Comparator<Integer> byExecutionTime = Comparator
+                .comparingLong((Integer ordinal) -> executionTimes[ordinal])
+                .thenComparingLong(ordinal -> taskIds[ordinal]);
+            Comparator<Integer> pageOrder = descending ? byExecutionTime.reversed() : byExecutionTime;
+            List<Long> ids = new ArrayList<>();
+            long skipped = 0;
+            for (RoaringBitmap group : groups) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                int cardinality = group.getCardinality();
+                if (skipped + cardinality <= offset) {
+                    skipped += cardinality;
+                    continue;
+                }
+                Arrays
+                    .stream(group.toArray())
+                    .boxed()
+                    .sorted(pageOrder)
+                    .skip(Math.max(0, offset - skipped))
+                    .limit(limit - ids.size())
+                    .forEach(ordinal -> ids.add(taskIds[ordinal]));
+                skipped += cardinality;
+            }
+            return ids;
+        }
+
+        private static long day(long epochMillis) {
+            return Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.task.manager.config.Constants;
 import com.task.manager.domain.Authority;
 import com.task.manager.domain.User;
 import com.task.manager.repository.AuthorityRepository;
+import com.task.manager.repository.ConnectionPool;
 import com.task.manager.repository.UserRepository;
+import com.task.manager.repository.Workload;
 import com.task.manager.security.AuthoritiesConstants;
 import com.task.manager.security.SecurityUtils;
 import com.task.manager.service.dto.AdminUserDTO;
@@ -323,6 +325,7 @@ public class UserService {
      * This is scheduled to get fired everyday, at 01:00 (am).
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @ConnectionPool(Workload.BATCH)
     public void removeNotActivatedUsers() {
         userRepository
             .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
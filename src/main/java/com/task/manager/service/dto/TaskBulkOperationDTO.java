@@ -0,0 +1,119 @@
+package com.task.manager.service.dto;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A DTO representing an operation applied to many tasks of a user at once, selected either by id or by execution time
+ * range.
+ */
+public class TaskBulkOperationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Operation {
+        /**
+         * Deletes the tasks, with their tag links.
+         */
+        DELETE,
+        /**
+         * Sets the tasks closed.
+         */
+        CLOSE,
+        /**
+         * Sets the tasks not closed.
+         */
+        REOPEN,
+        /**
+         * Moves the execution time of the tasks by {@code offset}, in whole seconds.
+         */
+        SHIFT,
+    }
+
+    private Operation operation;
+
+    private Long userId;
+
+    private List<Long> ids;
+
+    private Instant from;
+
+    private Instant to;
+
+    private Duration offset;
+
+    public TaskBulkOperationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public Duration getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Duration offset) {
+        this.offset = offset;
+    }
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasRange() {
+        return from != null && to != null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskBulkOperationDTO{" +
+            "operation=" + operation +
+            ", userId=" + userId +
+            ", ids=" + ids +
+            ", from=" + from +
+            ", to=" + to +
+            ", offset=" + offset +
+            "}";
+    }
+}
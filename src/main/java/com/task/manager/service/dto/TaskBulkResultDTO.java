@@ -0,0 +1,45 @@
+package com.task.manager.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of a {@link TaskBulkOperationDTO}: the number of affected tasks and deleted tag links.
+ */
+public class TaskBulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TaskBulkOperationDTO.Operation operation;
+
+    private final int tasks;
+
+    private final int tagLinks;
+
+    public TaskBulkResultDTO(TaskBulkOperationDTO.Operation operation, int tasks, int tagLinks) {
+        this.operation = operation;
+        this.tasks = tasks;
+        this.tagLinks = tagLinks;
+    }
+
+    public TaskBulkOperationDTO.Operation getOperation() {
+        return operation;
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public int getTagLinks() {
+        return tagLinks;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskBulkResultDTO{" +
+            "operation=" + operation +
+            ", tasks=" + tasks +
+            ", tagLinks=" + tagLinks +
+            "}";
+    }
+}
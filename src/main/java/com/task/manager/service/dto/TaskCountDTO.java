@@ -0,0 +1,20 @@
+package com.task.manager.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO representing a number of tasks in a report chart: {@code name} labels the bar, {@code uv} is its value.
+ */
+public record TaskCountDTO(String name, long uv) implements Serializable {
+    public static final String PAST = "Já realizadas";
+
+    public static final String UPCOMING = "A realizar";
+
+    /**
+     * @return the bars of the past and upcoming tasks, in this order.
+     */
+    public static List<TaskCountDTO> pastAndUpcoming(long past, long upcoming) {
+        return List.of(new TaskCountDTO(PAST, past), new TaskCountDTO(UPCOMING, upcoming));
+    }
+}
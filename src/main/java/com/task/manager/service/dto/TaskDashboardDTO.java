@@ -0,0 +1,9 @@
+package com.task.manager.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO representing the dashboard of a user: its past and upcoming tasks, and its past tasks by tag.
+ */
+public record TaskDashboardDTO(List<TaskCountDTO> tasks, List<TaskCountDTO> resolvedTasksByTag) implements Serializable {}
@@ -0,0 +1,59 @@
+package com.task.manager.service.dto;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A DTO representing the tags added to and removed from a task, by id.
+ */
+public class TaskTagChangeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Set<Long> add = new HashSet<>();
+
+    private Set<Long> remove = new HashSet<>();
+
+    public TaskTagChangeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public Set<Long> getAdd() {
+        return add;
+    }
+
+    public void setAdd(Set<Long> add) {
+        this.add = add == null ? new HashSet<>() : add;
+    }
+
+    public Set<Long> getRemove() {
+        return remove;
+    }
+
+    public void setRemove(Set<Long> remove) {
+        this.remove = remove == null ? new HashSet<>() : remove;
+    }
+
+    public boolean isEmpty() {
+        return add.isEmpty() && remove.isEmpty();
+    }
+
+    public int size() {
+        return add.size() + remove.size();
+    }
+
+    public boolean overlaps() {
+        return !Collections.disjoint(add, remove);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskTagChangeDTO{" +
+            "add=" + add +
+            ", remove=" + remove +
+            "}";
+    }
+}
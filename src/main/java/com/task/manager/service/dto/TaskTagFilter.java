@@ -0,0 +1,47 @@
+package com.task.manager.service.dto;
+
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tag predicates and execution time range of a task filter.
+ *
+ * @param allTags the ids of the tags a task must all have.
+ * @param anyTags the ids of the tags a task must have at least one of, ignored when empty.
+ * @param noneTags the ids of the tags a task must not have.
+ * @param from the first execution time, inclusive, or {@code null} for no lower bound.
+ * @param to the last execution time, exclusive, or {@code null} for no upper bound.
+ */
+public record TaskTagFilter(Set<Long> allTags, Set<Long> anyTags, Set<Long> noneTags, Instant from, Instant to) implements Serializable {
+    public TaskTagFilter {
+        allTags = allTags == null ? Set.of() : Set.copyOf(allTags);
+        anyTags = anyTags == null ? Set.of() : Set.copyOf(anyTags);
+        noneTags = noneTags == null ? Set.of() : Set.copyOf(noneTags);
+    }
+
+    public boolean hasTimeRange() {
+        return from != null || to != null;
+    }
+
+    /**
+     * @return whether {@code task} matches the filter, with its tags loaded.
+     */
+    public boolean matches(Task task) {
+        Set<Long> tags = task.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+        if (!tags.containsAll(allTags) || noneTags.stream().anyMatch(tags::contains)) {
+            return false;
+        }
+        if (!anyTags.isEmpty() && anyTags.stream().noneMatch(tags::contains)) {
+            return false;
+        }
+        if (!hasTimeRange()) {
+            return true;
+        }
+        Instant executionTime = task.getExecutionTime();
+        return executionTime != null && (from == null || !executionTime.isBefore(from)) && (to == null || executionTime.isBefore(to));
+    }
+}
@@ -2,6 +2,7 @@ package com.task.manager.service.impl;
 
 import com.task.manager.domain.Tag;
 import com.task.manager.repository.TagRepository;
+import com.task.manager.service.DataVersionService;
 import com.task.manager.service.TagService;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -22,20 +23,34 @@ public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
 
-    public TagServiceImpl(TagRepository tagRepository) {
+    private final DataVersionService dataVersionService;
+
+    public TagServiceImpl(TagRepository tagRepository, DataVersionService dataVersionService) {
         this.tagRepository = tagRepository;
+        this.dataVersionService = dataVersionService;
     }
 
     @Override
     public Tag save(Tag tag) {
         log.debug("Request to save Tag : {}", tag);
-        return tagRepository.save(tag);
+        Tag result = tagRepository.save(tag);
+        dataVersionService.changed(userId(result));
+        return result;
     }
 
     @Override
     public Tag update(Tag tag) {
         log.debug("Request to update Tag : {}", tag);
-        return tagRepository.save(tag);
+        tagRepository
+            .findById(tag.getId())
+            .ifPresent(stored -> {
+                tag.setUuid(stored.getUuid());
+                // the tag may move to another user
+                dataVersionService.changed(userId(stored));
+            });
+        Tag result = tagRepository.save(tag);
+        dataVersionService.changed(userId(result));
+        return result;
     }
 
     @Override
@@ -49,6 +64,7 @@ public class TagServiceImpl implements TagService {
                     existingTag.setName(tag.getName());
                 }
 
+                dataVersionService.changed(userId(existingTag));
                 return existingTag;
             })
             .map(tagRepository::save);
@@ -71,6 +87,8 @@ public class TagServiceImpl implements TagService {
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Tag : {}", id);
+        // the tag is loaded by the delete anyway
+        tagRepository.findById(id).map(TagServiceImpl::userId).ifPresent(dataVersionService::changed);
         tagRepository.deleteById(id);
     }
 
@@ -79,4 +97,8 @@ public class TagServiceImpl implements TagService {
         log.debug("Request to get all Tags by user id");
         return tagRepository.findAllByUserId(userId, pageable);
     }
+
+    private static Long userId(Tag tag) {
+        return tag.getUser() == null ? null : tag.getUser().getId();
+    }
 }
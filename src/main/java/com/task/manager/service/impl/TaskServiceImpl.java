@@ -2,21 +2,39 @@ package com.task.manager.service.impl;
 
 import com.task.manager.domain.Tag;
 import com.task.manager.domain.Task;
+import com.task.manager.domain.User;
+import com.task.manager.repository.ConnectionPool;
+import com.task.manager.repository.TagRepository;
+import com.task.manager.repository.TaskArchiveRepository;
+import com.task.manager.repository.TaskCondition;
+import com.task.manager.repository.TaskProjection;
 import com.task.manager.repository.TaskRepository;
+import com.task.manager.repository.UserRepository;
+import com.task.manager.repository.Workload;
+import com.task.manager.service.DataVersionService;
+import com.task.manager.service.TaskArchiveService;
 import com.task.manager.service.TaskService;
+import com.task.manager.service.TaskTagIndexService;
+import com.task.manager.service.dto.TaskBulkOperationDTO;
+import com.task.manager.service.dto.TaskBulkResultDTO;
+import com.task.manager.service.dto.TaskCountDTO;
+import com.task.manager.service.dto.TaskTagFilter;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,48 +50,106 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    private final TaskArchiveRepository taskArchiveRepository;
+
+    private final TaskArchiveService taskArchiveService;
+
+    private final TaskTagIndexService taskTagIndexService;
+
+    private final DataVersionService dataVersionService;
+
+    private final TagRepository tagRepository;
+
+    private final UserRepository userRepository;
+
+    public TaskServiceImpl(
+        TaskRepository taskRepository,
+        TaskArchiveRepository taskArchiveRepository,
+        TaskArchiveService taskArchiveService,
+        TaskTagIndexService taskTagIndexService,
+        DataVersionService dataVersionService,
+        TagRepository tagRepository,
+        UserRepository userRepository
+    ) {
         this.taskRepository = taskRepository;
+        this.tagRepository = tagRepository;
+        this.userRepository = userRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.taskArchiveService = taskArchiveService;
+        this.taskTagIndexService = taskTagIndexService;
+        this.dataVersionService = dataVersionService;
     }
 
     @Override
     public Task save(Task task) {
         log.debug("Request to save Task : {}", task);
-        return taskRepository.save(task);
+        removeDuplicateTags(task);
+        Task result = taskRepository.save(task);
+        taskTagIndexService.taskCreated(result);
+        dataVersionService.changed(userId(result));
+        return result;
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        log.debug("Request to save {} Tasks", tasks.size());
+        tasks.forEach(TaskServiceImpl::removeDuplicateTags);
+        List<Task> result = taskRepository.saveAll(tasks);
+        result.forEach(taskTagIndexService::taskCreated);
+        result.stream().map(TaskServiceImpl::userId).distinct().forEach(dataVersionService::changed);
+        return result;
     }
 
     @Override
     public Task update(Task task) {
         log.debug("Request to update Task : {}", task);
-        return taskRepository.save(task);
+        removeDuplicateTags(task);
+        // The merge loads the stored task anyway: the detached copy takes its uuid, and its version for clients unaware of
+        // versions, which overwrite the task as before versioning
+        taskRepository
+            .findById(task.getId())
+            .ifPresent(stored -> {
+                task.setUuid(stored.getUuid());
+                if (task.getVersion() == null) {
+                    task.setVersion(stored.getVersion());
+                }
+                // the task may move to another user
+                dataVersionService.changed(userId(stored));
+            });
+        Task result = taskRepository.save(task);
+        taskTagIndexService.taskUpdated(result);
+        dataVersionService.changed(userId(result));
+        return result;
     }
 
     @Override
-    public Optional<Task> partialUpdate(Task task) {
+    public PartialUpdateResult partialUpdate(Task task, String ownerLogin, Long expectedVersion) {
         log.debug("Request to partially update Task : {}", task);
-
+        if (!hasChanges(task)) {
+            // Nothing to write: the version, and the caches keyed on it, stay valid
+            return taskRepository
+                .findById(task.getId())
+                .filter(existingTask -> ownerLogin == null || isOwnedBy(existingTask, ownerLogin))
+                .map(existingTask ->
+                    expectedVersion == null || expectedVersion.equals(existingTask.getVersion())
+                        ? PartialUpdateResult.UNCHANGED
+                        : PartialUpdateResult.VERSION_MISMATCH
+                )
+                .orElse(PartialUpdateResult.NOT_FOUND);
+        }
+        if (taskRepository.partialUpdate(task, ownerLogin, expectedVersion) > 0) {
+            if (task.getExecutionTime() != null) {
+                taskTagIndexService.taskRescheduled(task.getId(), task.getExecutionTime());
+            }
+            dataVersionService.changed(taskRepository.findUserIdById(task.getId()).orElse(null));
+            return PartialUpdateResult.UPDATED;
+        }
+        // Only a failed update reads the task, to tell why
         return taskRepository
             .findById(task.getId())
-            .map(existingTask -> {
-                if (task.getTitle() != null) {
-                    existingTask.setTitle(task.getTitle());
-                }
-                if (task.getDescription() != null) {
-                    existingTask.setDescription(task.getDescription());
-                }
-                if (task.getExecutionTime() != null) {
-                    existingTask.setExecutionTime(task.getExecutionTime());
-                }
-                if (task.getDurationMin() != null) {
-                    existingTask.setDurationMin(task.getDurationMin());
-                }
-                if (task.getClosed() != null) {
-                    existingTask.setClosed(task.getClosed());
-                }
-
-                return existingTask;
-            })
-            .map(taskRepository::save);
+            .filter(existingTask -> ownerLogin == null || isOwnedBy(existingTask, ownerLogin))
+            .map(existingTask -> PartialUpdateResult.VERSION_MISMATCH)
+            .orElse(PartialUpdateResult.NOT_FOUND);
     }
 
     @Override
@@ -87,17 +163,44 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAllWithEagerRelationships(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAllProjected(TaskProjection projection, TaskCondition condition, Pageable pageable) {
+        log.debug("Request to get the fields {} of Tasks", projection.getFields());
+        Page<Map<String, Object>> hot = taskRepository.findAllProjected(projection, condition, pageable);
+        if (condition.archivedFrom() == null || !taskArchiveService.mayBeArchived(condition.archivedFrom())) {
+            return hot;
+        }
+        return taskArchiveService.appendArchived(
+            hot,
+            pageable,
+            page -> taskRepository.findAllArchivedProjected(projection, condition, page),
+            rows -> rows
+        );
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Task> findOne(Long id) {
         log.debug("Request to get Task : {}", id);
-        return taskRepository.findOneWithEagerRelationships(id);
+        Optional<Task> task = taskRepository.findOneWithEagerRelationships(id);
+        // the detail view is the one showing the lazy description
+        task.ifPresent(Task::getDescription);
+        return task.isPresent() ? task : taskArchiveService.findOne(id);
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Task : {}", id);
+        // the entities are loaded by the deletes anyway
+        taskRepository.findById(id).map(TaskServiceImpl::userId).ifPresent(dataVersionService::changed);
+        taskArchiveRepository
+            .findById(id)
+            .map(archive -> archive.getUser() == null ? null : archive.getUser().getId())
+            .ifPresent(dataVersionService::changed);
         taskRepository.deleteById(id);
+        taskArchiveRepository.deleteById(id);
+        taskTagIndexService.taskDeleted(id);
     }
 
     @Override
@@ -112,6 +215,17 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAllByUserId(userId, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @ConnectionPool(Workload.REPORTING)
+    public Page<Task> findAllByUserIdIncludingArchived(Long userId, Pageable pageable, boolean eagerload) {
+        log.debug("Request to get all Tasks by userId, including the archived ones");
+        Page<Task> hot = eagerload
+            ? taskRepository.findAllByUserIdWithEagerRelationships(userId, pageable)
+            : taskRepository.findAllByUserId(userId, pageable);
+        return taskArchiveService.appendArchived(hot, pageable, page -> taskArchiveRepository.findAllByUserId(userId, page), eagerload);
+    }
+
     @Override
     public Page<Task> findAllByUserIdAndTitle(Long userId, String title, Pageable pageable) {
         log.debug("Request to get all Tasks by title");
@@ -127,19 +241,46 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Page<Task> findAllByUserIdAndExecutionTime(Long userId, int year, int month, int day, Pageable pageable) {
         log.debug("Request to get all Tasks by day");
-        return taskRepository.findAllByUserIdAndExecutionTime(userId, year, month, day, pageable);
+        Page<Task> hot = taskRepository.findAllByUserIdAndExecutionTime(userId, year, month, day, pageable);
+        if (!taskArchiveService.mayBeArchived(LocalDate.of(year, month, day))) {
+            return hot;
+        }
+        return taskArchiveService.appendArchived(
+            hot,
+            pageable,
+            page -> taskArchiveRepository.findAllByUserIdAndExecutionTime(userId, year, month, day, page),
+            false
+        );
     }
 
     @Override
     public Page<Task> findAllByUserIdAndExecutionTimeWithEagerRelationships(Long userId, int year, int month, int day, Pageable pageable) {
         log.debug("Request to get all Tasks by day");
-        return taskRepository.findAllByUserIdAndExecutionTimeWithEagerRelationships(userId, year, month, day, pageable);
+        Page<Task> hot = taskRepository.findAllByUserIdAndExecutionTimeWithEagerRelationships(userId, year, month, day, pageable);
+        if (!taskArchiveService.mayBeArchived(LocalDate.of(year, month, day))) {
+            return hot;
+        }
+        return taskArchiveService.appendArchived(
+            hot,
+            pageable,
+            page -> taskArchiveRepository.findAllByUserIdAndExecutionTime(userId, year, month, day, page),
+            true
+        );
     }
 
     @Override
     public Page<Task> findAllByUserIdAndExecutionTimeByWeek(Long userId, Instant startDate, Instant endDate, Pageable pageable) {
         log.debug("Request to get all Tasks by week");
-        return taskRepository.findAllByUserIdAndExecutionTimeByWeek(userId, startDate, endDate, pageable);
+        Page<Task> hot = taskRepository.findAllByUserIdAndExecutionTimeByWeek(userId, startDate, endDate, pageable);
+        if (!taskArchiveService.mayBeArchived(startDate)) {
+            return hot;
+        }
+        return taskArchiveService.appendArchived(
+            hot,
+            pageable,
+            page -> taskArchiveRepository.findAllByUserIdAndExecutionTimeByWeek(userId, startDate, endDate, page),
+            false
+        );
     }
 
     @Override
@@ -150,19 +291,46 @@ public class TaskServiceImpl implements TaskService {
         Pageable pageable
     ) {
         log.debug("Request to get all Tasks by week");
-        return taskRepository.findAllByUserIdAndExecutionTimeByWeekWithEagerRelationships(userId, startDate, endDate, pageable);
+        Page<Task> hot = taskRepository.findAllByUserIdAndExecutionTimeByWeekWithEagerRelationships(userId, startDate, endDate, pageable);
+        if (!taskArchiveService.mayBeArchived(startDate)) {
+            return hot;
+        }
+        return taskArchiveService.appendArchived(
+            hot,
+            pageable,
+            page -> taskArchiveRepository.findAllByUserIdAndExecutionTimeByWeek(userId, startDate, endDate, page),
+            true
+        );
     }
 
     @Override
     public Page<Task> findAllByUserIdAndExecutionTimeByMonth(Long userId, int year, int month, Pageable pageable) {
         log.debug("Request to get all Tasks by month");
-        return taskRepository.findAllByUserIdAndExecutionTimeByMonth(userId, year, month, pageable);
+        Page<Task> hot = taskRepository.findAllByUserIdAndExecutionTimeByMonth(userId, year, month, pageable);
+        if (!taskArchiveService.mayBeArchived(LocalDate.of(year, month, 1))) {
+            return hot;
+        }
+        return taskArchiveService.appendArchived(
+            hot,
+            pageable,
+            page -> taskArchiveRepository.findAllByUserIdAndExecutionTimeByMonth(userId, year, month, page),
+            false
+        );
     }
 
     @Override
     public Page<Task> findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(Long userId, int year, int month, Pageable pageable) {
         log.debug("Request to get all Tasks by month");
-        return taskRepository.findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(userId, year, month, pageable);
+        Page<Task> hot = taskRepository.findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(userId, year, month, pageable);
+        if (!taskArchiveService.mayBeArchived(LocalDate.of(year, month, 1))) {
+            return hot;
+        }
+        return taskArchiveService.appendArchived(
+            hot,
+            pageable,
+            page -> taskArchiveRepository.findAllByUserIdAndExecutionTimeByMonth(userId, year, month, page),
+            true
+        );
     }
 
     @Override
@@ -170,49 +338,174 @@ public class TaskServiceImpl implements TaskService {
         log.debug("Request to update Task tags : {}", taskId);
         Task task = taskRepository.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
 
-        Set<Tag> tagsToUpdate = new HashSet<>(tags);
+        // The managed collection is changed in place, so that only the changed links are written
+        Set<Long> tagIds = tags.stream().map(Tag::getId).collect(Collectors.toSet());
+        task.getTags().removeIf(tag -> !tagIds.contains(tag.getId()));
+        Set<Long> kept = task.getTags().stream().map(Tag::getId).collect(Collectors.toCollection(HashSet::new));
+        tags.stream().filter(tag -> kept.add(tag.getId())).forEach(task::addTag);
 
-        // Atualizar as tags da tarefa
-        task.setTags(tagsToUpdate);
+        taskTagIndexService.taskUpdated(taskRepository.save(task));
+        dataVersionService.changed(userId(task));
+    }
 
-        // Salvar a tarefa atualizada no banco de dados
-        taskRepository.save(task);
+    @Override
+    public TagChangeResult changeTags(Long taskId, String ownerLogin, Set<Long> add, Set<Long> remove) {
+        log.debug("Request to change Task tags : {}, add {}, remove {}", taskId, add, remove);
+        Optional<Task> task = taskRepository
+            .findById(taskId)
+            .filter(existingTask -> ownerLogin == null || isOwnedBy(existingTask, ownerLogin));
+        if (task.isEmpty()) {
+            return TagChangeResult.NOT_FOUND;
+        }
+        Long userId = task.get().getUser() == null ? null : task.get().getUser().getId();
+        if (!add.isEmpty() && (userId == null || tagRepository.countByUserIdAndIdIn(userId, add) != add.size())) {
+            return TagChangeResult.TAG_NOT_OWNED;
+        }
+        int removed = remove.isEmpty() ? 0 : taskRepository.deleteTagLinksOfTask(taskId, remove);
+        int added = add.isEmpty() ? 0 : taskRepository.insertTagLinks(taskId, add);
+        if (added + removed > 0) {
+            taskRepository.incrementVersion(taskId);
+            taskTagIndexService.taskTagsChanged(taskId, add, remove);
+            dataVersionService.changed(userId);
+        }
+        return TagChangeResult.UPDATED;
     }
 
     @Override
-    public Object[] getTasksForRel(Long userId) {
-        log.debug("Request to get all Tasks by userId");
+    @Transactional(readOnly = true)
+    public Page<Task> findAllByUserIdAndTags(Long userId, TaskTagFilter filter, Pageable pageable) {
+        log.debug("Request to get all Tasks by userId and tags : {}", filter);
+        TaskTagIndexService.Hits hits = taskTagIndexService.find(userId, filter, pageable);
+        if (hits.taskIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+        Map<Long, Task> tasks = taskRepository
+            .fetchBagRelationships(taskRepository.findAllById(hits.taskIds()))
+            .stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        // The index misses the writes of other nodes until it is rebuilt: stale hits are dropped, and the index reloaded
+        List<Task> content = new ArrayList<>();
+        boolean stale = false;
+        for (Long taskId : hits.taskIds()) {
+            Task task = tasks.get(taskId);
+            if (task != null && task.getUser() != null && userId.equals(task.getUser().getId()) && filter.matches(task)) {
+                content.add(task);
+            } else {
+                stale = true;
+            }
+        }
+        if (stale) {
+            taskTagIndexService.invalidate(userId);
+        }
+        return new PageImpl<>(content, pageable, hits.total());
+    }
 
-        Object[] result = new Object[2];
-        result[0] =
-            new Object() {
-                public String name = "Já realizadas";
-                public Long uv = taskRepository.countPastTasks(userId);
-            };
-        result[1] =
-            new Object() {
-                public String name = "A realizar";
-                public Long uv = taskRepository.countAllTasks(userId);
-            };
+    @Override
+    public Optional<TaskBulkResultDTO> bulkOperation(TaskBulkOperationDTO operation, String ownerLogin) {
+        log.debug("Request to apply a bulk operation : {}", operation);
+        Long userId = operation.getUserId();
+        if (ownerLogin != null && !userRepository.findOneByLogin(ownerLogin).map(User::getId).filter(userId::equals).isPresent()) {
+            return Optional.empty();
+        }
+        boolean byIds = operation.hasIds();
+        Instant from = operation.getFrom();
+        Instant to = operation.getTo();
+        int tagLinks = 0;
+        int tasks;
+        switch (operation.getOperation()) {
+            case DELETE -> {
+                tagLinks =
+                    byIds
+                        ? taskRepository.deleteTagLinks(userId, operation.getIds())
+                        : taskRepository.deleteTagLinksInRange(userId, from, to);
+                tasks =
+                    byIds ? taskRepository.deleteTasks(userId, operation.getIds()) : taskRepository.deleteTasksInRange(userId, from, to);
+            }
+            case CLOSE, REOPEN -> {
+                boolean closed = operation.getOperation() == TaskBulkOperationDTO.Operation.CLOSE;
+                tasks =
+                    byIds
+                        ? taskRepository.updateClosed(userId, operation.getIds(), closed)
+                        : taskRepository.updateClosedInRange(userId, from, to, closed);
+            }
+            case SHIFT -> {
+                long seconds = operation.getOffset().toSeconds();
+                tasks =
+                    byIds
+                        ? taskRepository.shiftExecutionTime(userId, operation.getIds(), seconds)
+                        : taskRepository.shiftExecutionTimeInRange(userId, from, to, seconds);
+            }
+            default -> throw new IllegalArgumentException("Unknown bulk operation: " + operation.getOperation());
+        }
+        if (tasks > 0) {
+            taskTagIndexService.tasksChanged(userId);
+            dataVersionService.changed(userId);
+        }
+        return Optional.of(new TaskBulkResultDTO(operation.getOperation(), tasks, tagLinks));
+    }
 
-        return result;
+    @Override
+    @Transactional(readOnly = true)
+    @ConnectionPool(Workload.REPORTING)
+    public long countPastTasks(Long userId) {
+        log.debug("Request to count the past Tasks of user : {}", userId);
+        return taskRepository.countPastTasks(userId) + taskArchiveRepository.countPastTasks(userId);
     }
 
     @Override
-    public List<Object> countResolvedTasksByTag(Long userId) {
-        List<Object[]> resolvedTasksByTag = taskRepository.countResolvedTasksByTag(userId);
-        List<Object> result = new ArrayList<>();
+    @Transactional(readOnly = true)
+    @ConnectionPool(Workload.REPORTING)
+    public long countUpcomingTasks(Long userId) {
+        log.debug("Request to count the upcoming Tasks of user : {}", userId);
+        return taskRepository.countAllTasks(userId);
+    }
 
-        for (Object[] item : resolvedTasksByTag) {
-            String tagName = (String) item[0];
-            Long count = (Long) item[1];
+    @Override
+    @Transactional(readOnly = true)
+    @ConnectionPool(Workload.REPORTING)
+    public List<TaskCountDTO> getTasksForRel(Long userId) {
+        log.debug("Request to get all Tasks by userId");
+        return TaskCountDTO.pastAndUpcoming(countPastTasks(userId), countUpcomingTasks(userId));
+    }
 
-            Map<String, Object> tagObject = new HashMap<>();
-            tagObject.put("name", tagName);
-            tagObject.put("uv", count);
-            result.add(tagObject);
+    @Override
+    @Transactional(readOnly = true)
+    @ConnectionPool(Workload.REPORTING)
+    public List<TaskCountDTO> countResolvedTasksByTag(Long userId) {
+        Map<String, Long> resolvedTasksByTag = new LinkedHashMap<>();
+        for (Object[] item : taskRepository.countResolvedTasksByTag(userId)) {
+            resolvedTasksByTag.merge((String) item[0], (Long) item[1], Long::sum);
         }
+        for (Object[] item : taskArchiveRepository.countResolvedTasksByTag(userId)) {
+            resolvedTasksByTag.merge((String) item[0], (Long) item[1], Long::sum);
+        }
+        return resolvedTasksByTag.entrySet().stream().map(item -> new TaskCountDTO(item.getKey(), item.getValue())).toList();
+    }
 
-        return result;
+    /**
+     * Deserialized tags each get a new uuid, so the same tag sent twice is twice in the set: keep one per id, as a single
+     * link row is written per tag.
+     */
+    private static void removeDuplicateTags(Task task) {
+        Set<Long> tagIds = new HashSet<>();
+        task.getTags().removeIf(tag -> tag.getId() != null && !tagIds.add(tag.getId()));
+    }
+
+    private static boolean hasChanges(Task task) {
+        return (
+            task.getTitle() != null ||
+            task.getDescription() != null ||
+            task.getExecutionTime() != null ||
+            task.getDurationMin() != null ||
+            task.getClosed() != null
+        );
+    }
+
+    private static boolean isOwnedBy(Task task, String login) {
+        return task.getUser() != null && login.equals(task.getUser().getLogin());
+    }
+
+    private static Long userId(Task task) {
+        return task.getUser() == null ? null : task.getUser().getId();
     }
 }
@@ -0,0 +1,221 @@
+package com.task.manager.web.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Precompiled routing table classifying a request path once per request.
+ * <p>
+ * Paths are stored in a trie of path segments, so that a lookup walks the path once instead of evaluating a list of
+ * patterns in order. The result is cached as a request attribute, and shared by the {@link SpaWebFilter} and the
+ * authorization rules of the security filter chain.
+ */
+public final class RequestRouter {
+
+    public enum Route {
+        /**
+         * Client side route, forwarded to {@code index.html}.
+         */
+        SPA_FORWARD,
+        /**
+         * Static resources of the client application.
+         */
+        STATIC,
+        /**
+         * API endpoints available without authentication.
+         */
+        PUBLIC_API,
+        /**
+         * API endpoints requiring an authenticated user.
+         */
+        API,
+        /**
+         * Administration API and API documentation.
+         */
+        ADMIN,
+        /**
+         * Management endpoints available without authentication.
+         */
+        PUBLIC_MANAGEMENT,
+        /**
+         * Management endpoints restricted to administrators.
+         */
+        MANAGEMENT,
+        /**
+         * Any other path.
+         */
+        UNMAPPED,
+    }
+
+    private static final String ATTRIBUTE = RequestRouter.class.getName() + ".route";
+
+    private static final String[] NON_SPA_PREFIXES = { "/api", "/management", "/v3/api-docs" };
+
+    private final Node root = new Node();
+
+    private final Map<String, Route> topLevelExtensions = new HashMap<>();
+
+    private RequestRouter() {}
+
+    /**
+     * Routes of this application, mirroring the client build output and the REST / management endpoints.
+     */
+    public static RequestRouter defaultRoutes() {
+        RequestRouter router = new RequestRouter();
+        router.exact("/index.html", Route.STATIC);
+        for (String extension : new String[] { "js", "txt", "json", "map", "css", "ico", "png", "svg", "webapp" }) {
+            router.topLevelExtensions.put(extension, Route.STATIC);
+        }
+        router.prefix("/app", Route.STATIC);
+        router.prefix("/i18n", Route.STATIC);
+        router.prefix("/content", Route.STATIC);
+        router.prefix("/swagger-ui", Route.STATIC);
+
+        router.prefix("/api", Route.API);
+        router.exact("/api/register-user-for-tasks", Route.PUBLIC_API);
+        router.exact("/api/authenticate", Route.PUBLIC_API, "GET", "POST");
+        router.exact("/api/register", Route.PUBLIC_API);
+        router.exact("/api/activate", Route.PUBLIC_API);
+        router.exact("/api/account/reset-password/init", Route.PUBLIC_API);
+        router.exact("/api/account/reset-password/finish", Route.PUBLIC_API);
+        router.prefix("/api/admin", Route.ADMIN);
+        router.prefix("/v3/api-docs", Route.ADMIN);
+
+        router.prefix("/management", Route.MANAGEMENT);
+        router.exact("/management/health", Route.PUBLIC_MANAGEMENT);
+        router.prefix("/management/health", Route.PUBLIC_MANAGEMENT);
+        router.exact("/management/info", Route.PUBLIC_MANAGEMENT);
+        router.exact("/management/prometheus", Route.PUBLIC_MANAGEMENT);
+        return router;
+    }
+
+    /**
+     * Returns the route of the request, computing it only once per request URI.
+     * <p>
+     * The path is decoded and normalized the same way Spring MVC does before dispatching, so that for instance
+     * {@code /api/%61dmin/users} is routed as {@code /api/admin/users}.
+     */
+    public Route route(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (request.getAttribute(ATTRIBUTE) instanceof Routed routed && routed.uri().equals(uri)) {
+            return routed.route();
+        }
+        Route route = route(request.getMethod(), UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        request.setAttribute(ATTRIBUTE, new Routed(uri, route));
+        return route;
+    }
+
+    /**
+     * Classifies a path relative to the context path.
+     */
+    public Route route(String method, String path) {
+        if (isSpaPath(path)) {
+            return Route.SPA_FORWARD;
+        }
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return Route.UNMAPPED;
+        }
+        int end = path.indexOf('/', 1);
+        if (end < 0) {
+            Route extensionRoute = topLevelExtensionRoute(path);
+            if (extensionRoute != null) {
+                return extensionRoute;
+            }
+        }
+
+        Node node = root;
+        Route route = null;
+        int start = 1;
+        while (true) {
+            end = path.indexOf('/', start);
+            String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+            node = node.children.get(segment);
+            if (node == null) {
+                break;
+            }
+            if (node.prefix != null) {
+                route = node.prefix;
+            }
+            if (end < 0) {
+                if (node.exact != null && (node.exactMethods == null || node.exactMethods.contains(method))) {
+                    route = node.exact;
+                }
+                break;
+            }
+            start = end + 1;
+        }
+        return route == null ? Route.UNMAPPED : route;
+    }
+
+    /**
+     * Returns a security matcher for the given routes.
+     */
+    public RequestMatcher matcher(Route first, Route... others) {
+        Set<Route> routes = EnumSet.of(first, others);
+        return request -> routes.contains(route(request));
+    }
+
+    /**
+     * Same test as the former {@code path.matches("/(.*)")} rule: any path outside of the API, management and API
+     * documentation, which does not contain a period.
+     */
+    private static boolean isSpaPath(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        for (String prefix : NON_SPA_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return false;
+            }
+        }
+        for (int i = 1; i < path.length(); i++) {
+            char c = path.charAt(i);
+            // '.' and the line terminators not matched by the regex wildcard
+            if (c == '.' || c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Route topLevelExtensionRoute(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? null : topLevelExtensions.get(path.substring(dot + 1));
+    }
+
+    private void exact(String path, Route route, String... methods) {
+        Node node = node(path);
+        node.exact = route;
+        node.exactMethods = methods.length == 0 ? null : Set.of(methods);
+    }
+
+    private void prefix(String path, Route route) {
+        node(path).prefix = route;
+    }
+
+    private Node node(String path) {
+        Node node = root;
+        for (String segment : path.substring(1).split("/")) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        return node;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private Route exact;
+
+        private Set<String> exactMethods;
+
+        private Route prefix;
+    }
+
+    private record Routed(String uri, Route route) {}
+}
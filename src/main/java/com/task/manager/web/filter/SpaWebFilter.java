@@ -9,21 +9,23 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 public class SpaWebFilter extends OncePerRequestFilter {
 
+    private final RequestRouter router;
+
+    public SpaWebFilter() {
+        this(RequestRouter.defaultRoutes());
+    }
+
+    public SpaWebFilter(RequestRouter router) {
+        this.router = router;
+    }
+
     /**
      * Forwards any unmapped paths (except those containing a period) to the client {@code index.html}.
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
         throws ServletException, IOException {
-        // Request URI includes the contextPath if any, removed it.
-        String path = request.getRequestURI().substring(request.getContextPath().length());
-        if (
-            !path.startsWith("/api") &&
-            !path.startsWith("/management") &&
-            !path.startsWith("/v3/api-docs") &&
-            !path.contains(".") &&
-            path.matches("/(.*)")
-        ) {
+        if (router.route(request) == RequestRouter.Route.SPA_FORWARD) {
             request.getRequestDispatcher("/index.html").forward(request, response);
             return;
         }
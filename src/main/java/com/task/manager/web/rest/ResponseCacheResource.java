@@ -0,0 +1,67 @@
+package com.task.manager.web.rest;
+
+import com.task.manager.security.AuthoritiesConstants;
+import com.task.manager.web.rest.cache.SerializedResponseCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller to inspect and flush the {@link SerializedResponseCache} of this node.
+ */
+@RestController
+@RequestMapping("/api/admin/response-cache")
+@PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+public class ResponseCacheResource {
+
+    private final Logger log = LoggerFactory.getLogger(ResponseCacheResource.class);
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    public ResponseCacheResource(SerializedResponseCache serializedResponseCache) {
+        this.serializedResponseCache = serializedResponseCache;
+    }
+
+    /**
+     * {@code GET  /admin/response-cache} : get the statistics and the cached responses.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the cached responses, the least recently used
+     *         first, in body.
+     */
+    @GetMapping("")
+    public ResponseEntity<SerializedResponseCache.Snapshot> getResponseCache() {
+        log.debug("REST request to get the response cache");
+        return ResponseEntity.ok(serializedResponseCache.snapshot());
+    }
+
+    /**
+     * {@code DELETE  /admin/response-cache} : remove every cached response.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics of the emptied cache in body.
+     */
+    @DeleteMapping("")
+    public ResponseEntity<SerializedResponseCache.Statistics> flushResponseCache() {
+        int removed = serializedResponseCache.evictAll();
+        log.info("Flushed {} cached responses", removed);
+        return ResponseEntity.ok(serializedResponseCache.statistics());
+    }
+
+    /**
+     * {@code DELETE  /admin/response-cache/users/:userId} : remove the cached responses of a user.
+     *
+     * @param userId the id of the user.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics of the cache in body.
+     */
+    @DeleteMapping("/users/{userId}")
+    public ResponseEntity<SerializedResponseCache.Statistics> flushResponseCacheOfUser(@PathVariable Long userId) {
+        int removed = serializedResponseCache.evict(userId);
+        log.info("Flushed {} cached responses of user {}", removed, userId);
+        return ResponseEntity.ok(serializedResponseCache.statistics());
+    }
+}
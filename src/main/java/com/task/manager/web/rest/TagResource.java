@@ -4,7 +4,9 @@ import com.task.manager.domain.Tag;
 import com.task.manager.domain.Task;
 import com.task.manager.repository.TagRepository;
 import com.task.manager.service.TagService;
+import com.task.manager.web.rest.cache.SerializedResponseCache;
 import com.task.manager.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -42,9 +44,12 @@ public class TagResource {
 
     private final TagRepository tagRepository;
 
-    public TagResource(TagService tagService, TagRepository tagRepository) {
+    private final SerializedResponseCache serializedResponseCache;
+
+    public TagResource(TagService tagService, TagRepository tagRepository, SerializedResponseCache serializedResponseCache) {
         this.tagService = tagService;
         this.tagRepository = tagRepository;
+        this.serializedResponseCache = serializedResponseCache;
     }
 
     /**
@@ -195,18 +200,21 @@ public class TagResource {
      *         of tasks in body.
      */
     @GetMapping("/user-tags/{userId}")
-    public ResponseEntity<List<Tag>> getAllTasksByUser(
+    public ResponseEntity<?> getAllTasksByUser(
         @PathVariable Long userId,
         @ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        HttpServletRequest request
     ) {
         log.debug("REST request to get a page of Tasks for user with ID: {}", userId);
-        Page<Tag> page;
-
-        page = tagService.findAllByUserId(userId, pageable);
-
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return serializedResponseCache.get(
+            request,
+            userId,
+            () -> {
+                Page<Tag> page = tagService.findAllByUserId(userId, pageable);
+                HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            }
+        );
     }
 }
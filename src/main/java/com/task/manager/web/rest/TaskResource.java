@@ -2,23 +2,44 @@ package com.task.manager.web.rest;
 
 import com.task.manager.domain.Tag;
 import com.task.manager.domain.Task;
+import com.task.manager.repository.TaskCondition;
+import com.task.manager.repository.TaskProjection;
 import com.task.manager.repository.TaskRepository;
+import com.task.manager.security.AuthoritiesConstants;
+import com.task.manager.security.SecurityUtils;
+import com.task.manager.service.TaskDashboardService;
+import com.task.manager.service.TaskGroupCommitService;
 import com.task.manager.service.TaskService;
+import com.task.manager.service.dto.TaskBulkOperationDTO;
+import com.task.manager.service.dto.TaskBulkResultDTO;
+import com.task.manager.service.dto.TaskCountDTO;
+import com.task.manager.service.dto.TaskTagChangeDTO;
+import com.task.manager.service.dto.TaskTagFilter;
+import com.task.manager.web.rest.budget.LatencyBudget;
+import com.task.manager.web.rest.budget.LatencyBudget.EndpointClass;
+import com.task.manager.web.rest.cache.SerializedResponseCache;
 import com.task.manager.web.rest.errors.BadRequestAlertException;
+import com.task.manager.web.rest.report.AsyncReportRunner;
+import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.IsoFields;
 import java.time.temporal.WeekFields;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
@@ -26,9 +47,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -44,16 +68,46 @@ public class TaskResource {
 
     private static final String ENTITY_NAME = "task";
 
+    private static final int MAX_BULK_IDS = 1000;
+
+    private static final String PREFER = "Prefer";
+
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
+    private static final String RETURN_MINIMAL = "return=minimal";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}")
+    private String databaseTimeZone;
+
     private final TaskService taskService;
 
     private final TaskRepository taskRepository;
 
-    public TaskResource(TaskService taskService, TaskRepository taskRepository) {
+    private final TaskGroupCommitService taskGroupCommitService;
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    private final AsyncReportRunner asyncReportRunner;
+
+    private final TaskDashboardService taskDashboardService;
+
+    public TaskResource(
+        TaskService taskService,
+        TaskRepository taskRepository,
+        TaskGroupCommitService taskGroupCommitService,
+        SerializedResponseCache serializedResponseCache,
+        AsyncReportRunner asyncReportRunner,
+        TaskDashboardService taskDashboardService
+    ) {
         this.taskService = taskService;
         this.taskRepository = taskRepository;
+        this.taskGroupCommitService = taskGroupCommitService;
+        this.serializedResponseCache = serializedResponseCache;
+        this.asyncReportRunner = asyncReportRunner;
+        this.taskDashboardService = taskDashboardService;
     }
 
     /**
@@ -73,7 +127,7 @@ public class TaskResource {
         }
         System.out.println("Task: " + task.getTags());
 
-        Task result = taskService.save(task);
+        Task result = taskGroupCommitService.save(task);
         return ResponseEntity
             .created(new URI("/api/tasks/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -116,21 +170,29 @@ public class TaskResource {
 
     /**
      * {@code PATCH  /tasks/:id} : Partial updates given fields of an existing task,
-     * field will ignore if it is null
+     * field will ignore if it is null. The update is a single statement, limited
+     * to the tasks of the current user unless an admin.
      *
-     * @param id   the id of the task to save.
-     * @param task the task to update.
+     * @param id      the id of the task to save.
+     * @param task    the task to update.
+     * @param ifMatch the optional ETag of the version the task must have.
+     * @param prefer  {@code return=minimal} to get no body back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
-     *         the updated task,
-     *         or with status {@code 400 (Bad Request)} if the task is not valid,
-     *         or with status {@code 404 (Not Found)} if the task is not found,
-     *         or with status {@code 500 (Internal Server Error)} if the task
-     *         couldn't be updated.
+     *         the updated task, or with status {@code 204 (No Content)} if
+     *         {@code return=minimal} was preferred,
+     *         or with status {@code 400 (Bad Request)} if the task is not valid
+     *         or not found,
+     *         or with status {@code 412 (Precondition Failed)} if the task does
+     *         not have the version of {@code If-Match}.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Task> partialUpdateTask(@PathVariable(value = "id", required = false) final Long id, @RequestBody Task task)
-        throws URISyntaxException {
+    public ResponseEntity<Task> partialUpdateTask(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestBody Task task,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestHeader(name = PREFER, required = false) String prefer
+    ) throws URISyntaxException {
         log.debug("REST request to partial update Task partially : {}, {}", id, task);
         if (task.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -138,17 +200,27 @@ public class TaskResource {
         if (!Objects.equals(id, task.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        Long expectedVersion = parseVersion(ifMatch);
 
-        if (!taskRepository.existsById(id)) {
+        TaskService.PartialUpdateResult outcome = taskService.partialUpdate(task, ownerLogin(), expectedVersion);
+        if (outcome == TaskService.PartialUpdateResult.NOT_FOUND) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        if (outcome == TaskService.PartialUpdateResult.VERSION_MISMATCH) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
 
-        Optional<Task> result = taskService.partialUpdate(task);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, task.getId().toString())
-        );
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, task.getId().toString());
+        if (prefer != null && prefer.contains(RETURN_MINIMAL)) {
+            headers.add(PREFERENCE_APPLIED, RETURN_MINIMAL);
+            if (expectedVersion != null) {
+                headers.setETag(eTag(outcome == TaskService.PartialUpdateResult.UNCHANGED ? expectedVersion : expectedVersion + 1));
+            }
+            return ResponseEntity.noContent().headers(headers).build();
+        }
+        Optional<Task> result = taskService.findOne(id);
+        result.map(Task::getVersion).ifPresent(version -> headers.setETag(eTag(version)));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
@@ -157,15 +229,22 @@ public class TaskResource {
      * @param pageable  the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is
      *                  applicable for many-to-many).
+     * @param fields    the comma separated fields to return, all of them when
+     *                  absent.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
      *         of tasks in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<Task>> getAllTasks(
+    public ResponseEntity<List<?>> getAllTasks(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "fields", required = false) String fields
     ) {
         log.debug("REST request to get a page of Tasks");
+        TaskProjection projection = projection(fields, pageable);
+        if (projection != null) {
+            return findProjected(projection, TaskCondition.all(), pageable);
+        }
         Page<Task> page;
         if (eagerload) {
             page = taskService.findAllWithEagerRelationships(pageable);
@@ -187,7 +266,9 @@ public class TaskResource {
     public ResponseEntity<Task> getTask(@PathVariable("id") Long id) {
         log.debug("REST request to get Task : {}", id);
         Optional<Task> task = taskService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(task);
+        HttpHeaders headers = new HttpHeaders();
+        task.map(Task::getVersion).ifPresent(version -> headers.setETag(eTag(version)));
+        return ResponseUtil.wrapOrNotFound(task, headers);
     }
 
     /**
@@ -206,22 +287,102 @@ public class TaskResource {
             .build();
     }
 
+    /**
+     * {@code POST  /tasks/bulk-ops} : Delete, close, reopen or reschedule many
+     * tasks of a user at once, selected either by id or by execution time range.
+     * Only admins can apply an operation to the tasks of another user.
+     *
+     * @param operation the operation to apply.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
+     *         the number of affected tasks, or with status
+     *         {@code 400 (Bad Request)} if the operation is not valid or the
+     *         user is not the current user.
+     */
+    @PostMapping("/bulk-ops")
+    public ResponseEntity<TaskBulkResultDTO> bulkOperation(@RequestBody TaskBulkOperationDTO operation) {
+        log.debug("REST request to apply a bulk operation to Tasks : {}", operation);
+        if (operation.getOperation() == null || operation.getUserId() == null) {
+            throw new BadRequestAlertException("A bulk operation needs an operation and a user", ENTITY_NAME, "bulkinvalid");
+        }
+        if (operation.hasIds() == operation.hasRange()) {
+            throw new BadRequestAlertException("A bulk operation applies to either ids or a from/to range", ENTITY_NAME, "bulkscope");
+        }
+        if (operation.hasIds() && operation.getIds().size() > MAX_BULK_IDS) {
+            throw new BadRequestAlertException("Too many ids for a bulk operation", ENTITY_NAME, "bulktoomanyids");
+        }
+        if (
+            operation.getOperation() == TaskBulkOperationDTO.Operation.SHIFT &&
+            (operation.getOffset() == null || operation.getOffset().toSeconds() == 0)
+        ) {
+            throw new BadRequestAlertException("A shift needs an offset of at least one second", ENTITY_NAME, "bulkoffset");
+        }
+
+        Optional<TaskBulkResultDTO> result = taskService.bulkOperation(operation, ownerLogin());
+        if (result.isEmpty()) {
+            throw new BadRequestAlertException("A bulk operation applies to the tasks of the current user", ENTITY_NAME, "bulknotowned");
+        }
+        return ResponseEntity.ok().body(result.get());
+    }
+
+    /**
+     * {@code PATCH  /tasks/:id/tags} : Add tags to and remove tags from the
+     * "id" task, writing only the links which change.
+     *
+     * @param id      the id of the task.
+     * @param changes the ids of the tags to add and to remove.
+     * @return the {@link ResponseEntity} with status {@code 204 (No Content)},
+     *         or with status {@code 400 (Bad Request)} if the changes are not
+     *         valid, the task is not found or a tag to add does not belong to
+     *         the owner of the task.
+     */
+    @PatchMapping("/{id}/tags")
+    public ResponseEntity<Void> changeTags(@PathVariable("id") Long id, @RequestBody TaskTagChangeDTO changes) {
+        log.debug("REST request to change the tags of Task : {}, {}", id, changes);
+        if (changes.size() > MAX_BULK_IDS) {
+            throw new BadRequestAlertException("Too many tags to change", ENTITY_NAME, "tagstoomany");
+        }
+        if (changes.overlaps()) {
+            throw new BadRequestAlertException("A tag cannot be both added and removed", ENTITY_NAME, "tagsoverlap");
+        }
+
+        TaskService.TagChangeResult outcome = changes.isEmpty()
+            ? TaskService.TagChangeResult.UPDATED
+            : taskService.changeTags(id, ownerLogin(), changes.getAdd(), changes.getRemove());
+        if (outcome == TaskService.TagChangeResult.NOT_FOUND) {
+            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        }
+        if (outcome == TaskService.TagChangeResult.TAG_NOT_OWNED) {
+            throw new BadRequestAlertException("A tag does not belong to the owner of the task", ENTITY_NAME, "tagnotowned");
+        }
+        return ResponseEntity
+            .noContent()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .build();
+    }
+
     /**
      * {@code GET  /tasks} : get all the tasks by the user.
      *
      * @param pageable  the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is
      *                  applicable for many-to-many).
+     * @param fields    the comma separated fields to return, all of them when
+     *                  absent.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
      *         of tasks in body.
      */
     @GetMapping("/user-tasks/{userId}")
-    public ResponseEntity<List<Task>> getAllTasksByUser(
+    public ResponseEntity<List<?>> getAllTasksByUser(
         @PathVariable Long userId,
         @ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "fields", required = false) String fields
     ) {
         log.debug("REST request to get a page of Tasks for user with ID: {}", userId);
+        TaskProjection projection = projection(fields, pageable);
+        if (projection != null) {
+            return findProjected(projection, TaskCondition.ofUser(userId, false), pageable);
+        }
         Page<Task> page;
         if (eagerload) {
             page = taskService.findAllByUserIdWithEagerRelationships(userId, pageable);
@@ -234,23 +395,65 @@ public class TaskResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /tasks?includeArchived=true} : export all the tasks by the user,
+     * the archived ones after the others, as a report.
+     *
+     * @param pageable  the pagination information.
+     * @param eagerload flag to eager load entities from relationships (This is
+     *                  applicable for many-to-many).
+     * @param fields    the comma separated fields to return, all of them when
+     *                  absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of tasks in body, or with status {@code 503 (Service Unavailable)}
+     *         if the reports are overloaded.
+     */
+    @GetMapping(value = "/user-tasks/{userId}", params = "includeArchived=true")
+    @LatencyBudget(EndpointClass.REPORT)
+    public DeferredResult<ResponseEntity<List<?>>> exportAllTasksByUser(
+        @PathVariable Long userId,
+        @ParameterObject Pageable pageable,
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "fields", required = false) String fields
+    ) {
+        log.debug("REST request to export a page of Tasks for user with ID: {}", userId);
+        TaskProjection projection = projection(fields, pageable);
+        // built here, as the current request is not bound to the reporting threads
+        UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest();
+        return asyncReportRunner.run(() -> {
+            if (projection != null) {
+                return findProjected(projection, TaskCondition.ofUser(userId, true), pageable, uriBuilder);
+            }
+            Page<Task> page = taskService.findAllByUserIdIncludingArchived(userId, pageable, eagerload);
+            return ResponseEntity.ok().headers(PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page)).body(page.getContent());
+        });
+    }
+
     /**
      * {@code GET  /tasks} : get all the tasks by title.
      *
      * @param pageable  the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is
      *                  applicable for many-to-many).
+     * @param fields    the comma separated fields to return, all of them when
+     *                  absent.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
      *         of tasks in body.
      */
     @GetMapping("/tasks-by-title/{title}/{userId}")
-    public ResponseEntity<List<Task>> getAllTasksByTitle(
+    @LatencyBudget(EndpointClass.SEARCH)
+    public ResponseEntity<List<?>> getAllTasksByTitle(
         @PathVariable String title,
         @PathVariable Long userId,
         @ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "fields", required = false) String fields
     ) {
         log.debug("REST request to get a page of Tasks with title: {}", title);
+        TaskProjection projection = projection(fields, pageable);
+        if (projection != null) {
+            return findProjected(projection, TaskCondition.ofUserAndTitle(userId, title), pageable);
+        }
         Page<Task> page;
         if (eagerload) {
             page = taskService.findAllByUserIdAndTitleWithEagerRelationships(userId, title, pageable);
@@ -269,18 +472,23 @@ public class TaskResource {
      * @param pageable  the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is
      *                  applicable for many-to-many).
+     * @param fields    the comma separated fields to return, all of them when
+     *                  absent.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
      *         of tasks in body.
      */
 
     @GetMapping("/tasks-by-day/{day}/{userId}")
-    public ResponseEntity<List<Task>> getAllTasksByDay(
+    @LatencyBudget(EndpointClass.CALENDAR)
+    public ResponseEntity<List<?>> getAllTasksByDay(
         @PathVariable String day,
         @PathVariable Long userId,
         @ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "fields", required = false) String fields
     ) {
         log.debug("REST request to get a page of Tasks with day: {}", day);
+        TaskProjection projection = projection(fields, pageable);
 
         LocalDateTime localDateTime;
         try {
@@ -299,6 +507,10 @@ public class TaskResource {
 
         System.out.println("year: " + year + " month: " + month + " dayOaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaafMonth: " + dayOfMonth);
 
+        if (projection != null) {
+            return findProjected(projection, TaskCondition.ofUserAndDay(userId, year, month, dayOfMonth), pageable);
+        }
+
         Page<Task> page;
         if (eagerload) {
             page = taskService.findAllByUserIdAndExecutionTimeWithEagerRelationships(userId, year, month, dayOfMonth, pageable);
@@ -317,17 +529,31 @@ public class TaskResource {
      * @param pageable  the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is
      *                  applicable for many-to-many).
+     * @param fields    the comma separated fields to return, all of them when
+     *                  absent.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
      *         of tasks in body.
      */
     @GetMapping("/tasks-by-week/{week}/{userId}")
-    public ResponseEntity<List<Task>> getAllTasksByWeek(
+    @LatencyBudget(EndpointClass.CALENDAR)
+    public ResponseEntity<?> getAllTasksByWeek(
         @PathVariable String week,
         @PathVariable Long userId,
         @ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "fields", required = false) String fields,
+        HttpServletRequest request
     ) {
         log.debug("REST request to get a page of Tasks with week: {}", week);
+        if (isCurrentWeek(week)) {
+            // the current week is the one polled by the calendar
+            return serializedResponseCache.get(request, userId, () -> findAllByWeek(week, userId, pageable, eagerload, fields));
+        }
+        return findAllByWeek(week, userId, pageable, eagerload, fields);
+    }
+
+    private ResponseEntity<List<?>> findAllByWeek(String week, Long userId, Pageable pageable, boolean eagerload, String fields) {
+        TaskProjection projection = projection(fields, pageable);
 
         try {
             String weekString = week; // Formato: "2021-W01"
@@ -354,6 +580,9 @@ public class TaskResource {
 
             System.out.println("Data de início da semana: " + startDateInstant);
             System.out.println("Data de término da semana: " + endDateInstant);
+            if (projection != null) {
+                return findProjected(projection, TaskCondition.ofUserAndWeek(userId, startDateInstant, endDateInstant), pageable);
+            }
             Page<Task> page;
             if (eagerload) {
                 page =
@@ -369,7 +598,8 @@ public class TaskResource {
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
 
             return ResponseEntity.ok().headers(headers).body(page.getContent());
-        } catch (Exception e) {
+        } catch (NumberFormatException | IndexOutOfBoundsException | DateTimeException e) {
+            // invalid week or month only: timeouts of the latency budget are answered by the ExceptionTranslator
             return ResponseEntity.badRequest().build();
         }
     }
@@ -380,17 +610,22 @@ public class TaskResource {
      * @param pageable  the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is
      *                  applicable for many-to-many).
+     * @param fields    the comma separated fields to return, all of them when
+     *                  absent.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
      *         of tasks in body.
      */
     @GetMapping("/tasks-by-month/{month}/{userId}")
-    public ResponseEntity<List<Task>> getAllTasksByMonth(
+    @LatencyBudget(EndpointClass.CALENDAR)
+    public ResponseEntity<List<?>> getAllTasksByMonth(
         @PathVariable String month,
         @PathVariable Long userId,
         @ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "fields", required = false) String fields
     ) {
         log.debug("REST request to get a page of Tasks with month: {}", month);
+        TaskProjection projection = projection(fields, pageable);
 
         try {
             String monthString = month; // Formato: "2021-01"
@@ -398,6 +633,10 @@ public class TaskResource {
             int year = Integer.parseInt(monthString.substring(0, 4));
             int monthNumber = Integer.parseInt(monthString.substring(5));
 
+            if (projection != null) {
+                return findProjected(projection, TaskCondition.ofUserAndMonth(userId, year, monthNumber), pageable);
+            }
+
             Page<Task> page;
             if (eagerload) {
                 page = taskService.findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(userId, year, monthNumber, pageable);
@@ -408,11 +647,130 @@ public class TaskResource {
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
 
             return ResponseEntity.ok().headers(headers).body(page.getContent());
-        } catch (Exception e) {
+        } catch (NumberFormatException | IndexOutOfBoundsException | DateTimeException e) {
+            // invalid week or month only: timeouts of the latency budget are answered by the ExceptionTranslator
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * {@code GET  /tasks/filter/:userId} : get the tasks of the user matching tag
+     * predicates, evaluated on the in-memory tag index.
+     *
+     * @param userId   the id of the user.
+     * @param allTags  the ids of the tags a task must all have.
+     * @param anyTags  the ids of the tags a task must have at least one of.
+     * @param noneTags the ids of the tags a task must not have.
+     * @param month    the month of execution ("2021-01"), in the time zone of
+     *                 the database, exclusive with {@code from} and {@code to}.
+     * @param from     the first execution time, inclusive.
+     * @param to       the last execution time, exclusive.
+     * @param pageable the pagination information, sorted by execution time.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of tasks in body, or with status {@code 400 (Bad Request)} if the
+     *         time range is not valid.
+     */
+    @GetMapping("/filter/{userId}")
+    @LatencyBudget(EndpointClass.SEARCH)
+    public ResponseEntity<List<Task>> getAllTasksByTags(
+        @PathVariable Long userId,
+        @RequestParam(name = "allTags", required = false) Set<Long> allTags,
+        @RequestParam(name = "anyTags", required = false) Set<Long> anyTags,
+        @RequestParam(name = "noneTags", required = false) Set<Long> noneTags,
+        @RequestParam(name = "month", required = false) String month,
+        @RequestParam(name = "from", required = false) Instant from,
+        @RequestParam(name = "to", required = false) Instant to,
+        @ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get a page of Tasks for user {} with tags: {}, {}, {}", userId, allTags, anyTags, noneTags);
+        if (month != null) {
+            if (from != null || to != null) {
+                return ResponseEntity.badRequest().build();
+            }
+            try {
+                YearMonth yearMonth = YearMonth.parse(month);
+                from = yearMonth.atDay(1).atStartOfDay(databaseZone()).toInstant();
+                to = yearMonth.plusMonths(1).atDay(1).atStartOfDay(databaseZone()).toInstant();
+            } catch (DateTimeParseException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        Page<Task> page = taskService.findAllByUserIdAndTags(userId, new TaskTagFilter(allTags, anyTags, noneTags, from, to), pageable);
+
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    private ResponseEntity<List<?>> findProjected(TaskProjection projection, TaskCondition condition, Pageable pageable) {
+        return findProjected(projection, condition, pageable, ServletUriComponentsBuilder.fromCurrentRequest());
+    }
+
+    private ResponseEntity<List<?>> findProjected(
+        TaskProjection projection,
+        TaskCondition condition,
+        Pageable pageable,
+        UriComponentsBuilder uriBuilder
+    ) {
+        Page<Map<String, Object>> page = taskService.findAllProjected(projection, condition, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * @return the plan of the fields of a {@code fields} parameter, or {@code null} for whole tasks.
+     */
+    private static TaskProjection projection(String fields, Pageable pageable) {
+        if (fields == null) {
+            return null;
+        }
+        if (!TaskProjection.isSortable(pageable.getSort())) {
+            throw new BadRequestAlertException("Tasks can only be sorted by their fields", ENTITY_NAME, "sortinvalid");
+        }
+        try {
+            return TaskProjection.of(fields);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fieldsinvalid");
+        }
+    }
+
+    /**
+     * @return the version of an {@code If-Match} ETag, or {@code null} for none or any.
+     */
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestAlertException("Invalid If-Match header", ENTITY_NAME, "ifmatchinvalid");
+        }
+    }
+
+    /**
+     * @return the login of the current user, whose tasks only can be changed, or {@code null} for an admin.
+     */
+    private static String ownerLogin() {
+        if (SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN)) {
+            return null;
+        }
+        return SecurityUtils.getCurrentUserLogin().orElse("");
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private ZoneId databaseZone() {
+        return ZoneId.of(databaseTimeZone);
+    }
+
     @PostMapping("/{taskId}/update-tags")
     public ResponseEntity<Optional<Task>> updateTags(@PathVariable Long taskId, @RequestBody List<Tag> tags) {
         log.debug("REST request to update tags of Task : {}", taskId);
@@ -422,16 +780,57 @@ public class TaskResource {
     }
 
     @GetMapping("/rel/{userId}")
-    public ResponseEntity<Object> getTasksForRel(@PathVariable Long userId) {
+    @LatencyBudget(EndpointClass.REPORT)
+    public DeferredResult<ResponseEntity<?>> getTasksForRel(@PathVariable Long userId, HttpServletRequest request) {
         log.debug("REST request to get a page of Tasks for user with ID: {}", userId);
-        Object tasks = taskService.getTasksForRel(userId);
-        return ResponseEntity.ok().body(tasks);
+        return asyncReportRunner.defer(
+            serializedResponseCache.getAsync(
+                request,
+                userId,
+                () -> asyncReportRunner.supply(() -> ResponseEntity.ok().body(taskService.getTasksForRel(userId)))
+            )
+        );
     }
 
     @GetMapping("/rel/{userId}/solved")
-    public ResponseEntity<Object> countResolvedTasksByTag(@PathVariable Long userId) {
+    @LatencyBudget(EndpointClass.REPORT)
+    public DeferredResult<ResponseEntity<List<TaskCountDTO>>> countResolvedTasksByTag(@PathVariable Long userId) {
         log.debug("REST request to get a page of Tasks for user with ID: {}", userId);
-        Object tasks = taskService.countResolvedTasksByTag(userId);
-        return ResponseEntity.ok().body(tasks);
+        return asyncReportRunner.run(() -> ResponseEntity.ok().body(taskService.countResolvedTasksByTag(userId)));
+    }
+
+    /**
+     * {@code GET  /tasks/dashboard/:userId} : get the dashboard of a user, the
+     * content of {@code /rel/:userId} and {@code /rel/:userId/solved} at once.
+     *
+     * @param userId the id of the user.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         dashboard in body, or with status {@code 503 (Service Unavailable)}
+     *         if the reports are overloaded.
+     */
+    @GetMapping("/dashboard/{userId}")
+    @LatencyBudget(EndpointClass.REPORT)
+    public DeferredResult<ResponseEntity<?>> getDashboard(@PathVariable Long userId, HttpServletRequest request) {
+        log.debug("REST request to get the dashboard of user with ID: {}", userId);
+        return asyncReportRunner.defer(
+            serializedResponseCache.getAsync(
+                request,
+                userId,
+                () -> taskDashboardService.getDashboard(userId).thenApply(dashboard -> ResponseEntity.ok().body(dashboard))
+            )
+        );
+    }
+
+    /**
+     * @param week the week of the request, as {@code 2021-W01}.
+     * @return whether it is the current week, leaving the validation of the week to the request.
+     */
+    private static boolean isCurrentWeek(String week) {
+        LocalDate today = LocalDate.now();
+        return (
+            week.length() > 6 &&
+            week.startsWith(Integer.toString(today.get(IsoFields.WEEK_BASED_YEAR))) &&
+            week.substring(6).equals(String.format("%02d", today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)))
+        );
     }
 }
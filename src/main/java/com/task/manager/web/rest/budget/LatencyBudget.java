@@ -0,0 +1,38 @@
+package com.task.manager.web.rest.budget;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Class of the annotated endpoint, or of the endpoints of the annotated controller, whose budget, configured under
+ * {@code application.latency-budgets}, bounds the database work of its requests. Endpoints not annotated are
+ * {@link EndpointClass#CRUD}.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LatencyBudget {
+    EndpointClass value();
+
+    enum EndpointClass {
+        /**
+         * Reads and writes of single entities and pages.
+         */
+        CRUD,
+        /**
+         * Searches by text.
+         */
+        SEARCH,
+        /**
+         * Tasks of a day, a week or a month.
+         */
+        CALENDAR,
+        /**
+         * Aggregates and exports, answered asynchronously.
+         */
+        REPORT,
+    }
+}
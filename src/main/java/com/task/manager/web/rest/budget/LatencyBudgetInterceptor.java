@@ -0,0 +1,61 @@
+package com.task.manager.web.rest.budget;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.repository.QueryBudget;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Locale;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Starts the {@link QueryBudget} of each request handled by a controller, according to the {@link LatencyBudget} of its
+ * endpoint, and clears it once the request is handled or handed over to another thread.
+ */
+public class LatencyBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final ApplicationProperties.LatencyBudgets latencyBudgets;
+
+    public LatencyBudgetInterceptor(ApplicationProperties applicationProperties) {
+        this.latencyBudgets = applicationProperties.getLatencyBudgets();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            LatencyBudget.EndpointClass endpointClass = endpointClass(handlerMethod);
+            QueryBudget.use(new QueryBudget(endpointClass.name().toLowerCase(Locale.ROOT), budget(endpointClass)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the budget is carried by the asynchronous work, see AsyncConfiguration
+        QueryBudget.restore(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryBudget.restore(null);
+    }
+
+    private static LatencyBudget.EndpointClass endpointClass(HandlerMethod handlerMethod) {
+        LatencyBudget latencyBudget = handlerMethod.getMethodAnnotation(LatencyBudget.class);
+        if (latencyBudget == null) {
+            latencyBudget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), LatencyBudget.class);
+        }
+        return latencyBudget == null ? LatencyBudget.EndpointClass.CRUD : latencyBudget.value();
+    }
+
+    private Duration budget(LatencyBudget.EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case CRUD -> latencyBudgets.getCrud();
+            case SEARCH -> latencyBudgets.getSearch();
+            case CALENDAR -> latencyBudgets.getCalendar();
+            case REPORT -> latencyBudgets.getReport();
+        };
+    }
+}
@@ -0,0 +1,411 @@
+package com.task.manager.web.rest.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.service.DataVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gzip-compressed JSON of the most polled responses, per user and request, so that a hit neither queries the database
+ * nor serializes anything.
+ * <p>
+ * A response is served as long as the {@link DataVersionService version} of the tasks and tags of its user is the one
+ * read before computing it, and at most for {@code application.response-cache.time-to-live}, since the writes of other
+ * nodes are not seen and some responses depend on the current time. Responses are compressed once, written as they are
+ * to clients accepting gzip and decompressed for the others. The least recently used responses are evicted once the
+ * cache holds more than {@code application.response-cache.max-size} compressed bytes.
+ * <p>
+ * Only JSON responses are cached: requests accepting other formats only are answered by the given supplier.
+ */
+@Component
+public class SerializedResponseCache {
+
+    public static final String REQUESTS_METER_NAME = "response.cache.requests";
+    public static final String REQUESTS_METER_DESCRIPTION = "Number of requests answered from or stored in the response cache.";
+    public static final String REQUESTS_METER_RESULT_DIMENSION = "result";
+    public static final String SIZE_METER_NAME = "response.cache.size";
+    public static final String SIZE_METER_DESCRIPTION = "Compressed bytes held by the response cache.";
+    public static final String EVICTIONS_METER_NAME = "response.cache.evictions";
+    public static final String EVICTIONS_METER_DESCRIPTION = "Number of responses evicted from the response cache to bound its size.";
+
+    /**
+     * Response header telling whether the response was served from the cache.
+     */
+    public static final String CACHE_HEADER = "X-Response-Cache";
+
+    private final DataVersionService dataVersionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.ResponseCache properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * In access order, the least recently used first. Guarded by {@link #lock}, as is {@link #bytes}.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long bytes;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    public SerializedResponseCache(
+        DataVersionService dataVersionService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.dataVersionService = dataVersionService;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getResponseCache();
+        this.hits = requests(registry, "hit");
+        this.misses = requests(registry, "miss");
+        this.evictions = Counter.builder(EVICTIONS_METER_NAME).description(EVICTIONS_METER_DESCRIPTION).register(registry);
+        Gauge
+            .builder(SIZE_METER_NAME, this, cache -> cache.statistics().bytes())
+            .baseUnit("bytes")
+            .description(SIZE_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter
+            .builder(REQUESTS_METER_NAME)
+            .description(REQUESTS_METER_DESCRIPTION)
+            .tag(REQUESTS_METER_RESULT_DIMENSION, result)
+            .register(registry);
+    }
+
+    /**
+     * Serves a response of a user from the cache, or computes and caches it.
+     *
+     * @param request the request, whose path and parameters identify the response.
+     * @param userId the id of the user whose tasks and tags make the response.
+     * @param response computes the response; only {@code 200 (OK)} responses with a body are cached.
+     * @return the cached response, with its body as JSON bytes, or the computed one when not cacheable.
+     */
+    public ResponseEntity<?> get(HttpServletRequest request, Long userId, Supplier<? extends ResponseEntity<?>> response) {
+        if (!properties.isEnabled() || !acceptsJson(request)) {
+            return response.get();
+        }
+        Key key = key(request, userId);
+        // read before the response is computed, so that a write committed meanwhile makes the stored response stale
+        long version = dataVersionService.version(userId);
+        boolean gzip = acceptsGzip(request);
+        Entry entry = lookup(key, version);
+        if (entry != null) {
+            hits.increment();
+            return toResponse(entry, gzip, "hit");
+        }
+        misses.increment();
+        return cache(key, version, response.get(), gzip);
+    }
+
+    /**
+     * Serves a response of a user from the cache, or computes it asynchronously and caches it.
+     *
+     * @param request the request, whose path and parameters identify the response; only read by the calling thread.
+     * @param userId the id of the user whose tasks and tags make the response.
+     * @param response starts computing the response; only {@code 200 (OK)} responses with a body are cached.
+     * @return the cached response, completed at once, or the future computed one.
+     */
+    public CompletableFuture<ResponseEntity<?>> getAsync(
+        HttpServletRequest request,
+        Long userId,
+        Supplier<? extends CompletableFuture<? extends ResponseEntity<?>>> response
+    ) {
+        if (!properties.isEnabled() || !acceptsJson(request)) {
+            return response.get().thenApply(computed -> computed);
+        }
+        Key key = key(request, userId);
+        long version = dataVersionService.version(userId);
+        boolean gzip = acceptsGzip(request);
+        Entry entry = lookup(key, version);
+        if (entry != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(toResponse(entry, gzip, "hit"));
+        }
+        misses.increment();
+        return response.get().thenApply(computed -> cache(key, version, computed, gzip));
+    }
+
+    private ResponseEntity<?> cache(Key key, long version, ResponseEntity<?> computed, boolean gzip) {
+        if (!computed.getStatusCode().isSameCodeAs(HttpStatus.OK) || computed.getBody() == null) {
+            return computed;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(computed.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        Entry entry = new Entry(version, gzip(serialize(computed.getBody())), headers, System.nanoTime());
+        store(key, entry);
+        return toResponse(entry, gzip, "miss");
+    }
+
+    /**
+     * @return the cached responses, the least recently used first, and the statistics of the cache.
+     */
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            removeExpired();
+            long now = System.nanoTime();
+            List<CachedResponse> responses = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) ->
+                responses.add(
+                    new CachedResponse(
+                        key.userId(),
+                        key.path(),
+                        key.parameters(),
+                        entry.version(),
+                        entry.gzipped().length,
+                        Duration.ofNanos(now - entry.created())
+                    )
+                )
+            );
+            return new Snapshot(statistics(), responses);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Statistics statistics() {
+        lock.lock();
+        try {
+            return new Statistics(
+                entries.size(),
+                bytes,
+                properties.getMaxSize().toBytes(),
+                (long) hits.count(),
+                (long) misses.count(),
+                (long) evictions.count()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every cached response.
+     *
+     * @return the number of removed responses.
+     */
+    public int evictAll() {
+        lock.lock();
+        try {
+            int removed = entries.size();
+            entries.clear();
+            bytes = 0;
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the cached responses of a user.
+     *
+     * @return the number of removed responses.
+     */
+    public int evict(Long userId) {
+        lock.lock();
+        try {
+            int removed = 0;
+            for (Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator(); iterator.hasNext();) {
+                Map.Entry<Key, Entry> cached = iterator.next();
+                if (cached.getKey().userId().equals(userId)) {
+                    bytes -= cached.getValue().gzipped().length;
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry lookup(Key key, long version) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.version() != version || isExpired(entry, System.nanoTime())) {
+                entries.remove(key);
+                bytes -= entry.gzipped().length;
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(Key key, Entry entry) {
+        long maxBytes = properties.getMaxSize().toBytes();
+        if (entry.gzipped().length > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, entry);
+            bytes += entry.gzipped().length - (previous == null ? 0 : previous.gzipped().length);
+            for (Iterator<Entry> eldest = entries.values().iterator(); bytes > maxBytes && eldest.hasNext();) {
+                bytes -= eldest.next().gzipped().length;
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeExpired() {
+        long now = System.nanoTime();
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+            Entry entry = iterator.next();
+            if (isExpired(entry, now)) {
+                bytes -= entry.gzipped().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.created() > properties.getTimeToLive().toNanos();
+    }
+
+    private ResponseEntity<byte[]> toResponse(Entry entry, boolean gzip, String result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity
+            .ok()
+            .headers(entry.headers())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .header(CACHE_HEADER, result);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzipped());
+        }
+        return response.body(gunzip(entry.gzipped()));
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] gzipped) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Key key(HttpServletRequest request, Long userId) {
+        return new Key(userId, request.getRequestURI(), parameters(request));
+    }
+
+    /**
+     * @return the query parameters, sorted by name, so that the same request is one key whatever their order.
+     */
+    private static String parameters(HttpServletRequest request) {
+        StringBuilder parameters = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                parameters.append(parameters.isEmpty() ? "" : "&").append(name).append('=').append(value);
+            }
+        });
+        return parameters.toString();
+    }
+
+    /**
+     * @return whether JSON is the response: JSON accepted explicitly, or any type only.
+     */
+    static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return (
+                mediaTypes.stream().anyMatch(mediaType -> !mediaType.isWildcardType() && mediaType.includes(MediaType.APPLICATION_JSON)) ||
+                mediaTypes.stream().allMatch(MediaType::isWildcardType)
+            );
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private record Key(Long userId, String path, String parameters) {}
+
+    private record Entry(long version, byte[] gzipped, HttpHeaders headers, long created) {}
+
+    /**
+     * A cached response, as shown to administrators.
+     */
+    public record CachedResponse(Long userId, String path, String parameters, long version, int bytes, Duration age) {}
+
+    public record Statistics(int responses, long bytes, long maxBytes, long hits, long misses, long evictions) {}
+
+    public record Snapshot(Statistics statistics, List<CachedResponse> responses) {}
+}
@@ -0,0 +1,49 @@
+package com.task.manager.web.rest.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.UUID;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Mappers of the binary response formats, configured as the JSON one so that they write the same properties.
+ * <p>
+ * Uuids are written as strings, as in JSON, where Jackson would write them as 16 bytes in binary formats: the schema of
+ * a response is then the same in every format, whether the response is made of entities or of sparse fieldsets.
+ */
+public final class BinaryFormats {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private BinaryFormats() {}
+
+    public static ObjectMapper cbor(Jackson2ObjectMapperBuilder builder) {
+        return build(builder, new CBORFactory());
+    }
+
+    public static ObjectMapper smile(Jackson2ObjectMapperBuilder builder) {
+        return build(builder, new SmileFactory());
+    }
+
+    /**
+     * @return the mapper of {@link EntityProtobufHttpMessageConverter}, which writes with the schema of the responses.
+     */
+    public static ObjectMapper protobuf(Jackson2ObjectMapperBuilder builder) {
+        return build(builder, new ProtobufFactory());
+    }
+
+    private static ObjectMapper build(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder
+            .factory(factory)
+            .build()
+            .registerModule(new SimpleModule(BinaryFormats.class.getSimpleName()).addSerializer(UUID.class, ToStringSerializer.instance));
+    }
+}
@@ -0,0 +1,102 @@
+package com.task.manager.web.rest.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.task.manager.domain.User;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+/**
+ * Field writers shared by the entity serializers, null-safe and matching the output of the configured modules.
+ */
+final class EntityJson {
+
+    private EntityJson() {}
+
+    /**
+     * Writes an entity which is not loaded as its id only, as the Hibernate module does with
+     * {@code SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS}.
+     *
+     * @return whether the entity was written, being an uninitialized proxy.
+     */
+    static boolean writeIfUninitialized(Object entity, JsonGenerator gen) throws IOException {
+        if (!(entity instanceof HibernateProxy proxy)) {
+            return false;
+        }
+        LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+        if (!initializer.isUninitialized()) {
+            return false;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName("id");
+        writeNumber(gen, (Long) initializer.getIdentifier());
+        gen.writeEndObject();
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T unproxy(T entity) {
+        return (T) Hibernate.unproxy(entity);
+    }
+
+    /**
+     * @return whether a lazy collection can be written, otherwise written as {@code null}.
+     */
+    static boolean isLoaded(Object collection) {
+        return collection != null && Hibernate.isInitialized(collection);
+    }
+
+    static void writeUser(JsonGenerator gen, SerializerProvider provider, User user) throws IOException {
+        gen.writeFieldName("user");
+        if (user == null) {
+            gen.writeNull();
+        } else if (!writeIfUninitialized(user, gen)) {
+            provider.defaultSerializeValue(unproxy(user), gen);
+        }
+    }
+
+    static void writeNumberField(JsonGenerator gen, String name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        writeNumber(gen, value);
+    }
+
+    static void writeBooleanField(JsonGenerator gen, String name, Boolean value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+
+    static void writeUuidField(JsonGenerator gen, String name, UUID value) throws IOException {
+        gen.writeStringField(name, value == null ? null : value.toString());
+    }
+
+    /**
+     * ISO-8601 as the Java time module, unless dates are written as timestamps.
+     */
+    static void writeInstantField(JsonGenerator gen, SerializerProvider provider, String name, Instant value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.task.manager.web.rest.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+
+/**
+ * Hand-written serializers of tasks and tags, which make the bulk of the list responses.
+ * <p>
+ * They write the same JSON as the reflective serializers with the Hibernate module, field by field, without looking up
+ * a serializer per property nor checking every value for a Hibernate proxy. Users are still written by the reflective
+ * serializer.
+ */
+public class EntityJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public EntityJsonModule() {
+        super(EntityJsonModule.class.getSimpleName());
+        addSerializer(Task.class, new TaskJsonSerializer());
+        addSerializer(Tag.class, new TagJsonSerializer());
+    }
+}
@@ -0,0 +1,122 @@
+package com.task.manager.web.rest.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Writes the task and tag list responses as protocol buffers, with the schema of {@code proto/task.proto}: a list of
+ * tasks, or of their sparse fieldsets, as a {@code TaskList} and a list of tags as a {@code TagList}.
+ * <p>
+ * The entities are written by the same serializers as in JSON, properties that are not in the schema being skipped.
+ * Other responses are not acceptable in this format, and requests are not read from it.
+ */
+public class EntityProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Collection<?>> {
+
+    public static final String SCHEMA = "proto/task.proto";
+
+    private final ObjectWriter taskListWriter;
+
+    private final ObjectWriter tagListWriter;
+
+    public EntityProtobufHttpMessageConverter(ObjectMapper objectMapper) {
+        super(BinaryFormats.APPLICATION_PROTOBUF);
+        Assert.isInstanceOf(ProtobufFactory.class, objectMapper.getFactory(), "ProtobufFactory required");
+        taskListWriter = objectMapper.writer(schema("TaskList")).with(JsonGenerator.Feature.IGNORE_UNKNOWN);
+        tagListWriter = objectMapper.writer(schema("TagList")).with(JsonGenerator.Feature.IGNORE_UNKNOWN);
+    }
+
+    /**
+     * @param rootType the message of the whole response.
+     * @return the schema of the responses, to write or read them.
+     */
+    public static ProtobufSchema schema(String rootType) {
+        try (InputStream schema = new ClassPathResource(SCHEMA).getInputStream()) {
+            return ProtobufSchemaLoader.std.load(schema, rootType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + SCHEMA, e);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Only collections of tasks or tags, or of unknown elements such as the task lists which may be sparse fieldsets.
+     */
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(clazz, mediaType)) {
+            return false;
+        }
+        Class<?> element = type == null ? null : ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return (
+            element == null ||
+            element == Object.class ||
+            Task.class.isAssignableFrom(element) ||
+            Tag.class.isAssignableFrom(element) ||
+            Map.class.isAssignableFrom(element)
+        );
+    }
+
+    @Override
+    protected void writeInternal(Collection<?> entities, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Object first = entities.isEmpty() ? null : entities.iterator().next();
+        ObjectWriter writer;
+        String field;
+        if (first == null || first instanceof Task || first instanceof Map) {
+            // an empty list is an empty message, the same whatever its type
+            writer = taskListWriter;
+            field = "tasks";
+        } else if (first instanceof Tag) {
+            writer = tagListWriter;
+            field = "tags";
+        } else {
+            throw new HttpMessageNotWritableException("No protobuf schema for a list of " + first.getClass().getSimpleName());
+        }
+        writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), Map.of(field, entities));
+    }
+
+    @Override
+    public Collection<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Requests are not read as protobuf", inputMessage);
+    }
+
+    @Override
+    protected Collection<?> readInternal(Class<? extends Collection<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Requests are not read as protobuf", inputMessage);
+    }
+}
@@ -0,0 +1,57 @@
+package com.task.manager.web.rest.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Writes a {@link Tag} as its Jackson annotations declare it: its tasks without their user nor tags.
+ */
+class TagJsonSerializer extends StdSerializer<Tag> {
+
+    private static final long serialVersionUID = 1L;
+
+    TagJsonSerializer() {
+        super(Tag.class);
+    }
+
+    @Override
+    public void serialize(Tag value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (EntityJson.writeIfUninitialized(value, gen)) {
+            return;
+        }
+        Tag tag = EntityJson.unproxy(value);
+        gen.writeStartObject(tag);
+        writeFields(tag, gen);
+        EntityJson.writeUser(gen, provider, tag.getUser());
+        gen.writeFieldName("tasks");
+        Set<Task> tasks = tag.getTasks();
+        if (EntityJson.isLoaded(tasks)) {
+            gen.writeStartArray(tasks, tasks.size());
+            for (Task task : tasks) {
+                if (!EntityJson.writeIfUninitialized(task, gen)) {
+                    gen.writeStartObject(task);
+                    TaskJsonSerializer.writeFields(EntityJson.unproxy(task), gen, provider);
+                    gen.writeEndObject();
+                }
+            }
+            gen.writeEndArray();
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes the columns of the tag, without its relationships.
+     */
+    static void writeFields(Tag tag, JsonGenerator gen) throws IOException {
+        EntityJson.writeNumberField(gen, "id", tag.getId());
+        EntityJson.writeUuidField(gen, "uuid", tag.getUuid());
+        gen.writeStringField("name", tag.getName());
+    }
+}
@@ -0,0 +1,66 @@
+package com.task.manager.web.rest.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Writes a {@link Task} as its Jackson annotations declare it: the description only when loaded, its tags without their
+ * user nor tasks.
+ */
+class TaskJsonSerializer extends StdSerializer<Task> {
+
+    private static final long serialVersionUID = 1L;
+
+    TaskJsonSerializer() {
+        super(Task.class);
+    }
+
+    @Override
+    public void serialize(Task value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (EntityJson.writeIfUninitialized(value, gen)) {
+            return;
+        }
+        Task task = EntityJson.unproxy(value);
+        gen.writeStartObject(task);
+        writeFields(task, gen, provider);
+        EntityJson.writeUser(gen, provider, task.getUser());
+        gen.writeFieldName("tags");
+        Set<Tag> tags = task.getTags();
+        if (EntityJson.isLoaded(tags)) {
+            gen.writeStartArray(tags, tags.size());
+            for (Tag tag : tags) {
+                if (!EntityJson.writeIfUninitialized(tag, gen)) {
+                    gen.writeStartObject(tag);
+                    TagJsonSerializer.writeFields(EntityJson.unproxy(tag), gen);
+                    gen.writeEndObject();
+                }
+            }
+            gen.writeEndArray();
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes the columns of the task, without its relationships.
+     */
+    static void writeFields(Task task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        EntityJson.writeNumberField(gen, "id", task.getId());
+        EntityJson.writeUuidField(gen, "uuid", task.getUuid());
+        gen.writeStringField("title", task.getTitle());
+        String description = task.getLoadedDescription();
+        if (description != null) {
+            gen.writeStringField("description", description);
+        }
+        EntityJson.writeInstantField(gen, provider, "executionTime", task.getExecutionTime());
+        EntityJson.writeNumberField(gen, "durationMin", task.getDurationMin());
+        EntityJson.writeBooleanField(gen, "closed", task.getClosed());
+        EntityJson.writeNumberField(gen, "version", task.getVersion());
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Rest layer serializers of the entities, hand-written for JSON and shared by the binary formats.
+ */
+package com.task.manager.web.rest.json;
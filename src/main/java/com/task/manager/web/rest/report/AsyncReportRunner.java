@@ -0,0 +1,116 @@
+package com.task.manager.web.rest.report;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.repository.QueryBudget;
+import com.task.manager.service.ReportRunner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Runs reports (aggregates, exports) on the {@code reportingExecutor} and answers their requests asynchronously, so that
+ * the request threads are released while a report runs and reports only compete with each other for capacity.
+ * <p>
+ * When {@code application.reporting.queue-capacity} reports are waiting, new ones are rejected with a
+ * {@link RejectedExecutionException}, answered with {@code 503 (Service Unavailable)}. A request whose report did not
+ * complete within {@code application.reporting.timeout} is answered with {@code 503 (Service Unavailable)} as well, and
+ * its report is skipped if it is still waiting. Once the request timed out, or the client disconnected, the statement
+ * running for the report is cancelled through the {@link QueryBudget} of the request.
+ */
+@Component
+public class AsyncReportRunner implements ReportRunner {
+
+    public static final String REJECTIONS_METER_NAME = "reporting.rejections";
+    public static final String REJECTIONS_METER_DESCRIPTION = "Number of reports rejected as the reporting queue was full.";
+    public static final String TIMEOUTS_METER_NAME = "reporting.timeouts";
+    public static final String TIMEOUTS_METER_DESCRIPTION = "Number of report requests answered after a timeout.";
+
+    private final Executor executor;
+
+    private final Duration timeout;
+
+    private final Counter rejections;
+
+    private final Counter timeouts;
+
+    public AsyncReportRunner(
+        @Qualifier("reportingExecutor") Executor executor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.executor = executor;
+        this.timeout = applicationProperties.getReporting().getTimeout();
+        this.rejections = Counter.builder(REJECTIONS_METER_NAME).description(REJECTIONS_METER_DESCRIPTION).register(registry);
+        this.timeouts = Counter.builder(TIMEOUTS_METER_NAME).description(TIMEOUTS_METER_DESCRIPTION).register(registry);
+    }
+
+    /**
+     * Runs a report and answers its request with the result.
+     *
+     * @param report computes the response.
+     * @return the result, set once the report completes.
+     * @throws RejectedExecutionException if the reporting queue is full.
+     */
+    public <T> DeferredResult<T> run(Supplier<? extends T> report) {
+        return defer(supply(report));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> supply(Supplier<? extends T> report) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    if (System.nanoTime() - deadline > 0) {
+                        // its request was already answered
+                        throw new CancellationException("Report timed out in the reporting queue");
+                    }
+                    return report.get();
+                },
+                executor
+            );
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Answers a request with the future result of a report, or with {@code 503 (Service Unavailable)} after the timeout.
+     *
+     * @param report the future result of the report.
+     * @return the result, set once the report completes.
+     */
+    public <T> DeferredResult<T> defer(CompletableFuture<? extends T> report) {
+        DeferredResult<T> result = new DeferredResult<>(timeout.toMillis());
+        QueryBudget budget = QueryBudget.current();
+        result.onTimeout(() -> {
+            timeouts.increment();
+            cancel(budget);
+        });
+        result.onError(error -> cancel(budget));
+        report.whenComplete((value, error) -> {
+            if (error == null) {
+                result.setResult(value);
+            } else {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+        return result;
+    }
+
+    private static void cancel(QueryBudget budget) {
+        if (budget != null) {
+            budget.cancel();
+        }
+    }
+}
@@ -118,10 +118,6 @@ export const Task = () => {
                   <Translate contentKey="taskManagerApp.task.title">Title</Translate>{' '}
                   <FontAwesomeIcon icon={getSortIconByFieldName('title')} />
                 </th>
-                <th className="hand" onClick={sort('description')}>
-                  <Translate contentKey="taskManagerApp.task.description">Description</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('description')} />
-                </th>
                 <th className="hand" onClick={sort('executionTime')}>
                   <Translate contentKey="taskManagerApp.task.executionTime">Execution Time</Translate>{' '}
                   <FontAwesomeIcon icon={getSortIconByFieldName('executionTime')} />
@@ -149,7 +145,6 @@ export const Task = () => {
                     </Button>
                   </td>
                   <td>{task.title}</td>
-                  <td>{task.description}</td>
                   <td>{task.executionTime ? <TextFormat type="date" value={task.executionTime} format={APP_DATE_FORMAT} /> : null}</td>
                   <td>{task.durationMin}</td>
                   <td>{task.closed ? 'true' : 'false'}</td>
@@ -3,6 +3,7 @@ import { ITask } from 'app/shared/model/task.model';
 
 export interface ITag {
   id?: number;
+  uuid?: string;
   name?: string | null;
   user?: IUser | null;
   tasks?: ITask[] | null;
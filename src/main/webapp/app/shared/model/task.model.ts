@@ -4,11 +4,13 @@ import { ITag } from 'app/shared/model/tag.model';
 
 export interface ITask {
   id?: number;
+  uuid?: string;
   title?: string | null;
   description?: string | null;
   executionTime?: dayjs.Dayjs | null;
   durationMin?: number | null;
   closed?: boolean | null;
+  version?: number | null;
   user?: IUser | null;
   tags?: ITag[] | null;
 }
@@ -0,0 +1,50 @@
+package com.task.manager.perf;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+/**
+ * Describes a dataset written by {@link DatasetGenerator}.
+ * <p>
+ * Ids are allocated in contiguous blocks, so the tasks and tags of a user can be addressed without querying the
+ * database: user {@code u} (0-based) owns tasks {@code firstTaskId + u * tasksPerUser} and following.
+ *
+ * @param scale        the scale the dataset was generated with.
+ * @param firstUserId  id of the first generated user.
+ * @param firstTagId   id of the first generated tag.
+ * @param firstTaskId  id of the first generated task.
+ * @param loginPrefix  prefix of the generated logins, followed by the user index.
+ * @param password     clear text password shared by every generated user.
+ * @param referenceNow the instant execution times were spread around.
+ */
+public record Dataset(
+    DatasetScale scale,
+    long firstUserId,
+    long firstTagId,
+    long firstTaskId,
+    String loginPrefix,
+    String password,
+    Instant referenceNow
+) {
+    public long userId(int userIndex) {
+        return firstUserId + userIndex;
+    }
+
+    public String login(int userIndex) {
+        return loginPrefix + userIndex;
+    }
+
+    public long randomTaskId(int userIndex, SplittableRandom random) {
+        return firstTaskId + (long) userIndex * scale.tasksPerUser() + random.nextInt(scale.tasksPerUser());
+    }
+
+    public long randomTagId(int userIndex, SplittableRandom random) {
+        return firstTagId + (long) userIndex * scale.tagsPerUser() + random.nextInt(scale.tagsPerUser());
+    }
+
+    public Instant randomExecutionTime(SplittableRandom random) {
+        long fromSeconds = referenceNow.getEpochSecond() - scale.historyDays() * 86_400L;
+        long toSeconds = referenceNow.getEpochSecond() + scale.futureDays() * 86_400L;
+        return Instant.ofEpochSecond(random.nextLong(fromSeconds, toSeconds));
+    }
+}
@@ -0,0 +1,268 @@
+package com.task.manager.perf;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a synthetic dataset of users, tags and tasks with plain JDBC batches.
+ * <p>
+ * Going through JPA would take hours for millions of rows, so rows are inserted with explicit ids in batches of
+ * {@value #BATCH_SIZE} and committed per batch. Generation is deterministic for a given {@link DatasetScale#seed()}.
+ * <p>
+ * It can also be used stand-alone against an existing schema (created by Liquibase):
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec@dataset -Dperf.jdbc-url=jdbc:mysql://localhost:3306/tasks -Dperf.scale=medium
+ * </pre>
+ */
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    /**
+     * BCrypt hash of "user", same as the default "user" account.
+     */
+    private static final String PASSWORD_HASH = "$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K";
+
+    private static final String PASSWORD = "user";
+
+    private static final String LOGIN_PREFIX = "perf-user-";
+
+    /**
+     * Minimum length of the generated task descriptions, padded with words ({@code perf.description-length}).
+     */
+    private static final int DESCRIPTION_LENGTH = Integer.getInteger("perf.description-length", 0);
+
+    private static final String[] WORDS = {
+        "review",
+        "meeting",
+        "report",
+        "invoice",
+        "dentist",
+        "groceries",
+        "deploy",
+        "backup",
+        "gym",
+        "budget",
+        "call",
+        "email",
+        "design",
+        "study",
+        "laundry",
+        "payment",
+        "release",
+        "planning",
+        "interview",
+        "training",
+    };
+
+    private final DataSource dataSource;
+
+    public DatasetGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * A word of the vocabulary used for generated titles and tag names, handy to build search terms that match.
+     *
+     * @param random the source of randomness.
+     * @return a word.
+     */
+    public static String randomWord(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public Dataset generate(DatasetScale scale) throws SQLException {
+        log.info("Generating {} users, {} tags and {} tasks", scale.users(), scale.tags(), scale.tasks());
+        long start = System.nanoTime();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            Dataset dataset = new Dataset(
+                scale,
+                nextId(connection, "jhi_user"),
+                nextId(connection, "tag"),
+                nextId(connection, "task"),
+                LOGIN_PREFIX + System.currentTimeMillis() + "-",
+                PASSWORD,
+                now
+            );
+            insertUsers(connection, dataset);
+            insertTags(connection, dataset);
+            insertTasks(connection, dataset);
+            connection.commit();
+            log.info("Dataset generated in {} s", Duration.ofNanos(System.nanoTime() - start).toSeconds());
+            return dataset;
+        }
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("select max(id) from " + table)) {
+            rs.next();
+            return rs.getLong(1) + 1;
+        }
+    }
+
+    private void insertUsers(Connection connection, Dataset dataset) throws SQLException {
+        String userSql =
+            "insert into jhi_user (id, login, password_hash, first_name, last_name, email, activated, lang_key, created_by, created_date) " +
+            "values (?, ?, ?, ?, ?, ?, true, 'pt-br', 'system', ?)";
+        String authoritySql = "insert into jhi_user_authority (user_id, authority_name) values (?, 'ROLE_USER')";
+        try (
+            PreparedStatement users = connection.prepareStatement(userSql);
+            PreparedStatement authorities = connection.prepareStatement(authoritySql)
+        ) {
+            LocalDateTime createdDate = LocalDateTime.ofInstant(dataset.referenceNow(), ZoneOffset.UTC);
+            for (int u = 0; u < dataset.scale().users(); u++) {
+                String login = dataset.login(u);
+                users.setLong(1, dataset.userId(u));
+                users.setString(2, login);
+                users.setString(3, PASSWORD_HASH);
+                users.setString(4, "Perf");
+                users.setString(5, "User " + u);
+                users.setString(6, login + "@localhost");
+                users.setObject(7, createdDate);
+                users.addBatch();
+                authorities.setLong(1, dataset.userId(u));
+                authorities.addBatch();
+                if ((u + 1) % BATCH_SIZE == 0) {
+                    users.executeBatch();
+                    authorities.executeBatch();
+                    connection.commit();
+                }
+            }
+            users.executeBatch();
+            authorities.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void insertTags(Connection connection, Dataset dataset) throws SQLException {
+        DatasetScale scale = dataset.scale();
+        try (PreparedStatement tags = connection.prepareStatement("insert into tag (id, name, user_id) values (?, ?, ?)")) {
+            long id = dataset.firstTagId();
+            int pending = 0;
+            for (int u = 0; u < scale.users(); u++) {
+                for (int t = 0; t < scale.tagsPerUser(); t++) {
+                    tags.setLong(1, id++);
+                    tags.setString(2, WORDS[t % WORDS.length] + (t < WORDS.length ? "" : "-" + t));
+                    tags.setLong(3, dataset.userId(u));
+                    tags.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        tags.executeBatch();
+                        connection.commit();
+                        pending = 0;
+                    }
+                }
+            }
+            tags.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void insertTasks(Connection connection, Dataset dataset) throws SQLException {
+        DatasetScale scale = dataset.scale();
+        SplittableRandom random = new SplittableRandom(scale.seed());
+        String taskSql =
+            "insert into task (id, title, description, execution_time, duration_min, closed, user_id) values (?, ?, ?, ?, ?, ?, ?)";
+        try (
+            PreparedStatement tasks = connection.prepareStatement(taskSql);
+            PreparedStatement links = connection.prepareStatement("insert into rel_task__tag (task_id, tag_id) values (?, ?)")
+        ) {
+            long id = dataset.firstTaskId();
+            long progressStep = Math.max(scale.tasks() / 20, 1);
+            int pending = 0;
+            for (int u = 0; u < scale.users(); u++) {
+                long firstTagOfUser = dataset.firstTagId() + (long) u * scale.tagsPerUser();
+                for (int t = 0; t < scale.tasksPerUser(); t++) {
+                    Instant executionTime = dataset.randomExecutionTime(random);
+                    boolean past = executionTime.isBefore(dataset.referenceNow());
+                    tasks.setLong(1, id);
+                    tasks.setString(2, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+                    tasks.setString(3, description(id));
+                    tasks.setObject(4, LocalDateTime.ofInstant(executionTime, ZoneOffset.UTC));
+                    tasks.setLong(5, 15L * (1 + random.nextInt(16)));
+                    tasks.setBoolean(6, past && random.nextInt(10) < 8);
+                    tasks.setLong(7, dataset.userId(u));
+                    tasks.addBatch();
+
+                    int tagCount = scale.tagsPerUser() == 0 ? 0 : random.nextInt(scale.maxTagsPerTask() + 1);
+                    Set<Long> picked = new HashSet<>();
+                    for (int k = 0; k < tagCount; k++) {
+                        long tagId = firstTagOfUser + random.nextInt(scale.tagsPerUser());
+                        if (picked.add(tagId)) {
+                            links.setLong(1, id);
+                            links.setLong(2, tagId);
+                            links.addBatch();
+                        }
+                    }
+
+                    id++;
+                    if (++pending == BATCH_SIZE) {
+                        tasks.executeBatch();
+                        links.executeBatch();
+                        connection.commit();
+                        pending = 0;
+                    }
+                    if ((id - dataset.firstTaskId()) % progressStep == 0) {
+                        log.info("Inserted {} / {} tasks", id - dataset.firstTaskId(), scale.tasks());
+                    }
+                }
+            }
+            tasks.executeBatch();
+            links.executeBatch();
+            connection.commit();
+        }
+    }
+
+    /**
+     * Padded with words of its own random source, so that the rest of the dataset does not depend on the length.
+     */
+    private static String description(long id) {
+        SplittableRandom random = new SplittableRandom(id);
+        StringBuilder description = new StringBuilder("generated task ").append(id);
+        while (description.length() < DESCRIPTION_LENGTH) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    /**
+     * Stand-alone entry point, see the class documentation.
+     *
+     * The schema is not created here, so {@code perf.jdbc-url} must point to a database migrated by Liquibase: a throw-away
+     * container would be empty.
+     *
+     * @param args unused, configuration is read from {@code perf.*} system properties.
+     * @throws SQLException if the dataset cannot be written.
+     */
+    public static void main(String[] args) throws SQLException {
+        String jdbcUrl = System.getProperty("perf.jdbc-url");
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            throw new IllegalStateException("perf.jdbc-url is required: the dataset is written to an existing schema created by Liquibase");
+        }
+        try (PerfDatabase database = PerfDatabase.start(); HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(database.getJdbcUrl());
+            dataSource.setUsername(database.getUsername());
+            dataSource.setPassword(database.getPassword());
+            Dataset dataset = new DatasetGenerator(dataSource).generate(DatasetScale.fromSystemProperties());
+            log.info("Generated {}", dataset);
+        }
+    }
+}
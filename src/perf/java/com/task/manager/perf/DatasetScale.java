@@ -0,0 +1,74 @@
+package com.task.manager.perf;
+
+/**
+ * Size and shape of a synthetic dataset.
+ *
+ * @param users          number of generated users.
+ * @param tagsPerUser    number of tags owned by each user.
+ * @param tasksPerUser   number of tasks owned by each user.
+ * @param maxTagsPerTask upper bound of tags attached to a task (uniformly distributed from 0).
+ * @param historyDays    how far in the past execution times go.
+ * @param futureDays     how far in the future execution times go.
+ * @param seed           random seed, the same seed always produces the same dataset.
+ */
+public record DatasetScale(int users, int tagsPerUser, int tasksPerUser, int maxTagsPerTask, int historyDays, int futureDays, long seed) {
+    /**
+     * 10 000 tasks, enough for a quick smoke run.
+     */
+    public static final DatasetScale SMALL = new DatasetScale(100, 10, 100, 3, 365, 90, 42L);
+
+    /**
+     * 1 000 000 tasks, roughly a mid-sized installation.
+     */
+    public static final DatasetScale MEDIUM = new DatasetScale(1_000, 20, 1_000, 3, 3 * 365, 180, 42L);
+
+    /**
+     * 10 000 000 tasks, with a few years of history per user.
+     */
+    public static final DatasetScale LARGE = new DatasetScale(5_000, 30, 2_000, 4, 5 * 365, 365, 42L);
+
+    /**
+     * 50 000 000 tasks over ten years, the size partitioning is meant for.
+     */
+    public static final DatasetScale HUGE = new DatasetScale(10_000, 30, 5_000, 4, 10 * 365, 365, 42L);
+
+    public long tasks() {
+        return (long) users * tasksPerUser;
+    }
+
+    public long tags() {
+        return (long) users * tagsPerUser;
+    }
+
+    /**
+     * Resolves a preset name ({@code small}, {@code medium}, {@code large}, {@code huge}), then applies the individual
+     * {@code perf.users}, {@code perf.tags-per-user}, {@code perf.tasks-per-user} and {@code perf.max-tags-per-task}
+     * system property overrides.
+     *
+     * @param preset the preset name.
+     * @return the resulting scale.
+     */
+    public static DatasetScale fromSystemProperties(String preset) {
+        DatasetScale base =
+            switch (preset.toLowerCase()) {
+                case "small" -> SMALL;
+                case "medium" -> MEDIUM;
+                case "large" -> LARGE;
+                case "huge" -> HUGE;
+                default -> throw new IllegalArgumentException("Unknown dataset scale: " + preset);
+            };
+        return new DatasetScale(
+            Integer.getInteger("perf.users", base.users()),
+            Integer.getInteger("perf.tags-per-user", base.tagsPerUser()),
+            Integer.getInteger("perf.tasks-per-user", base.tasksPerUser()),
+            Integer.getInteger("perf.max-tags-per-task", base.maxTagsPerTask()),
+            base.historyDays(),
+            base.futureDays(),
+            Long.getLong("perf.seed", base.seed())
+        );
+    }
+
+    public static DatasetScale fromSystemProperties() {
+        return fromSystemProperties(System.getProperty("perf.scale", "small"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.task.manager.perf;
+
+import com.task.manager.TaskManagerApp;
+import com.task.manager.config.AsyncSyncConfiguration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the full application in-process against a {@link PerfDatabase}.
+ * <p>
+ * The {@code testprod} profile is used so that the test configuration (JWT secret, Liquibase {@code test} context,
+ * no mail server) applies, while the connection pool is resized to something representative of production.
+ */
+public final class PerfApplication {
+
+    private PerfApplication() {}
+
+    public static ConfigurableApplicationContext start(
+        PerfDatabase database,
+        Map<String, Object> extraProperties,
+        String... extraProfiles
+    ) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", database.getJdbcUrl());
+        properties.put("spring.datasource.username", database.getUsername());
+        properties.put("spring.datasource.password", database.getPassword());
+        properties.put("spring.datasource.hikari.maximum-pool-size", Integer.getInteger("perf.pool-size", 20));
+        properties.put("server.port", 0);
+        properties.putAll(extraProperties);
+
+        String[] profiles = new String[extraProfiles.length + 1];
+        profiles[0] = "testprod";
+        System.arraycopy(extraProfiles, 0, profiles, 1, extraProfiles.length);
+
+        // passed as command line arguments, as default properties would be overridden by the test configuration files
+        String[] args = properties
+            .entrySet()
+            .stream()
+            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+            .toArray(String[]::new);
+        return new SpringApplicationBuilder(TaskManagerApp.class, AsyncSyncConfiguration.class).profiles(profiles).run(args);
+    }
+
+    public static ConfigurableApplicationContext start(PerfDatabase database) {
+        return start(database, Map.of());
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
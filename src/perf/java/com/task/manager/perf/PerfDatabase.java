@@ -0,0 +1,75 @@
+package com.task.manager.perf;
+
+import java.util.Collections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * Database used by the performance harnesses.
+ * <p>
+ * By default a throw-away MySQL container is started (same image as the integration tests, data directory on tmpfs).
+ * An existing database can be used instead by setting the {@code perf.jdbc-url}, {@code perf.jdbc-username} and
+ * {@code perf.jdbc-password} system properties, which is useful to keep a large generated dataset between runs.
+ */
+public final class PerfDatabase implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfDatabase.class);
+
+    private static final String URL_PARAMETERS =
+        "?useUnicode=true&characterEncoding=utf8&useSSL=false&useLegacyDatetimeCode=false&createDatabaseIfNotExist=true" +
+        "&rewriteBatchedStatements=true";
+
+    private final MySQLContainer<?> container;
+
+    private final String jdbcUrl;
+
+    private final String username;
+
+    private final String password;
+
+    private PerfDatabase(MySQLContainer<?> container, String jdbcUrl, String username, String password) {
+        this.container = container;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static PerfDatabase start() {
+        String externalUrl = System.getProperty("perf.jdbc-url");
+        if (externalUrl != null && !externalUrl.isBlank()) {
+            log.info("Using external database {}", externalUrl);
+            return new PerfDatabase(
+                null,
+                externalUrl,
+                System.getProperty("perf.jdbc-username", "root"),
+                System.getProperty("perf.jdbc-password", "")
+            );
+        }
+        MySQLContainer<?> container = new MySQLContainer<>("mysql:8.2.0")
+            .withDatabaseName("taskManager")
+            .withTmpFs(Collections.singletonMap("/var/lib/mysql", "rw"));
+        container.start();
+        log.info("Started MySQL container {}", container.getJdbcUrl());
+        return new PerfDatabase(container, container.getJdbcUrl() + URL_PARAMETERS, container.getUsername(), container.getPassword());
+    }
+
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public void close() {
+        if (container != null && container.isRunning()) {
+            container.stop();
+        }
+    }
+}
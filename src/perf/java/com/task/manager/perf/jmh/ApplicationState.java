@@ -0,0 +1,55 @@
+package com.task.manager.perf.jmh;
+
+import com.task.manager.perf.Dataset;
+import com.task.manager.perf.DatasetGenerator;
+import com.task.manager.perf.DatasetScale;
+import com.task.manager.perf.PerfApplication;
+import com.task.manager.perf.PerfDatabase;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Application context (web server not started) running against a freshly seeded database, shared by all benchmark
+ * threads of a trial. The dataset scale is a JMH parameter so that every benchmark is measured at several sizes.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({ "small", "medium" })
+    public String scale;
+
+    PerfDatabase database;
+
+    ConfigurableApplicationContext context;
+
+    Dataset dataset;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        database = PerfDatabase.start();
+        context = PerfApplication.start(database, Map.of("server.port", -1));
+        dataset = new DatasetGenerator(context.getBean(DataSource.class)).generate(DatasetScale.fromSystemProperties(scale));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
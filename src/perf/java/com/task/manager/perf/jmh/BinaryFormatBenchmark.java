@@ -0,0 +1,163 @@
+package com.task.manager.perf.jmh;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import com.task.manager.domain.User;
+import com.task.manager.web.rest.json.BinaryFormats;
+import com.task.manager.web.rest.json.EntityJsonModule;
+import com.task.manager.web.rest.json.EntityProtobufHttpMessageConverter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encoding and decoding of a month view of tasks in each response format, with the mappers of
+ * {@code BinaryFormatConfiguration}. Decoding reads a tree, as a client without the entity classes would.
+ * <p>
+ * The bytes of a response, raw and gzip-compressed as by the server, are written once per trial to
+ * {@code target/perf/formats/sizes.txt}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile", "protobuf" })
+    public String format;
+
+    @Param({ "20", "200", "2000" })
+    public int size;
+
+    private Object response;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        User user = new User();
+        user.setId(7L);
+        user.setLogin("user");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail("user@localhost");
+        List<Tag> tags = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Tag tag = new Tag().id(id).name("tag-" + id).user(user);
+            tag.setUuid(UUID.randomUUID());
+            tags.add(tag);
+        }
+        List<Task> tasks = new ArrayList<>(size);
+        Instant executionTime = Instant.parse("2024-03-01T08:00:00Z");
+        for (long id = 1; id <= size; id++) {
+            Task task = new Task()
+                .id(id)
+                .title("task " + id)
+                .executionTime(executionTime.plusSeconds(id * 900))
+                .durationMin(30L)
+                .closed(id % 3 == 0)
+                .user(user);
+            task.setUuid(UUID.randomUUID());
+            task.setVersion(id % 5);
+            for (int t = 0; t < 3; t++) {
+                task.addTag(tags.get((int) ((id + t * 7) % tags.size())));
+            }
+            tasks.add(task);
+        }
+
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+            .modules(
+                new JavaTimeModule(),
+                new Jdk8Module(),
+                new Hibernate6Module().configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true),
+                new EntityJsonModule()
+            )
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        response = tasks;
+        switch (format) {
+            case "json" -> mapper(builder.build());
+            case "cbor" -> mapper(BinaryFormats.cbor(builder));
+            case "smile" -> mapper(BinaryFormats.smile(builder));
+            case "protobuf" -> {
+                ObjectMapper mapper = BinaryFormats.protobuf(builder);
+                ProtobufSchema schema = EntityProtobufHttpMessageConverter.schema("TaskList");
+                writer = mapper.writer(schema).with(JsonGenerator.Feature.IGNORE_UNKNOWN);
+                reader = mapper.readerFor(JsonNode.class).with(schema);
+                response = Map.of("tasks", tasks);
+            }
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+        encoded = writer.writeValueAsBytes(response);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(encoded);
+        }
+        String line = String.format(
+            Locale.ROOT,
+            "%s, %d tasks: %d bytes, %d gzip-compressed%n",
+            format,
+            size,
+            encoded.length,
+            compressed.size()
+        );
+        Path report = Path.of("target/perf/formats");
+        Files.createDirectories(report);
+        Files.writeString(report.resolve("sizes.txt"), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.print(line);
+    }
+
+    private void mapper(ObjectMapper mapper) {
+        writer = mapper.writer();
+        reader = mapper.readerFor(JsonNode.class);
+    }
+
+    @Benchmark
+    public void encode() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,130 @@
+package com.task.manager.perf.jmh;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.task.manager.config.CRLFLogConverter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Marker;
+import org.springframework.boot.ansi.AnsiColor;
+import org.springframework.boot.ansi.AnsiElement;
+
+/**
+ * Cost of {@link CRLFLogConverter} per log line, compared with the previous {@code replaceAll} implementation.
+ * <p>
+ * Run with {@code -prof gc} to see the allocation rate: for messages without control characters the converter should
+ * not allocate at all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CRLFLogConverterBenchmark {
+
+    private static final String CLEAN_MESSAGE =
+        "Request to partially update Task : Task{id=1042, title='Prepare the weekly report', closed='false', userId=17}";
+
+    private static final String DIRTY_MESSAGE =
+        "Request to partially update Task : Task{id=1042, title='Prepare\r\nthe weekly\treport', closed='false', userId=17}";
+
+    @Param({ "clean", "dirty" })
+    public String message;
+
+    @Param({ "com.task.manager.service.impl.TaskServiceImpl", "org.hibernate.SQL" })
+    public String loggerName;
+
+    private String input;
+
+    private ILoggingEvent event;
+
+    private ExposedConverter converter;
+
+    private ReplaceAllConverter baseline;
+
+    @Setup
+    public void setup() {
+        input = "clean".equals(message) ? CLEAN_MESSAGE : DIRTY_MESSAGE;
+
+        LoggingEvent loggingEvent = new LoggingEvent();
+        loggingEvent.setLoggerName(loggerName);
+        loggingEvent.setLevel(Level.DEBUG);
+        loggingEvent.setMessage(input);
+        event = loggingEvent;
+
+        converter = new ExposedConverter();
+        converter.setOptionList(List.of("red"));
+        converter.start();
+
+        baseline = new ReplaceAllConverter();
+        baseline.setOptionList(List.of("red"));
+        baseline.start();
+    }
+
+    @Benchmark
+    public String converter() {
+        return converter.transform(event, input);
+    }
+
+    @Benchmark
+    public String replaceAll() {
+        return baseline.transform(event, input);
+    }
+
+    /**
+     * Makes the protected {@code transform} callable from the benchmark.
+     */
+    static class ExposedConverter extends CRLFLogConverter {
+
+        @Override
+        public String transform(ILoggingEvent event, String in) {
+            return super.transform(event, in);
+        }
+    }
+
+    /**
+     * The implementation before the single-pass rewrite, kept here as the reference point.
+     */
+    static class ReplaceAllConverter extends CRLFLogConverter {
+
+        private static final String[] SAFE_LOGGERS = {
+            "org.hibernate",
+            "org.springframework.boot.autoconfigure",
+            "org.springframework.boot.diagnostics",
+        };
+
+        @Override
+        public String transform(ILoggingEvent event, String in) {
+            AnsiElement element = "red".equals(getFirstOption()) ? AnsiColor.RED : null;
+            List<Marker> markers = event.getMarkerList();
+            if ((markers != null && !markers.isEmpty() && markers.get(0).contains(CRLF_SAFE_MARKER)) || isLoggerSafe(event)) {
+                return in;
+            }
+            String replacement = element == null ? "_" : toAnsiString("_", element);
+            return in.replaceAll("[\n\r\t]", replacement);
+        }
+
+        @Override
+        protected boolean isLoggerSafe(ILoggingEvent event) {
+            for (String safeLogger : SAFE_LOGGERS) {
+                if (event.getLoggerName().startsWith(safeLogger)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
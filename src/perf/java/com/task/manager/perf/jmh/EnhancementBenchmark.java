@@ -0,0 +1,170 @@
+package com.task.manager.perf.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.manager.domain.Task;
+import com.task.manager.perf.Dataset;
+import com.task.manager.repository.TaskRepository;
+import com.task.manager.service.TaskService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Effect of the bytecode enhancement of the entities, to compare a default build with one built with
+ * {@code -Dhibernate.enhance.lazy=false -Dhibernate.enhance.dirty-tracking=false}:
+ * <ul>
+ *     <li>{@code listPage}: a page of tasks read and serialized as by the list endpoints, without the lazy description
+ *     when enhanced. The JSON bytes and the bytes sent by MySQL per page are written once per trial to
+ *     {@code target/perf/enhancement/bytes.txt}.</li>
+ *     <li>{@code flushUnchangedPage} and {@code flushChangedPage}: a transaction loading a page of tasks, then flushing
+ *     no change or a change of one task. Without dirty tracking the flush compares every task to its snapshot.</li>
+ * </ul>
+ * The description length of the generated tasks is set with {@code -Dperf.description-length}, e.g. 2000.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EnhancementBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    private static final Pageable FLUSH_PAGE = PageRequest.of(0, 200);
+
+    private static final int MEASURED_PAGES = 100;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        SplittableRandom random;
+
+        TaskService taskService;
+
+        TaskRepository taskRepository;
+
+        TransactionTemplate transactionTemplate;
+
+        ObjectMapper objectMapper;
+
+        Dataset dataset;
+
+        @Setup
+        public void setup(ApplicationState application) {
+            random = new SplittableRandom(Thread.currentThread().getId());
+            taskService = application.getBean(TaskService.class);
+            taskRepository = application.getBean(TaskRepository.class);
+            transactionTemplate = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+            objectMapper = application.getBean(ObjectMapper.class);
+            dataset = application.dataset;
+        }
+
+        Long userId() {
+            return dataset.userId(random.nextInt(dataset.scale().users()));
+        }
+
+        byte[] listPage() throws JsonProcessingException {
+            return objectMapper.writeValueAsBytes(taskService.findAllByUserIdWithEagerRelationships(userId(), PAGE).getContent());
+        }
+    }
+
+    /**
+     * Bytes of a list page, measured once per trial before the benchmarks run.
+     */
+    @State(Scope.Benchmark)
+    public static class PageBytes {
+
+        @Setup(Level.Trial)
+        public void measure(ApplicationState application) throws IOException, SQLException {
+            Cursor cursor = new Cursor();
+            cursor.setup(application);
+            DataSource dataSource = application.getBean(DataSource.class);
+            long jsonBytes = 0;
+            long databaseBytes = bytesSent(dataSource);
+            for (int i = 0; i < MEASURED_PAGES; i++) {
+                jsonBytes += cursor.listPage().length;
+            }
+            databaseBytes = bytesSent(dataSource) - databaseBytes;
+
+            String line = String.format(
+                Locale.ROOT,
+                "%s scale: %d JSON bytes, %d bytes sent by the database per page of %d tasks%n",
+                application.scale,
+                jsonBytes / MEASURED_PAGES,
+                databaseBytes / MEASURED_PAGES,
+                PAGE.getPageSize()
+            );
+            Path report = Path.of("target/perf/enhancement");
+            Files.createDirectories(report);
+            Files.writeString(report.resolve("bytes.txt"), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            System.out.print(line);
+        }
+
+        /**
+         * Includes the few bytes of this statement, negligible against a page.
+         */
+        private static long bytesSent(DataSource dataSource) throws SQLException {
+            try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet status = statement.executeQuery("show global status like 'Bytes_sent'")
+            ) {
+                status.next();
+                return status.getLong(2);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] listPage(Cursor cursor, PageBytes pageBytes) throws JsonProcessingException {
+        return cursor.listPage();
+    }
+
+    @Benchmark
+    public Object flushUnchangedPage(Cursor cursor) {
+        return cursor.transactionTemplate.execute(status -> {
+            List<Task> tasks = cursor.taskRepository.findAllByUserId(cursor.userId(), FLUSH_PAGE).getContent();
+            cursor.taskRepository.flush();
+            return tasks;
+        });
+    }
+
+    @Benchmark
+    public Object flushChangedPage(Cursor cursor) {
+        return cursor.transactionTemplate.execute(status -> {
+            List<Task> tasks = cursor.taskRepository.findAllByUserId(cursor.userId(), FLUSH_PAGE).getContent();
+            if (!tasks.isEmpty()) {
+                Task task = tasks.get(cursor.random.nextInt(tasks.size()));
+                task.setClosed(!Boolean.TRUE.equals(task.getClosed()));
+            }
+            cursor.taskRepository.flush();
+            return tasks;
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.task.manager.perf.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import com.task.manager.web.rest.json.EntityJsonModule;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON encoding of task and tag list responses, written to a discarding stream as to the response: the reflective
+ * serializers with the modules of {@code JacksonConfiguration}, against the same mapper with {@link EntityJsonModule}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityJsonBenchmark {
+
+    @Param({ "20", "200", "2000" })
+    public int size;
+
+    private List<Task> tasks;
+
+    private List<Tag> tags;
+
+    private ObjectWriter reflective;
+
+    private ObjectWriter handWritten;
+
+    @Setup
+    public void setup() {
+        tags = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            tags.add(new Tag().id(id).name("tag-" + id));
+        }
+        tasks = new ArrayList<>(size);
+        Instant executionTime = Instant.parse("2024-03-01T08:00:00Z");
+        for (long id = 1; id <= size; id++) {
+            Task task = new Task()
+                .id(id)
+                .title("task " + id)
+                .description("description of task " + id)
+                .executionTime(executionTime.plusSeconds(id * 900))
+                .durationMin(30L)
+                .closed(id % 3 == 0);
+            task.setVersion(id % 5);
+            for (int t = 0; t < 3; t++) {
+                task.addTag(tags.get((int) ((id + t * 7) % tags.size())));
+            }
+            tasks.add(task);
+        }
+        reflective = mapper().build().writer();
+        handWritten = mapper().addModule(new EntityJsonModule()).build().writer();
+        // the module must not change the output
+        try {
+            ObjectMapper reader = new ObjectMapper();
+            if (!reader.readTree(reflective.writeValueAsBytes(tasks)).equals(reader.readTree(handWritten.writeValueAsBytes(tasks)))) {
+                throw new IllegalStateException("The hand-written serializers do not write the same JSON");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public void tasksReflective() throws IOException {
+        reflective.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public void tasksHandWritten() throws IOException {
+        handWritten.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public void tagsReflective() throws IOException {
+        reflective.writeValue(OutputStream.nullOutputStream(), tags);
+    }
+
+    @Benchmark
+    public void tagsHandWritten() throws IOException {
+        handWritten.writeValue(OutputStream.nullOutputStream(), tags);
+    }
+
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper
+            .builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new Jdk8Module())
+            .addModule(new Hibernate6Module().configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true))
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
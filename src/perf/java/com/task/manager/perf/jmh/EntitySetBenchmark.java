@@ -0,0 +1,125 @@
+package com.task.manager.perf.jmh;
+
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hash-based collections of entities: a task with many tags ({@code Task.tags}), a tag with many tasks
+ * ({@code Tag.tasks}), and the copy of a tag list into a set done when the tags of a task are replaced.
+ * <p>
+ * The former strategy, equal ids and a constant hash code, is reproduced by {@link LegacyEntity}: every element lands
+ * in the same bucket, which {@code HashMap} turns into a tree only for {@link Comparable} keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntitySetBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int size;
+
+    private List<Tag> tags;
+
+    private List<Task> tasks;
+
+    private List<LegacyEntity> legacyEntities;
+
+    private Set<Tag> tagSet;
+
+    private Set<LegacyEntity> legacySet;
+
+    @Setup
+    public void setup() {
+        tags = new ArrayList<>(size);
+        tasks = new ArrayList<>(size);
+        legacyEntities = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            tags.add(new Tag().id(id));
+            tasks.add(new Task().id(id));
+            legacyEntities.add(new LegacyEntity(id));
+        }
+        tagSet = new HashSet<>(tags);
+        legacySet = new HashSet<>(legacyEntities);
+    }
+
+    @Benchmark
+    public Task taskWithManyTags() {
+        Task task = new Task();
+        tags.forEach(task::addTag);
+        return task;
+    }
+
+    @Benchmark
+    public Tag tagWithManyTasks() {
+        Tag tag = new Tag();
+        tasks.forEach(tag.getTasks()::add);
+        return tag;
+    }
+
+    @Benchmark
+    public Set<Tag> copyTags() {
+        return new HashSet<>(tags);
+    }
+
+    @Benchmark
+    public void containsTags(Blackhole blackhole) {
+        for (Tag tag : tags) {
+            blackhole.consume(tagSet.contains(tag));
+        }
+    }
+
+    @Benchmark
+    public Set<LegacyEntity> copyTagsLegacy() {
+        return new HashSet<>(legacyEntities);
+    }
+
+    @Benchmark
+    public void containsTagsLegacy(Blackhole blackhole) {
+        for (LegacyEntity entity : legacyEntities) {
+            blackhole.consume(legacySet.contains(entity));
+        }
+    }
+
+    /**
+     * Equality of the former entities: equal ids, constant hash code.
+     */
+    static final class LegacyEntity {
+
+        private final Long id;
+
+        LegacyEntity(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LegacyEntity other && Objects.equals(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
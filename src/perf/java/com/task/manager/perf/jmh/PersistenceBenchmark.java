@@ -0,0 +1,131 @@
+package com.task.manager.perf.jmh;
+
+import com.task.manager.domain.Task;
+import com.task.manager.perf.Dataset;
+import com.task.manager.repository.TaskRepository;
+import com.task.manager.service.TaskService;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Persistence hot paths measured through the service layer, so that transaction handling is included as in
+ * production:
+ * <ul>
+ *     <li>{@code TaskRepositoryWithBagRelationshipsImpl.fetchTags}, for one task and for a page of tasks</li>
+ *     <li>the day / week / month calendar queries of {@link TaskRepository}</li>
+ *     <li>{@link TaskRepository#countResolvedTasksByTag(Long)}</li>
+ *     <li>{@link TaskService#partialUpdate(Task, String, Long)}</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    private static final Pageable CALENDAR_PAGE = PageRequest.of(0, 200);
+
+    /**
+     * Per-thread source of random users and tasks, so that concurrent threads do not contend on the same rows.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        SplittableRandom random;
+
+        TaskService taskService;
+
+        Dataset dataset;
+
+        @Setup
+        public void setup(ApplicationState application) {
+            random = new SplittableRandom(Thread.currentThread().getId());
+            taskService = application.getBean(TaskService.class);
+            dataset = application.dataset;
+        }
+
+        int userIndex() {
+            return random.nextInt(dataset.scale().users());
+        }
+
+        ZonedDateTime executionTime() {
+            return dataset.randomExecutionTime(random).atZone(ZoneOffset.UTC);
+        }
+    }
+
+    @Benchmark
+    public Object fetchTagsSingleTask(Cursor cursor) {
+        return cursor.taskService.findOne(cursor.dataset.randomTaskId(cursor.userIndex(), cursor.random));
+    }
+
+    @Benchmark
+    public Object fetchTagsTaskPage(Cursor cursor) {
+        return cursor.taskService.findAllByUserIdWithEagerRelationships(cursor.dataset.userId(cursor.userIndex()), PAGE);
+    }
+
+    @Benchmark
+    public Object tasksByDay(Cursor cursor) {
+        ZonedDateTime day = cursor.executionTime();
+        return cursor.taskService.findAllByUserIdAndExecutionTimeWithEagerRelationships(
+            cursor.dataset.userId(cursor.userIndex()),
+            day.getYear(),
+            day.getMonthValue(),
+            day.getDayOfMonth(),
+            CALENDAR_PAGE
+        );
+    }
+
+    @Benchmark
+    public Object tasksByWeek(Cursor cursor) {
+        Instant start = cursor.executionTime().truncatedTo(ChronoUnit.DAYS).toInstant();
+        return cursor.taskService.findAllByUserIdAndExecutionTimeByWeekWithEagerRelationships(
+            cursor.dataset.userId(cursor.userIndex()),
+            start,
+            start.plus(7, ChronoUnit.DAYS),
+            CALENDAR_PAGE
+        );
+    }
+
+    @Benchmark
+    public Object tasksByMonth(Cursor cursor) {
+        ZonedDateTime month = cursor.executionTime();
+        return cursor.taskService.findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(
+            cursor.dataset.userId(cursor.userIndex()),
+            month.getYear(),
+            month.getMonthValue(),
+            CALENDAR_PAGE
+        );
+    }
+
+    @Benchmark
+    public Object countResolvedTasksByTag(Cursor cursor) {
+        return cursor.taskService.countResolvedTasksByTag(cursor.dataset.userId(cursor.userIndex()));
+    }
+
+    @Benchmark
+    public void partialUpdate(Cursor cursor, Blackhole blackhole) {
+        Task patch = new Task().closed(cursor.random.nextBoolean());
+        patch.setId(cursor.dataset.randomTaskId(cursor.userIndex(), cursor.random));
+        blackhole.consume(cursor.taskService.partialUpdate(patch, null, null));
+    }
+}
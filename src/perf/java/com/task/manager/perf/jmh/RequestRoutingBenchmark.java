@@ -0,0 +1,131 @@
+package com.task.manager.perf.jmh;
+
+import com.task.manager.web.filter.RequestRouter;
+import com.task.manager.web.filter.RequestRouter.Route;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Per-request routing overhead of the filter chain: the {@code SpaWebFilter} decision followed by the authorization
+ * rule lookup, once with the former regex / ordered matcher list and once with {@link RequestRouter}.
+ * <p>
+ * The former rules are reproduced with {@link AntPathRequestMatcher}, which is cheaper than the {@code MvcRequestMatcher}
+ * used before (that one also consults the MVC handler mappings), so the measured gain is a lower bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestRoutingBenchmark {
+
+    private static final String ROUTE_ATTRIBUTE = RequestRouter.class.getName() + ".route";
+
+    @Param({ "/api/tasks/tasks-by-day/2024-01-15/17", "/api/authenticate", "/management/health", "/tasks/17", "/main.js" })
+    public String path;
+
+    private MockHttpServletRequest request;
+
+    private RequestRouter router;
+
+    private List<RequestMatcher> routerMatchers;
+
+    private List<RequestMatcher> legacyMatchers;
+
+    @Setup
+    public void setup() {
+        request = new MockHttpServletRequest("/api/authenticate".equals(path) ? "POST" : "GET", path);
+        router = RequestRouter.defaultRoutes();
+        routerMatchers = List.of(
+            router.matcher(Route.STATIC, Route.PUBLIC_API, Route.PUBLIC_MANAGEMENT),
+            router.matcher(Route.ADMIN, Route.MANAGEMENT),
+            router.matcher(Route.API)
+        );
+        legacyMatchers = List.of(
+            ant("/api/register-user-for-tasks"),
+            ant("/index.html"),
+            ant("/*.js"),
+            ant("/*.txt"),
+            ant("/*.json"),
+            ant("/*.map"),
+            ant("/*.css"),
+            ant("/*.ico"),
+            ant("/*.png"),
+            ant("/*.svg"),
+            ant("/*.webapp"),
+            ant("/app/**"),
+            ant("/i18n/**"),
+            ant("/content/**"),
+            ant("/swagger-ui/**"),
+            new AntPathRequestMatcher("/api/authenticate", HttpMethod.POST.name()),
+            new AntPathRequestMatcher("/api/authenticate", HttpMethod.GET.name()),
+            ant("/api/register"),
+            ant("/api/activate"),
+            ant("/api/account/reset-password/init"),
+            ant("/api/account/reset-password/finish"),
+            ant("/api/admin/**"),
+            ant("/api/**"),
+            ant("/v3/api-docs/**"),
+            ant("/management/health"),
+            ant("/management/health/**"),
+            ant("/management/info"),
+            ant("/management/prometheus"),
+            ant("/management/**")
+        );
+    }
+
+    @Benchmark
+    public int legacy() {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (
+            !path.startsWith("/api") &&
+            !path.startsWith("/management") &&
+            !path.startsWith("/v3/api-docs") &&
+            !path.contains(".") &&
+            path.matches("/(.*)")
+        ) {
+            return -1;
+        }
+        for (int i = 0; i < legacyMatchers.size(); i++) {
+            if (legacyMatchers.get(i).matches(request)) {
+                return i;
+            }
+        }
+        return legacyMatchers.size();
+    }
+
+    @Benchmark
+    public int router() {
+        // every invocation stands for a new request
+        request.removeAttribute(ROUTE_ATTRIBUTE);
+        if (router.route(request) == Route.SPA_FORWARD) {
+            return -1;
+        }
+        for (int i = 0; i < routerMatchers.size(); i++) {
+            if (routerMatchers.get(i).matches(request)) {
+                return i;
+            }
+        }
+        return routerMatchers.size();
+    }
+
+    private static RequestMatcher ant(String pattern) {
+        return new AntPathRequestMatcher(pattern);
+    }
+}
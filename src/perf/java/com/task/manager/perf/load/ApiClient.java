@@ -0,0 +1,68 @@
+package com.task.manager.perf.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin blocking HTTP client for the REST API, shared by all virtual users.
+ */
+class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+
+    private final URI baseUri;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    ApiClient(URI baseUri) {
+        this.baseUri = baseUri;
+        this.http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * Authenticates against {@code POST /api/authenticate}.
+     *
+     * @return the response, with the JWT available through {@link #token(HttpResponse)}.
+     */
+    HttpResponse<byte[]> authenticate(String login, String password) throws IOException, InterruptedException {
+        String body = mapper.createObjectNode().put("username", login).put("password", password).put("rememberMe", false).toString();
+        return send("POST", "/api/authenticate", null, "application/json", body);
+    }
+
+    String token(HttpResponse<byte[]> authenticateResponse) throws IOException {
+        JsonNode json = mapper.readTree(authenticateResponse.body());
+        return json.path("id_token").asText(null);
+    }
+
+    HttpResponse<byte[]> get(String path, String token) throws IOException, InterruptedException {
+        return send("GET", path, token, null, null);
+    }
+
+    HttpResponse<byte[]> send(String method, String path, String token, String contentType, String body)
+        throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest
+            .newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "application/json")
+            .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    ObjectMapper mapper() {
+        return mapper;
+    }
+}
@@ -0,0 +1,107 @@
+package com.task.manager.perf.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-endpoint latency histograms (HdrHistogram, nanosecond resolution, 3 significant digits).
+ * <p>
+ * {@link #write(Path, Duration, PrintStream)} prints a summary table and writes one {@code .hgrm} percentile
+ * distribution per endpoint, which can be plotted with the HdrHistogram plotter.
+ */
+public class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long elapsedNanos, int status) {
+        histograms.get(operation).recordValue(elapsedNanos);
+        if (status < 200 || status >= 400) {
+            errors.get(operation).increment();
+        }
+    }
+
+    long totalCount() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return the latencies of every endpoint in a single histogram.
+     */
+    Histogram total() {
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    public void write(Path directory, Duration measured, PrintStream out) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder summary = new StringBuilder();
+        summary.append(
+            String.format(
+                Locale.ROOT,
+                "%-48s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint",
+                "count",
+                "errors",
+                "req/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms"
+            )
+        );
+        double seconds = measured.toMillis() / 1000.0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            summary.append(
+                String.format(
+                    Locale.ROOT,
+                    "%-48s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.endpoint(),
+                    histogram.getTotalCount(),
+                    errors.get(operation).sum(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI
+                )
+            );
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directory.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+            }
+        }
+        summary.append(String.format(Locale.ROOT, "total: %d requests, %.1f req/s%n", totalCount(), totalCount() / seconds));
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        out.print(summary);
+    }
+}
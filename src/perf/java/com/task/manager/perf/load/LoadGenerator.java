@@ -0,0 +1,114 @@
+package com.task.manager.perf.load;
+
+import com.task.manager.perf.Dataset;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closed-loop load generator: {@code concurrency} virtual users each log in as a generated account and then issue
+ * operations picked from a {@link Mix} back to back (optionally separated by a think time).
+ * <p>
+ * Latencies are only recorded once the warm-up period is over, so JIT compilation, connection pool filling and
+ * cold buffer pools do not pollute the percentiles.
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final ApiClient client;
+
+    private final Dataset dataset;
+
+    private final Mix mix;
+
+    private final int concurrency;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    private final Duration thinkTime;
+
+    public LoadGenerator(
+        URI baseUri,
+        Dataset dataset,
+        String mix,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime
+    ) {
+        this.client = new ApiClient(baseUri);
+        this.dataset = dataset;
+        this.mix = Mix.valueOf(mix.toUpperCase().replace('-', '_'));
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.thinkTime = thinkTime;
+    }
+
+    public LatencyReport run() throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        log.info("Running mix {} with {} virtual users: {} warm-up, {} measured", mix, concurrency, warmup, duration);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Session session = new Session(client, dataset, i % dataset.scale().users(), dataset.scale().seed() + i);
+            futures.add(workers.submit(() -> virtualUser(session, report, measureFrom, measureUntil)));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(warmup.plus(duration).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Virtual users did not stop in time");
+            workers.shutdownNow();
+        }
+        futures.forEach(future -> {
+            if (!future.isDone()) {
+                future.cancel(true);
+            }
+        });
+        return report;
+    }
+
+    private void virtualUser(Session session, LatencyReport report, long measureFrom, long measureUntil) {
+        timed(Operation.AUTHENTICATE, session, report, measureFrom);
+        while (System.nanoTime() < measureUntil && !Thread.currentThread().isInterrupted()) {
+            timed(mix.next(session.random), session, report, measureFrom);
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(thinkTime.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void timed(Operation operation, Session session, LatencyReport report, long measureFrom) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = operation.execute(session);
+        } catch (IOException e) {
+            log.debug("{} failed: {}", operation.endpoint(), e.getMessage());
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (start >= measureFrom) {
+            report.record(operation, System.nanoTime() - start, status);
+        }
+    }
+}
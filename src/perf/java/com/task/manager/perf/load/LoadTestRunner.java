@@ -0,0 +1,71 @@
+package com.task.manager.perf.load;
+
+import com.task.manager.perf.Dataset;
+import com.task.manager.perf.DatasetGenerator;
+import com.task.manager.perf.DatasetScale;
+import com.task.manager.perf.PerfApplication;
+import com.task.manager.perf.PerfDatabase;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts a database and the application in-process, generates a dataset, drives a load mix against the REST API
+ * and writes the per-endpoint latency report.
+ * <p>
+ * Run with {@code ./mvnw -Pperf test-compile exec:exec@load-test}. Settings are read from system properties:
+ * <ul>
+ *     <li>{@code perf.scale}: dataset preset, {@code small} (default), {@code medium} or {@code large}, see {@link DatasetScale}</li>
+ *     <li>{@code perf.mix}: {@code default}, {@code write-heavy}, {@code create-burst}, {@code dashboard} or
+ *     {@code export-saturation}</li>
+ *     <li>{@code perf.concurrency}: number of virtual users (default 64)</li>
+ *     <li>{@code perf.warmup} / {@code perf.duration}: ISO-8601 durations (default {@code PT30S} / {@code PT2M})</li>
+ *     <li>{@code perf.think-time}: pause between two calls of a virtual user (default {@code PT0S})</li>
+ *     <li>{@code perf.report-dir}: where the report is written (default {@code target/perf/load})</li>
+ *     <li>{@code perf.report-name}: sub-directory of the report (default the mix), to compare runs of a mix against
+ *     different configurations</li>
+ * </ul>
+ * Any {@code perf.app.*} system property is passed to the application with the prefix removed, so that the same
+ * dataset can be replayed against different configurations.
+ */
+public final class LoadTestRunner {
+
+    private static final String APP_PROPERTY_PREFIX = "perf.app.";
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        DatasetScale scale = DatasetScale.fromSystemProperties();
+        String mix = System.getProperty("perf.mix", "default");
+        int concurrency = Integer.getInteger("perf.concurrency", 64);
+        Duration warmup = Duration.parse(System.getProperty("perf.warmup", "PT30S"));
+        Duration duration = Duration.parse(System.getProperty("perf.duration", "PT2M"));
+        Duration thinkTime = Duration.parse(System.getProperty("perf.think-time", "PT0S"));
+        Path reportDirectory = Path.of(System.getProperty("perf.report-dir", "target/perf/load"));
+
+        try (
+            PerfDatabase database = PerfDatabase.start();
+            ConfigurableApplicationContext context = PerfApplication.start(database, appProperties())
+        ) {
+            Dataset dataset = new DatasetGenerator(context.getBean(DataSource.class)).generate(scale);
+            URI baseUri = URI.create("http://localhost:" + PerfApplication.port(context));
+            LatencyReport report = new LoadGenerator(baseUri, dataset, mix, concurrency, warmup, duration, thinkTime).run();
+            report.write(reportDirectory.resolve(System.getProperty("perf.report-name", mix)), duration, System.out);
+        }
+    }
+
+    static Map<String, Object> appProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        System
+            .getProperties()
+            .stringPropertyNames()
+            .stream()
+            .filter(name -> name.startsWith(APP_PROPERTY_PREFIX))
+            .forEach(name -> properties.put(name.substring(APP_PROPERTY_PREFIX.length()), System.getProperty(name)));
+        return properties;
+    }
+}
@@ -0,0 +1,93 @@
+package com.task.manager.perf.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted mixes of {@link Operation}s, selected with the {@code perf.mix} system property.
+ */
+enum Mix {
+    /**
+     * Calendar browsing with occasional edits, what the SPA does most of the day.
+     */
+    DEFAULT(
+        Map.ofEntries(
+            Map.entry(Operation.AUTHENTICATE, 1),
+            Map.entry(Operation.ACCOUNT, 4),
+            Map.entry(Operation.TASKS_BY_USER, 8),
+            Map.entry(Operation.TASKS_BY_DAY, 10),
+            Map.entry(Operation.TASKS_BY_WEEK, 20),
+            Map.entry(Operation.TASKS_BY_MONTH, 10),
+            Map.entry(Operation.TASKS_BY_TITLE, 4),
+            Map.entry(Operation.GET_TASK, 8),
+            Map.entry(Operation.CREATE_TASK, 6),
+            Map.entry(Operation.CLOSE_TASK, 8),
+            Map.entry(Operation.UPDATE_TAGS, 3),
+            Map.entry(Operation.TAGS_BY_USER, 8),
+            Map.entry(Operation.CREATE_TAG, 1),
+            Map.entry(Operation.REL, 5),
+            Map.entry(Operation.REL_SOLVED, 4)
+        )
+    ),
+
+    /**
+     * Planning sessions: mostly creating, closing and re-tagging tasks.
+     */
+    WRITE_HEAVY(
+        Map.of(
+            Operation.TASKS_BY_WEEK,
+            10,
+            Operation.CREATE_TASK,
+            40,
+            Operation.CLOSE_TASK,
+            30,
+            Operation.UPDATE_TAGS,
+            15,
+            Operation.CREATE_TAG,
+            5
+        )
+    ),
+
+    /**
+     * Only task creation, to measure insert throughput against latency.
+     */
+    CREATE_BURST(Map.of(Operation.CREATE_TASK, 1)),
+
+    /**
+     * Dashboard and report polling.
+     */
+    DASHBOARD(Map.of(Operation.DASHBOARD, 2, Operation.REL, 1, Operation.REL_SOLVED, 1, Operation.TASKS_BY_MONTH, 1)),
+
+    /**
+     * Calendar browsing while large exports keep the reporting connections busy.
+     */
+    EXPORT_SATURATION(
+        Map.of(Operation.EXPORT, 2, Operation.TASKS_BY_WEEK, 10, Operation.GET_TASK, 5, Operation.CLOSE_TASK, 3, Operation.CREATE_TASK, 2)
+    );
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    Mix(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        this.operations = ordered.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
@@ -0,0 +1,163 @@
+package com.task.manager.perf.load;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.task.manager.perf.DatasetGenerator;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.IsoFields;
+
+/**
+ * The REST calls a virtual user can make, labelled with the endpoint they exercise in the latency report.
+ */
+enum Operation {
+    AUTHENTICATE("POST /api/authenticate") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.login();
+        }
+    },
+    ACCOUNT("GET /api/account") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.client.get("/api/account", session.token).statusCode();
+        }
+    },
+    TASKS_BY_USER("GET /api/tasks/user-tasks/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.client.get("/api/tasks/user-tasks/" + session.userId + "?page=0&size=20", session.token).statusCode();
+        }
+    },
+    TASKS_BY_DAY("GET /api/tasks/tasks-by-day/{day}/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            ZonedDateTime time = randomTime(session);
+            String day = time.toLocalDate().toString();
+            return session.client.get("/api/tasks/tasks-by-day/" + day + "/" + session.userId, session.token).statusCode();
+        }
+    },
+    TASKS_BY_WEEK("GET /api/tasks/tasks-by-week/{week}/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            ZonedDateTime time = randomTime(session);
+            String week = String.format("%d-W%02d", time.get(IsoFields.WEEK_BASED_YEAR), time.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            return session.client.get("/api/tasks/tasks-by-week/" + week + "/" + session.userId + "?size=100", session.token).statusCode();
+        }
+    },
+    TASKS_BY_MONTH("GET /api/tasks/tasks-by-month/{month}/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            ZonedDateTime time = randomTime(session);
+            String month = String.format("%d-%02d", time.getYear(), time.getMonthValue());
+            String path = "/api/tasks/tasks-by-month/" + month + "/" + session.userId + "?size=200";
+            return session.client.get(path, session.token).statusCode();
+        }
+    },
+    TASKS_BY_TITLE("GET /api/tasks/tasks-by-title/{title}/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            String title = URLEncoder.encode(DatasetGenerator.randomWord(session.random), StandardCharsets.UTF_8);
+            return session.client.get("/api/tasks/tasks-by-title/" + title + "/" + session.userId, session.token).statusCode();
+        }
+    },
+    GET_TASK("GET /api/tasks/{id}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.client.get("/api/tasks/" + session.randomTaskId(), session.token).statusCode();
+        }
+    },
+    CREATE_TASK("POST /api/tasks") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            ObjectNode task = session.client.mapper().createObjectNode();
+            task.put("title", DatasetGenerator.randomWord(session.random) + " " + DatasetGenerator.randomWord(session.random));
+            task.put("description", "created by load test");
+            task.put("executionTime", session.dataset.randomExecutionTime(session.random).toString());
+            task.put("durationMin", 30);
+            task.put("closed", false);
+            task.putObject("user").put("id", session.userId);
+            return session.client.send("POST", "/api/tasks", session.token, "application/json", task.toString()).statusCode();
+        }
+    },
+    CLOSE_TASK("PATCH /api/tasks/{id}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            long id = session.randomTaskId();
+            String body = session.client.mapper().createObjectNode().put("id", id).put("closed", session.random.nextBoolean()).toString();
+            return session.client.send("PATCH", "/api/tasks/" + id, session.token, "application/merge-patch+json", body).statusCode();
+        }
+    },
+    UPDATE_TAGS("POST /api/tasks/{taskId}/update-tags") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            long id = session.randomTaskId();
+            String body = "[{\"id\":" + session.randomTagId() + "},{\"id\":" + session.randomTagId() + "}]";
+            return session.client.send("POST", "/api/tasks/" + id + "/update-tags", session.token, "application/json", body).statusCode();
+        }
+    },
+    TAGS_BY_USER("GET /api/tags/user-tags/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.client.get("/api/tags/user-tags/" + session.userId + "?size=100", session.token).statusCode();
+        }
+    },
+    CREATE_TAG("POST /api/tags") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            ObjectNode tag = session.client.mapper().createObjectNode();
+            tag.put("name", DatasetGenerator.randomWord(session.random) + "-" + session.random.nextInt(1000));
+            tag.putObject("user").put("id", session.userId);
+            return session.client.send("POST", "/api/tags", session.token, "application/json", tag.toString()).statusCode();
+        }
+    },
+    REL("GET /api/tasks/rel/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.client.get("/api/tasks/rel/" + session.userId, session.token).statusCode();
+        }
+    },
+    REL_SOLVED("GET /api/tasks/rel/{userId}/solved") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.client.get("/api/tasks/rel/" + session.userId + "/solved", session.token).statusCode();
+        }
+    },
+    DASHBOARD("GET /api/tasks/dashboard/{userId}") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            return session.client.get("/api/tasks/dashboard/" + session.userId, session.token).statusCode();
+        }
+    },
+    EXPORT("GET /api/tasks/user-tasks/{userId}?includeArchived=true") {
+        @Override
+        int execute(Session session) throws IOException, InterruptedException {
+            String query = "?includeArchived=true&eagerload=true&page=0&size=2000";
+            return session.client.get("/api/tasks/user-tasks/" + session.userId + query, session.token).statusCode();
+        }
+    };
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Performs the call.
+     *
+     * @param session the virtual user.
+     * @return the HTTP status code.
+     */
+    abstract int execute(Session session) throws IOException, InterruptedException;
+
+    private static ZonedDateTime randomTime(Session session) {
+        return session.dataset.randomExecutionTime(session.random).atZone(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,48 @@
+package com.task.manager.perf.load;
+
+import com.task.manager.perf.Dataset;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+
+/**
+ * State of one virtual user: which generated account it plays and its current JWT.
+ */
+class Session {
+
+    final ApiClient client;
+
+    final Dataset dataset;
+
+    final SplittableRandom random;
+
+    final int userIndex;
+
+    final long userId;
+
+    String token;
+
+    Session(ApiClient client, Dataset dataset, int userIndex, long seed) {
+        this.client = client;
+        this.dataset = dataset;
+        this.userIndex = userIndex;
+        this.userId = dataset.userId(userIndex);
+        this.random = new SplittableRandom(seed);
+    }
+
+    int login() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.authenticate(dataset.login(userIndex), dataset.password());
+        if (response.statusCode() == 200) {
+            token = client.token(response);
+        }
+        return response.statusCode();
+    }
+
+    long randomTaskId() {
+        return dataset.randomTaskId(userIndex, random);
+    }
+
+    long randomTagId() {
+        return dataset.randomTagId(userIndex, random);
+    }
+}
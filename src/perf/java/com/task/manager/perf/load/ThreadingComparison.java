@@ -0,0 +1,131 @@
+package com.task.manager.perf.load;
+
+import com.task.manager.perf.Dataset;
+import com.task.manager.perf.DatasetGenerator;
+import com.task.manager.perf.DatasetScale;
+import com.task.manager.perf.PerfApplication;
+import com.task.manager.perf.PerfDatabase;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares the throughput and latency of the application handling requests on platform threads (the Undertow worker
+ * pool) and on virtual threads, under the same load mix at high concurrency.
+ * <p>
+ * The dataset is generated once, then the application is started with {@code spring.threads.virtual.enabled} off and
+ * on, each time against the same database, and driven for the same duration. Run on Java 21 with
+ * {@code ./mvnw -Pperf,virtual-threads test-compile exec:exec@threading}. Settings are read from system properties:
+ * <ul>
+ *     <li>{@code perf.scale}, {@code perf.mix}, {@code perf.warmup}, {@code perf.duration}, {@code perf.think-time}: as
+ *     for {@link LoadTestRunner}</li>
+ *     <li>{@code perf.threading.concurrency}: number of virtual users (default 1024)</li>
+ *     <li>{@code perf.report-dir}: where the summary and the report of each run are written (default
+ *     {@code target/perf/threading})</li>
+ * </ul>
+ * Any {@code perf.app.*} system property is passed to the application in both runs.
+ */
+public final class ThreadingComparison {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    private ThreadingComparison() {}
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, run with the virtual-threads Maven profile");
+        }
+        DatasetScale scale = DatasetScale.fromSystemProperties();
+        String mix = System.getProperty("perf.mix", "default");
+        int concurrency = Integer.getInteger("perf.threading.concurrency", 1024);
+        Duration warmup = Duration.parse(System.getProperty("perf.warmup", "PT30S"));
+        Duration duration = Duration.parse(System.getProperty("perf.duration", "PT2M"));
+        Duration thinkTime = Duration.parse(System.getProperty("perf.think-time", "PT0S"));
+        Path reportDirectory = Path.of(System.getProperty("perf.report-dir", "target/perf/threading"));
+
+        Map<String, LatencyReport> reports = new LinkedHashMap<>();
+        try (PerfDatabase database = PerfDatabase.start()) {
+            Dataset dataset = null;
+            for (String threads : new String[] { "platform", "virtual" }) {
+                Map<String, Object> properties = new HashMap<>(LoadTestRunner.appProperties());
+                properties.put(VIRTUAL_THREADS_PROPERTY, "virtual".equals(threads));
+                try (ConfigurableApplicationContext context = PerfApplication.start(database, properties)) {
+                    if ("virtual".equals(threads) != Threading.VIRTUAL.isActive(context.getEnvironment())) {
+                        throw new IllegalStateException("The application did not start on " + threads + " threads");
+                    }
+                    if (dataset == null) {
+                        dataset = new DatasetGenerator(context.getBean(DataSource.class)).generate(scale);
+                    }
+                    URI baseUri = URI.create("http://localhost:" + PerfApplication.port(context));
+                    LatencyReport report = new LoadGenerator(baseUri, dataset, mix, concurrency, warmup, duration, thinkTime).run();
+                    report.write(reportDirectory.resolve(threads), duration, System.out);
+                    reports.put(threads, report);
+                }
+            }
+        }
+        writeSummary(mix, concurrency, duration, reports, reportDirectory);
+    }
+
+    private static void writeSummary(
+        String mix,
+        int concurrency,
+        Duration duration,
+        Map<String, LatencyReport> reports,
+        Path reportDirectory
+    ) throws IOException {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "mix %s, %d virtual users, %s measured%n", mix, concurrency, duration));
+        summary.append(
+            String.format(
+                Locale.ROOT,
+                "%-10s %9s %7s %9s %9s %9s %9s %9s %11s %9s%n",
+                "threads",
+                "count",
+                "errors",
+                "req/s",
+                "p50 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "throughput",
+                "p99"
+            )
+        );
+        double seconds = duration.toMillis() / 1000.0;
+        Histogram baseline = reports.values().iterator().next().total();
+        for (Map.Entry<String, LatencyReport> entry : reports.entrySet()) {
+            Histogram total = entry.getValue().total();
+            summary.append(
+                String.format(
+                    Locale.ROOT,
+                    "%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %10.2fx %8.2fx%n",
+                    entry.getKey(),
+                    total.getTotalCount(),
+                    entry.getValue().errorCount(),
+                    total.getTotalCount() / seconds,
+                    total.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    total.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    total.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    total.getMaxValue() / NANOS_PER_MILLI,
+                    (double) total.getTotalCount() / baseline.getTotalCount(),
+                    (double) total.getValueAtPercentile(99) / baseline.getValueAtPercentile(99)
+                )
+            );
+        }
+        Files.createDirectories(reportDirectory);
+        Files.writeString(reportDirectory.resolve("summary.txt"), summary);
+        System.out.print(summary);
+    }
+}
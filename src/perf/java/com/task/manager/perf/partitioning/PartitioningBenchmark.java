@@ -0,0 +1,158 @@
+package com.task.manager.perf.partitioning;
+
+import com.task.manager.perf.Dataset;
+import com.task.manager.perf.DatasetGenerator;
+import com.task.manager.perf.DatasetScale;
+import com.task.manager.perf.PerfApplication;
+import com.task.manager.perf.PerfDatabase;
+import com.task.manager.service.TaskService;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import javax.sql.DataSource;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Compares the latency of the month view ({@link TaskService#findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships})
+ * before and after the {@code task} table is partitioned by month.
+ * <p>
+ * The dataset is generated once in the regular layout and measured, then the application is restarted with the
+ * {@code partitioning} Liquibase context, which migrates the same rows, and the same sequence of (user, month) queries is
+ * measured again. Run with {@code ./mvnw -Pperf test-compile exec:exec@partitioning -Dperf.scale=huge} (50 000 000
+ * tasks, expect hours of generation; use a fresh database, as the migration is part of the run). Settings are read from
+ * system properties:
+ * <ul>
+ *     <li>{@code perf.scale}: dataset preset, see {@link DatasetScale}</li>
+ *     <li>{@code perf.partitioning.queries}: measured queries per layout (default 2000), preceded by a quarter as many
+ *     warmup queries</li>
+ *     <li>{@code perf.report-dir}: where the summary and histograms are written (default {@code target/perf/partitioning})</li>
+ * </ul>
+ */
+public final class PartitioningBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitioningBenchmark.class);
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final Pageable CALENDAR_PAGE = PageRequest.of(0, 200);
+
+    private PartitioningBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        DatasetScale scale = DatasetScale.fromSystemProperties();
+        int queries = Integer.getInteger("perf.partitioning.queries", 2000);
+        Path reportDirectory = Path.of(System.getProperty("perf.report-dir", "target/perf/partitioning"));
+        Files.createDirectories(reportDirectory);
+
+        Map<String, Histogram> results = new LinkedHashMap<>();
+        Map<String, Duration> migrations = new LinkedHashMap<>();
+        try (PerfDatabase database = PerfDatabase.start()) {
+            Dataset dataset;
+            try (ConfigurableApplicationContext context = PerfApplication.start(database, Map.of("server.port", -1))) {
+                dataset = new DatasetGenerator(context.getBean(DataSource.class)).generate(scale);
+                results.put("regular", measure(context, dataset, queries));
+            }
+
+            long start = System.nanoTime();
+            try (
+                ConfigurableApplicationContext context = PerfApplication.start(
+                    database,
+                    Map.of("server.port", -1, "spring.liquibase.contexts", "test,partitioning")
+                )
+            ) {
+                migrations.put("partitioned", Duration.ofNanos(System.nanoTime() - start));
+                results.put("partitioned", measure(context, dataset, queries));
+            }
+        }
+        writeSummary(scale, results, migrations, reportDirectory);
+    }
+
+    private static Histogram measure(ConfigurableApplicationContext context, Dataset dataset, int queries) {
+        TaskService taskService = context.getBean(TaskService.class);
+        // same seed for both layouts, so that they answer the same queries
+        SplittableRandom random = new SplittableRandom(dataset.scale().seed());
+        for (int i = 0; i < queries / 4; i++) {
+            monthView(taskService, dataset, random);
+        }
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            monthView(taskService, dataset, random);
+            histogram.recordValue(System.nanoTime() - start);
+        }
+        log.info("Measured {} month views, p50 {} ms", queries, histogram.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        return histogram;
+    }
+
+    private static void monthView(TaskService taskService, Dataset dataset, SplittableRandom random) {
+        int userIndex = random.nextInt(dataset.scale().users());
+        YearMonth month = YearMonth.from(dataset.randomExecutionTime(random).atZone(ZoneOffset.UTC));
+        taskService.findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(
+            dataset.userId(userIndex),
+            month.getYear(),
+            month.getMonthValue(),
+            CALENDAR_PAGE
+        );
+    }
+
+    private static void writeSummary(
+        DatasetScale scale,
+        Map<String, Histogram> results,
+        Map<String, Duration> migrations,
+        Path reportDirectory
+    ) throws IOException {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "month view, %d tasks%n", scale.tasks()));
+        summary.append(
+            String.format(
+                Locale.ROOT,
+                "%-12s %9s %9s %9s %9s %9s %9s %14s%n",
+                "layout",
+                "queries",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "max ms",
+                "speedup",
+                "boot+migr. s"
+            )
+        );
+        double baseline = results.values().iterator().next().getValueAtPercentile(50);
+        for (Map.Entry<String, Histogram> result : results.entrySet()) {
+            Histogram histogram = result.getValue();
+            Duration migration = migrations.get(result.getKey());
+            summary.append(
+                String.format(
+                    Locale.ROOT,
+                    "%-12s %9d %9.2f %9.2f %9.2f %9.2f %9.2f %14s%n",
+                    result.getKey(),
+                    histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI,
+                    baseline / histogram.getValueAtPercentile(50),
+                    migration == null ? "-" : String.valueOf(migration.toSeconds())
+                )
+            );
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(reportDirectory.resolve(result.getKey() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+            }
+        }
+        Files.writeString(reportDirectory.resolve("summary.txt"), summary);
+        System.out.print(summary);
+    }
+}
@@ -0,0 +1,307 @@
+package com.task.manager.perf.startup;
+
+import com.task.manager.perf.PerfDatabase;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures how long the packaged application takes to become ready, and how slow its first requests are, for several
+ * packaging variants:
+ * <ul>
+ *     <li>{@code jar}: the regular executable jar ({@code ./mvnw -Pprod package})</li>
+ *     <li>{@code aot}: the {@code fast-boot} artifact with the Spring AOT initializers enabled</li>
+ *     <li>{@code aot-cds}: the same, with the AppCDS archive of the {@code fast-boot} training run</li>
+ * </ul>
+ * A {@code +skip-liquibase} suffix (for instance {@code jar+skip-liquibase}) starts the variant with
+ * {@code application.liquibase.mode=skip-if-unchanged}, which shows the time saved by not running Liquibase.
+ * <p>
+ * Every run is a new JVM started against the same database, as during a rolling restart: the schema is created by a
+ * first, unmeasured run in {@code migrate} mode. Run with {@code ./mvnw -Pperf test-compile exec:exec@startup} after
+ * {@code ./mvnw -Pprod,fast-boot package}. Settings are read from system properties:
+ * <ul>
+ *     <li>{@code perf.startup.variants}: comma separated variants (default
+ *     {@code jar,jar+skip-liquibase,aot,aot-cds,aot-cds+skip-liquibase}), variants whose
+ *     artifacts were not built are skipped</li>
+ *     <li>{@code perf.startup.iterations}: measured boots per variant (default 5)</li>
+ *     <li>{@code perf.report-dir}: where the logs and summary are written (default {@code target/perf/startup})</li>
+ * </ul>
+ * Any {@code perf.app.*} system property is passed to the application as a command line argument with the prefix
+ * removed, for instance {@code -Dperf.app.spring.jpa.show-sql=true}.
+ */
+public final class StartupBenchmark {
+
+    private static final String APP_PROPERTY_PREFIX = "perf.app.";
+
+    private static final String DEFAULT_VARIANTS = "jar,jar+skip-liquibase,aot,aot-cds,aot-cds+skip-liquibase";
+
+    private static final Duration BOOT_TIMEOUT = Duration.ofMinutes(3);
+
+    private static final Pattern STARTED = Pattern.compile("Started TaskManagerApp in ([0-9.]+) seconds");
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final PerfDatabase database;
+
+    private final Path reportDirectory;
+
+    private StartupBenchmark(PerfDatabase database, Path reportDirectory) {
+        this.database = database;
+        this.reportDirectory = reportDirectory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(System.getProperty("perf.target", "target")).toAbsolutePath();
+        String finalName = System.getProperty("perf.final-name", "task-manager-0.0.1-SNAPSHOT");
+        List<String> variantNames = Arrays.asList(System.getProperty("perf.startup.variants", DEFAULT_VARIANTS).split(","));
+        int iterations = Integer.getInteger("perf.startup.iterations", 5);
+        Path reportDirectory = Path.of(System.getProperty("perf.report-dir", "target/perf/startup"));
+        Files.createDirectories(reportDirectory);
+
+        List<Variant> variants = new ArrayList<>();
+        for (String name : variantNames) {
+            Variant variant = Variant.of(name.trim(), target, finalName);
+            if (Files.exists(variant.jar()) && variant.requiredFiles().stream().allMatch(Files::exists)) {
+                variants.add(variant);
+            } else {
+                System.out.printf("Skipping variant %s, build it first (%s)%n", variant.name(), variant.jar());
+            }
+        }
+        if (variants.isEmpty()) {
+            throw new IllegalStateException("Nothing to measure, build with ./mvnw -Pprod,fast-boot package first");
+        }
+
+        try (PerfDatabase database = PerfDatabase.start()) {
+            StartupBenchmark benchmark = new StartupBenchmark(database, reportDirectory);
+            // creates the schema and stores the changelog checksum, so that every measured boot only validates the changelog
+            benchmark.migrate(variants.get(0));
+
+            Map<Variant, List<Sample>> samples = new LinkedHashMap<>();
+            for (int i = 0; i < iterations; i++) {
+                // interleaved, so that a slower period of the machine does not favour one variant
+                for (Variant variant : variants) {
+                    Sample sample = benchmark.boot(variant, String.valueOf(i));
+                    System.out.printf("%-22s #%d %s%n", variant.name(), i, sample);
+                    samples.computeIfAbsent(variant, v -> new ArrayList<>()).add(sample);
+                }
+            }
+            try (PrintStream summary = new PrintStream(Files.newOutputStream(reportDirectory.resolve("summary.txt")), true)) {
+                writeSummary(samples, System.out);
+                writeSummary(samples, summary);
+            }
+        }
+    }
+
+    private void migrate(Variant variant) throws IOException, InterruptedException {
+        Path log = reportDirectory.resolve("migrate.log");
+        List<String> command = command(variant, List.of("--application.liquibase.mode=migrate"));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        if (!process.waitFor(BOOT_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+            throw new IllegalStateException("Migration not finished after " + BOOT_TIMEOUT + ", see " + log);
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("Migration failed with status " + process.exitValue() + ", see " + log);
+        }
+    }
+
+    private Sample boot(Variant variant, String run) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = command(variant, List.of("--server.port=" + port));
+        Path log = reportDirectory.resolve(variant.name() + "-" + run + ".log");
+        URI base = URI.create("http://localhost:" + port);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            awaitReady(process, base.resolve("/management/health/readiness"), start);
+            long ready = System.nanoTime();
+
+            HttpResponse<String> authentication = http.send(
+                HttpRequest
+                    .newBuilder(base.resolve("/api/authenticate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"user\",\"rememberMe\":false}"))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+            long authenticated = System.nanoTime();
+            Matcher token = Pattern.compile("\"id_token\"\\s*:\\s*\"([^\"]+)\"").matcher(authentication.body());
+            if (authentication.statusCode() != 200 || !token.find()) {
+                throw new IllegalStateException("Authentication failed with status " + authentication.statusCode() + ", see " + log);
+            }
+
+            HttpResponse<String> account = http.send(
+                HttpRequest.newBuilder(base.resolve("/api/account")).header("Authorization", "Bearer " + token.group(1)).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+            long firstApiCall = System.nanoTime();
+            if (account.statusCode() != 200) {
+                throw new IllegalStateException("GET /api/account failed with status " + account.statusCode() + ", see " + log);
+            }
+            return new Sample(
+                Duration.ofNanos(ready - start),
+                startedIn(log),
+                Duration.ofNanos(authenticated - ready),
+                Duration.ofNanos(firstApiCall - authenticated)
+            );
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> command(Variant variant, List<String> extraArguments) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArguments());
+        command.add("-jar");
+        command.add(variant.jar().toString());
+        command.add("--spring.profiles.active=prod");
+        command.add("--spring.datasource.url=" + database.getJdbcUrl());
+        command.add("--spring.datasource.username=" + database.getUsername());
+        command.add("--spring.datasource.password=" + database.getPassword());
+        command.addAll(variant.appArguments());
+        System
+            .getProperties()
+            .stringPropertyNames()
+            .stream()
+            .filter(name -> name.startsWith(APP_PROPERTY_PREFIX))
+            .forEach(name -> command.add("--" + name.substring(APP_PROPERTY_PREFIX.length()) + "=" + System.getProperty(name)));
+        command.addAll(extraArguments);
+        return command;
+    }
+
+    private void awaitReady(Process process, URI readiness, long start) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(readiness).timeout(Duration.ofSeconds(1)).GET().build();
+        while (System.nanoTime() - start < BOOT_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application not ready after " + BOOT_TIMEOUT);
+    }
+
+    /**
+     * Startup time as reported by Spring Boot itself, which excludes the JVM start and the wait for readiness.
+     */
+    private static Duration startedIn(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Duration.ofMillis(Math.round(Double.parseDouble(matcher.group(1)) * 1000)) : null;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void writeSummary(Map<Variant, List<Sample>> samples, PrintStream out) {
+        out.printf(
+            "%-22s %14s %14s %14s %14s %9s%n",
+            "variant",
+            "ready (med)",
+            "ready (min)",
+            "spring (med)",
+            "1st req (med)",
+            "speedup"
+        );
+        long baseline = -1;
+        for (Map.Entry<Variant, List<Sample>> entry : samples.entrySet()) {
+            List<Sample> runs = entry.getValue();
+            long ready = median(runs.stream().mapToLong(s -> s.ready().toMillis()).toArray());
+            long minReady = runs.stream().mapToLong(s -> s.ready().toMillis()).min().orElse(0);
+            long spring = median(runs.stream().filter(s -> s.startedIn() != null).mapToLong(s -> s.startedIn().toMillis()).toArray());
+            long firstRequest = median(runs.stream().mapToLong(s -> s.authentication().plus(s.firstApiCall()).toMillis()).toArray());
+            if (baseline < 0) {
+                baseline = ready;
+            }
+            out.printf(
+                "%-22s %11d ms %11d ms %11d ms %11d ms %8.2fx%n",
+                entry.getKey().name(),
+                ready,
+                minReady,
+                spring,
+                firstRequest,
+                (double) baseline / ready
+            );
+        }
+    }
+
+    private static long median(long[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    /**
+     * One boot: time until the readiness probe answers, Spring's own startup time, then the latency of the first
+     * authentication and of the first authenticated API call.
+     */
+    private record Sample(Duration ready, Duration startedIn, Duration authentication, Duration firstApiCall) {
+        @Override
+        public String toString() {
+            return String.format(
+                "ready in %d ms (spring %s ms), first authentication %d ms, first API call %d ms",
+                ready.toMillis(),
+                startedIn == null ? "?" : startedIn.toMillis(),
+                authentication.toMillis(),
+                firstApiCall.toMillis()
+            );
+        }
+    }
+
+    private record Variant(String name, Path jar, List<String> jvmArguments, List<Path> requiredFiles, List<String> appArguments) {
+        static Variant of(String name, Path target, String finalName) {
+            Path fastBoot = target.resolve("fast-boot");
+            Path fastBootJar = fastBoot.resolve(finalName + "-fast-boot.jar");
+            Path archive = fastBoot.resolve("application.jsa");
+            String[] parts = name.split("\\+", 2);
+            List<String> appArguments = List.of();
+            if (parts.length > 1) {
+                if (!"skip-liquibase".equals(parts[1])) {
+                    throw new IllegalArgumentException("Unknown variant option " + parts[1] + ", expected skip-liquibase");
+                }
+                appArguments = List.of("--application.liquibase.mode=skip-if-unchanged");
+            }
+            return switch (parts[0]) {
+                case "jar" -> new Variant(name, target.resolve(finalName + ".jar"), List.of(), List.of(), appArguments);
+                case "aot" -> new Variant(name, fastBootJar, List.of("-Dspring.aot.enabled=true"), List.of(), appArguments);
+                case "aot-cds" -> new Variant(
+                    name,
+                    fastBootJar,
+                    List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true"),
+                    List.of(archive),
+                    appArguments
+                );
+                default -> throw new IllegalArgumentException("Unknown variant " + parts[0] + ", expected jar, aot or aot-cds");
+            };
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.task.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.task.manager.config.MysqlTestContainer;
+import com.task.manager.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Boots the application from the initializers generated by Spring AOT, as done by the {@code fast-boot} artifact.
+ * <p>
+ * Only enabled when the classes were processed ahead of time: {@code ./mvnw -Pprod,fast-boot verify}.
+ */
+@EnabledIf("isAotProcessed")
+class FastBootIT {
+
+    private static final String AOT_INITIALIZER = TaskManagerApp.class.getName() + "__ApplicationContextInitializer";
+
+    private static MysqlTestContainer mysqlContainer;
+
+    private static String previousAotEnabled;
+
+    static boolean isAotProcessed() {
+        return ClassUtils.isPresent(AOT_INITIALIZER, FastBootIT.class.getClassLoader());
+    }
+
+    @BeforeAll
+    static void startDatabase() {
+        mysqlContainer = new MysqlTestContainer();
+        mysqlContainer.afterPropertiesSet();
+        previousAotEnabled = System.setProperty(AotDetector.AOT_ENABLED, "true");
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (previousAotEnabled == null) {
+            System.clearProperty(AotDetector.AOT_ENABLED);
+        } else {
+            System.setProperty(AotDetector.AOT_ENABLED, previousAotEnabled);
+        }
+        mysqlContainer.destroy();
+    }
+
+    @Test
+    void aotContextBoots() {
+        try (
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApp.class)
+                .main(TaskManagerApp.class)
+                .profiles("prod")
+                .run(
+                    "--server.port=0",
+                    "--spring.datasource.url=" +
+                    mysqlContainer.getTestContainer().getJdbcUrl() +
+                    "?useUnicode=true&characterEncoding=utf8&useSSL=false&useLegacyDatetimeCode=false&createDatabaseIfNotExist=true",
+                    "--spring.datasource.username=" + mysqlContainer.getTestContainer().getUsername(),
+                    "--spring.datasource.password=" + mysqlContainer.getTestContainer().getPassword()
+                )
+        ) {
+            assertThat(context.getBeanFactory().getBeanDefinitionCount()).isPositive();
+            assertThat(context.getBean(ApplicationAvailability.class).getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+            assertThat(context.getBean(UserRepository.class).findOneByLogin("admin")).isPresent();
+        }
+    }
+}
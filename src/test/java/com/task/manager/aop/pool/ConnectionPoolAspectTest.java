@@ -0,0 +1,94 @@
+package com.task.manager.aop.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.task.manager.repository.ConnectionPool;
+import com.task.manager.repository.Workload;
+import com.task.manager.repository.WorkloadRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for the {@link ConnectionPoolAspect} class.
+ */
+class ConnectionPoolAspectTest {
+
+    private Reports reports;
+
+    private Jobs jobs;
+
+    @BeforeEach
+    void setUp() {
+        reports = proxy(new Reports());
+        jobs = proxy(new Jobs());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void shouldUseThePoolOfTheMethod() {
+        assertThat(reports.export()).isEqualTo(Workload.REPORTING);
+        assertThat(WorkloadRoutingDataSource.current()).isEqualTo(Workload.OLTP);
+    }
+
+    @Test
+    void shouldUseThePoolOfTheClass() {
+        assertThat(jobs.archive()).isEqualTo(Workload.BATCH);
+    }
+
+    @Test
+    void shouldUseTheDefaultPoolWithoutAnnotation() {
+        assertThat(reports.list()).isEqualTo(Workload.OLTP);
+    }
+
+    @Test
+    void shouldKeepThePoolOfTheCurrentTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThat(reports.export()).isEqualTo(Workload.OLTP);
+    }
+
+    @Test
+    void shouldRestoreThePoolOfTheCaller() {
+        assertThat(jobs.exportFromJob(reports)).isEqualTo(Workload.REPORTING);
+    }
+
+    private static <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ConnectionPoolAspect());
+        return factory.getProxy();
+    }
+
+    static class Reports {
+
+        @ConnectionPool(Workload.REPORTING)
+        public Workload export() {
+            return WorkloadRoutingDataSource.current();
+        }
+
+        public Workload list() {
+            return WorkloadRoutingDataSource.current();
+        }
+    }
+
+    @ConnectionPool(Workload.BATCH)
+    static class Jobs {
+
+        public Workload archive() {
+            return WorkloadRoutingDataSource.current();
+        }
+
+        public Workload exportFromJob(Reports reports) {
+            Workload export = reports.export();
+            assertThat(WorkloadRoutingDataSource.current()).isEqualTo(Workload.BATCH);
+            return export;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.task.manager.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for the {@link AsyncConfiguration} class.
+ */
+class AsyncConfigurationTest {
+
+    private TaskExecutionProperties taskExecutionProperties;
+
+    private MockEnvironment env;
+
+    @BeforeEach
+    void setup() {
+        taskExecutionProperties = new TaskExecutionProperties();
+        taskExecutionProperties.setThreadNamePrefix("async-test-");
+        env = new MockEnvironment();
+    }
+
+    @Test
+    void shouldRunTasksOnPlatformThreadsByDefault() throws Exception {
+        Thread thread = runOn(new AsyncConfiguration(taskExecutionProperties, new ApplicationProperties(), env).getAsyncExecutor());
+
+        assertThat(thread.getName()).startsWith("async-test-");
+        assertThat(thread.toString()).doesNotStartWith("VirtualThread");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldRunTasksOnVirtualThreadsWhenEnabled() throws Exception {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+
+        Thread thread = runOn(new AsyncConfiguration(taskExecutionProperties, new ApplicationProperties(), env).getAsyncExecutor());
+
+        assertThat(thread.getName()).startsWith("async-test-");
+        assertThat(thread.toString()).startsWith("VirtualThread");
+    }
+
+    private static Thread runOn(Executor executor) throws Exception {
+        ((InitializingBean) executor).afterPropertiesSet();
+        try {
+            return ((AsyncTaskExecutor) executor).submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+        } finally {
+            ((DisposableBean) executor).destroy();
+        }
+    }
+}
@@ -12,4 +12,9 @@ public class AsyncSyncConfiguration {
     public Executor taskExecutor() {
         return new SyncTaskExecutor();
     }
+
+    @Bean(name = "reportingExecutor")
+    public Executor reportingExecutor() {
+        return new SyncTaskExecutor();
+    }
 }
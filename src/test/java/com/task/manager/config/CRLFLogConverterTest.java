@@ -0,0 +1,71 @@
+package com.task.manager.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+class CRLFLogConverterTest {
+
+    private CRLFLogConverter converter;
+
+    @BeforeEach
+    void setup() {
+        converter = new CRLFLogConverter();
+        converter.start();
+    }
+
+    @Test
+    void transformShouldReturnSameInstanceWithoutControlCharacters() {
+        ILoggingEvent event = event("com.task.manager.service.TaskService", null);
+        String input = "Request to save Task : Task{id=1, title='plain'}";
+
+        assertThat(converter.transform(event, input)).isSameAs(input);
+    }
+
+    @Test
+    void transformShouldReplaceEveryControlCharacter() {
+        ILoggingEvent event = event("com.task.manager.service.TaskService", null);
+
+        assertThat(converter.transform(event, "a\nb\r\nc\td")).isEqualTo("a_b__c_d");
+        assertThat(converter.transform(event, "\nstart and end\t")).isEqualTo("_start and end_");
+    }
+
+    @Test
+    void transformShouldKeepInputOfSafeLoggers() {
+        ILoggingEvent event = event("org.hibernate.SQL", null);
+        String input = "select\n  task";
+
+        assertThat(converter.transform(event, input)).isSameAs(input);
+        assertThat(converter.transform(event, input)).isSameAs(input);
+    }
+
+    @Test
+    void transformShouldKeepInputWithCrlfSafeMarker() {
+        ILoggingEvent event = event("com.task.manager.TaskManagerApp", List.of(CRLFLogConverter.CRLF_SAFE_MARKER));
+        String input = "\n----\n";
+
+        assertThat(converter.transform(event, input)).isSameAs(input);
+    }
+
+    @Test
+    void transformShouldNotTrustOtherMarkers() {
+        Marker marker = MarkerFactory.getMarker("OTHER");
+        ILoggingEvent event = event("com.task.manager.TaskManagerApp", List.of(marker));
+
+        assertThat(converter.transform(event, "a\nb")).isEqualTo("a_b");
+    }
+
+    private static ILoggingEvent event(String loggerName, List<Marker> markers) {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getLoggerName()).thenReturn(loggerName);
+        when(event.getMarkerList()).thenReturn(markers);
+        return event;
+    }
+}
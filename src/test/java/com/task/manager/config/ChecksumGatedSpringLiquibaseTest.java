@@ -0,0 +1,28 @@
+package com.task.manager.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import liquibase.exception.LiquibaseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class ChecksumGatedSpringLiquibaseTest {
+
+    @Test
+    void checksumShouldBeStable() throws LiquibaseException {
+        assertThat(liquibase("prod").changelogChecksum()).hasSize(64).isEqualTo(liquibase("prod").changelogChecksum());
+    }
+
+    @Test
+    void checksumShouldDependOnContexts() throws LiquibaseException {
+        assertThat(liquibase("prod").changelogChecksum()).isNotEqualTo(liquibase("dev, faker").changelogChecksum());
+    }
+
+    private static ChecksumGatedSpringLiquibase liquibase(String contexts) {
+        ChecksumGatedSpringLiquibase liquibase = new ChecksumGatedSpringLiquibase(true, "jhi_changelog_checksum");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:config/liquibase/master.xml");
+        liquibase.setContexts(contexts);
+        return liquibase;
+    }
+}
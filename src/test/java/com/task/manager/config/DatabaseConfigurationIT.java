@@ -0,0 +1,103 @@
+package com.task.manager.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.task.manager.IntegrationTest;
+import com.task.manager.repository.UserRepository;
+import com.task.manager.repository.Workload;
+import com.task.manager.repository.WorkloadRoutingDataSource;
+import com.task.manager.service.TaskArchiveService;
+import com.task.manager.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the connection pools of {@link DatabaseConfiguration}.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.connection-pools.reporting.maximum-pool-size=2",
+        "application.connection-pools.reporting.connection-timeout=1s",
+    }
+)
+class DatabaseConfigurationIT {
+
+    private static final Duration REPORTING_CONNECTION_TIMEOUT = Duration.ofSeconds(1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldServeRequestsWhileExportsSaturateTheReportingPool() throws Exception {
+        Long userId = userRepository.findOneByLogin("user").orElseThrow().getId();
+        taskService.findAllByUserId(userId, PageRequest.of(0, 20));
+
+        List<Connection> exports = acquire(Workload.REPORTING, 2);
+        try {
+            long start = System.nanoTime();
+            taskService.findAllByUserId(userId, PageRequest.of(0, 20));
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(REPORTING_CONNECTION_TIMEOUT);
+
+            assertThatThrownBy(() -> taskService.findAllByUserIdIncludingArchived(userId, PageRequest.of(0, 20), false))
+                .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+        } finally {
+            for (Connection export : exports) {
+                export.close();
+            }
+        }
+
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").tag("pool", "reporting").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").tag("pool", "oltp").counter().count()).isZero();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "oltp").timer().count()).isPositive();
+        assertThat(taskService.findAllByUserIdIncludingArchived(userId, PageRequest.of(0, 20), false)).isNotNull();
+    }
+
+    @Test
+    void shouldRunScheduledJobsOnTheBatchPool() {
+        // the pool starts, and registers its meters, on its first connection
+        Timer acquisitions = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "batch").timer();
+        double acquired = acquisitions == null ? 0 : acquisitions.count();
+
+        taskArchiveService.archiveClosedTasks();
+
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "batch").timer().count()).isGreaterThan(acquired);
+        assertThat(WorkloadRoutingDataSource.current()).isEqualTo(Workload.OLTP);
+    }
+
+    private List<Connection> acquire(Workload workload, int count) throws Exception {
+        List<Connection> connections = new ArrayList<>();
+        Workload previous = WorkloadRoutingDataSource.use(workload);
+        try {
+            for (int i = 0; i < count; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+        }
+        return connections;
+    }
+}
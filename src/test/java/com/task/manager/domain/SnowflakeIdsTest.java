@@ -0,0 +1,123 @@
+package com.task.manager.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdsTest {
+
+    private static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    @Test
+    void shouldEncodeTheSecondAndTheWorker() {
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+        SnowflakeIds ids = at(now, 5);
+
+        long id = ids.next();
+
+        assertThat(SnowflakeIds.timestampOf(id)).isEqualTo(now);
+        assertThat((id >>> SnowflakeIds.SEQUENCE_BITS) & SnowflakeIds.MAX_WORKER_ID).isEqualTo(5);
+        assertThat(at(now, 6).next()).isNotEqualTo(id);
+    }
+
+    @Test
+    void shouldWaitForTheNextSecondWhenTheSequenceIsExhausted() {
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+        MutableClockIds ids = new MutableClockIds(now.toEpochMilli() + 400);
+        long previous = ids.next();
+        for (int i = 1; i < 1 << SnowflakeIds.SEQUENCE_BITS; i++) {
+            long id = ids.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(SnowflakeIds.timestampOf(previous)).isEqualTo(now);
+        assertThat(ids.slept).isZero();
+
+        long id = ids.next();
+
+        assertThat(id).isGreaterThan(previous);
+        assertThat(SnowflakeIds.timestampOf(id)).isEqualTo(now.plusSeconds(1));
+        assertThat(ids.slept).isEqualTo(600);
+    }
+
+    @Test
+    void shouldWaitForTheClockWhenItGoesBackwards() {
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+        MutableClockIds ids = new MutableClockIds(now.toEpochMilli());
+        long previous = ids.next();
+
+        ids.millis = now.minusSeconds(2).toEpochMilli();
+        long id = ids.next();
+
+        assertThat(id).isGreaterThan(previous);
+        assertThat(SnowflakeIds.timestampOf(id)).isEqualTo(now);
+        assertThat(ids.slept).isEqualTo(2000);
+    }
+
+    @Test
+    void shouldFailWhenTheClockGoesFarBackwards() {
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+        MutableClockIds ids = new MutableClockIds(now.toEpochMilli());
+        ids.next();
+
+        ids.millis = now.minusSeconds(60).toEpochMilli();
+
+        assertThatThrownBy(ids::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsConcurrently() {
+        SnowflakeIds ids = new MutableClockIds(Instant.parse("2024-05-01T10:00:00Z").toEpochMilli());
+        Set<Long> generated = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> generated.add(ids.next()));
+
+        assertThat(generated).hasSize(100_000).allMatch(id -> id > 0 && id <= MAX_SAFE_INTEGER);
+    }
+
+    @Test
+    void shouldRejectAWorkerIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeIds(SnowflakeIds.MAX_WORKER_ID + 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIds(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SnowflakeIds at(Instant now, int workerId) {
+        return new SnowflakeIds(workerId) {
+            @Override
+            long currentTimeMillis() {
+                return now.toEpochMilli();
+            }
+        };
+    }
+
+    /**
+     * Clock which only moves when the generator sleeps, guarded by the lock of the generator.
+     */
+    private static class MutableClockIds extends SnowflakeIds {
+
+        private long millis;
+
+        private long slept;
+
+        MutableClockIds(long millis) {
+            super(0);
+            this.millis = millis;
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return millis;
+        }
+
+        @Override
+        void sleep(long millis) {
+            this.millis += millis;
+            slept += millis;
+        }
+    }
+}
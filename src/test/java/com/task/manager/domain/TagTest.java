@@ -4,7 +4,6 @@ import static com.task.manager.domain.TagTestSamples.*;
 import static com.task.manager.domain.TaskTestSamples.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.task.manager.web.rest.TestUtil;
 import java.util.HashSet;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -13,18 +12,30 @@ class TagTest {
 
     @Test
     void equalsVerifier() throws Exception {
-        TestUtil.equalsVerifier(Tag.class);
         Tag tag1 = getTagSample1();
+        assertThat(tag1).isEqualTo(tag1).hasSameHashCodeAs(tag1);
+        assertThat(tag1).isNotEqualTo(new Object()).isNotEqualTo(null);
         Tag tag2 = new Tag();
         assertThat(tag1).isNotEqualTo(tag2);
 
-        tag2.setId(tag1.getId());
-        assertThat(tag1).isEqualTo(tag2);
+        tag2.setUuid(tag1.getUuid());
+        assertThat(tag1).isEqualTo(tag2).hasSameHashCodeAs(tag2);
 
         tag2 = getTagSample2();
+        tag2.setId(tag1.getId());
         assertThat(tag1).isNotEqualTo(tag2);
     }
 
+    @Test
+    void hashCodeDoesNotChangeWhenPersisted() {
+        Tag tag = new Tag();
+        Set<Tag> tags = new HashSet<>();
+        tags.add(tag);
+
+        tag.setId(1L);
+        assertThat(tags).contains(tag);
+    }
+
     @Test
     void taskTest() throws Exception {
         Tag tag = getTagRandomSampleGenerator();
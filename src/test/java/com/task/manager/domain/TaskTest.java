@@ -4,7 +4,6 @@ import static com.task.manager.domain.TagTestSamples.*;
 import static com.task.manager.domain.TaskTestSamples.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.task.manager.web.rest.TestUtil;
 import java.util.HashSet;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -13,18 +12,30 @@ class TaskTest {
 
     @Test
     void equalsVerifier() throws Exception {
-        TestUtil.equalsVerifier(Task.class);
         Task task1 = getTaskSample1();
+        assertThat(task1).isEqualTo(task1).hasSameHashCodeAs(task1);
+        assertThat(task1).isNotEqualTo(new Object()).isNotEqualTo(null);
         Task task2 = new Task();
         assertThat(task1).isNotEqualTo(task2);
 
-        task2.setId(task1.getId());
-        assertThat(task1).isEqualTo(task2);
+        task2.setUuid(task1.getUuid());
+        assertThat(task1).isEqualTo(task2).hasSameHashCodeAs(task2);
 
         task2 = getTaskSample2();
+        task2.setId(task1.getId());
         assertThat(task1).isNotEqualTo(task2);
     }
 
+    @Test
+    void hashCodeDoesNotChangeWhenPersisted() {
+        Task task = new Task();
+        Set<Task> tasks = new HashSet<>();
+        tasks.add(task);
+
+        task.setId(1L);
+        assertThat(tasks).contains(task);
+    }
+
     @Test
     void tagTest() throws Exception {
         Task task = getTaskRandomSampleGenerator();
@@ -0,0 +1,37 @@
+package com.task.manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class TaskProjectionTest {
+
+    @Test
+    void shouldShareThePlanOfTheSameFields() {
+        TaskProjection projection = TaskProjection.of("title,closed");
+
+        assertThat(TaskProjection.of(" closed , title,id")).isSameAs(projection);
+        assertThat(projection.getFields()).containsExactly("id", "title", "closed");
+        assertThat(projection.isWithTags()).isFalse();
+        assertThat(projection.selectClause(false)).isEqualTo("select task.id, task.title, task.closed");
+    }
+
+    @Test
+    void shouldSelectTagsSeparately() {
+        TaskProjection projection = TaskProjection.of("tags,version");
+
+        assertThat(projection.isWithTags()).isTrue();
+        assertThat(projection.selectClause(false)).isEqualTo("select task.id, task.version");
+        assertThat(projection.selectClause(true)).isEqualTo("select task.id");
+        assertThat(projection.toRow(new Object[] { 1L }, true)).containsEntry("id", 1L).containsEntry("version", null);
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> TaskProjection.of("title,user")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(TaskProjection.isSortable(Sort.by("executionTime", "id"))).isTrue();
+        assertThat(TaskProjection.isSortable(Sort.by("tags"))).isFalse();
+    }
+}
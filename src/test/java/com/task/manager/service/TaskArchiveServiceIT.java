@@ -0,0 +1,131 @@
+package com.task.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.task.manager.IntegrationTest;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import com.task.manager.domain.User;
+import com.task.manager.repository.TagRepository;
+import com.task.manager.repository.TaskArchiveRepository;
+import com.task.manager.repository.TaskRepository;
+import com.task.manager.repository.UserRepository;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link TaskArchiveService}.
+ */
+@IntegrationTest
+@Transactional
+class TaskArchiveServiceIT {
+
+    private static final ZonedDateTime OLD_EXECUTION_TIME = ZonedDateTime.of(2020, 3, 10, 12, 0, 0, 0, ZoneId.of("America/Sao_Paulo"));
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    private Tag tag;
+
+    @BeforeEach
+    public void init() {
+        user = userRepository.findOneByLogin("user").orElseThrow();
+        tag = tagRepository.saveAndFlush(new Tag().name("archived").user(user));
+    }
+
+    @Test
+    void assertThatOnlyOldClosedTasksAreArchived() {
+        Task oldClosed = saveTask(OLD_EXECUTION_TIME.toInstant(), true);
+        Task oldOpen = saveTask(OLD_EXECUTION_TIME.toInstant(), false);
+        Task recentClosed = saveTask(Instant.now().minus(1, ChronoUnit.DAYS), true);
+
+        taskArchiveService.archiveClosedTasks();
+
+        assertThat(taskRepository.existsById(oldClosed.getId())).isFalse();
+        assertThat(taskRepository.existsById(oldOpen.getId())).isTrue();
+        assertThat(taskRepository.existsById(recentClosed.getId())).isTrue();
+        assertThat(taskArchiveRepository.findById(oldClosed.getId())).hasValueSatisfying(archive -> {
+            assertThat(archive.getTitle()).isEqualTo(oldClosed.getTitle());
+            assertThat(archive.getArchivedDate()).isNotNull();
+        });
+    }
+
+    @Test
+    void assertThatBatchesAreRepeatedUntilNothingIsLeft() {
+        Task first = saveTask(OLD_EXECUTION_TIME.toInstant(), true);
+        Task second = saveTask(OLD_EXECUTION_TIME.toInstant(), true);
+
+        assertThat(taskArchiveService.archiveBatch(Instant.now(), 1)).isEqualTo(1);
+        assertThat(taskArchiveService.archiveBatch(Instant.now(), 1)).isEqualTo(1);
+        assertThat(taskArchiveRepository.existsById(first.getId())).isTrue();
+        assertThat(taskArchiveRepository.existsById(second.getId())).isTrue();
+    }
+
+    @Test
+    void assertThatArchivedTasksAreReadBack() {
+        Task oldClosed = saveTask(OLD_EXECUTION_TIME.toInstant(), true);
+        Task oldOpen = saveTask(OLD_EXECUTION_TIME.toInstant(), false);
+
+        taskArchiveService.archiveClosedTasks();
+
+        Page<Task> month = taskService.findAllByUserIdAndExecutionTimeByMonthWithEagerRelationships(
+            user.getId(),
+            OLD_EXECUTION_TIME.getYear(),
+            OLD_EXECUTION_TIME.getMonthValue(),
+            PageRequest.of(0, 20)
+        );
+        assertThat(month.getTotalElements()).isEqualTo(2);
+        assertThat(month.getContent()).extracting(Task::getId).containsExactly(oldOpen.getId(), oldClosed.getId());
+        assertThat(month.getContent().get(1).getTags()).containsExactly(tag);
+        assertThat(taskService.findOne(oldClosed.getId())).hasValueSatisfying(task -> assertThat(task.getTags()).containsExactly(tag));
+    }
+
+    @Test
+    void assertThatPagesSpanBothTables() {
+        Task hot = saveTask(OLD_EXECUTION_TIME.toInstant(), false);
+        Task first = saveTask(OLD_EXECUTION_TIME.toInstant(), true);
+        Task second = saveTask(OLD_EXECUTION_TIME.toInstant(), true);
+        taskArchiveService.archiveClosedTasks();
+
+        int year = OLD_EXECUTION_TIME.getYear();
+        int month = OLD_EXECUTION_TIME.getMonthValue();
+        Page<Task> firstPage = taskService.findAllByUserIdAndExecutionTimeByMonth(user.getId(), year, month, PageRequest.of(0, 2));
+        Page<Task> secondPage = taskService.findAllByUserIdAndExecutionTimeByMonth(user.getId(), year, month, PageRequest.of(1, 2));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(firstPage.getContent()).extracting(Task::getId).containsExactly(hot.getId(), first.getId());
+        assertThat(secondPage.getContent()).extracting(Task::getId).containsExactly(second.getId());
+    }
+
+    private Task saveTask(Instant executionTime, boolean closed) {
+        Task task = new Task().title("archive " + executionTime).executionTime(executionTime).closed(closed).user(user);
+        return taskRepository.saveAndFlush(task.tags(new HashSet<>(Set.of(tag))));
+    }
+}
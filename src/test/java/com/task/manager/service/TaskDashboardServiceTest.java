@@ -0,0 +1,112 @@
+package com.task.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.service.dto.TaskCountDTO;
+import com.task.manager.service.dto.TaskDashboardDTO;
+import com.task.manager.web.rest.report.AsyncReportRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskDashboardServiceTest {
+
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+
+    private int queueCapacity = 10;
+
+    private ApplicationProperties applicationProperties;
+
+    private TaskService taskService;
+
+    private TaskDashboardService taskDashboardService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        applicationProperties = new ApplicationProperties();
+        taskDashboardService = new TaskDashboardService(taskService, reportRunner());
+    }
+
+    @Test
+    void shouldRunTheQueriesConcurrently() throws Exception {
+        when(taskService.countPastTasks(1L)).thenReturn(3L);
+        when(taskService.countUpcomingTasks(1L)).thenReturn(2L);
+        when(taskService.countResolvedTasksByTag(1L)).thenReturn(List.of(new TaskCountDTO("work", 1)));
+
+        CompletableFuture<TaskDashboardDTO> dashboard = taskDashboardService.getDashboard(1L);
+
+        // every query is submitted before any of them runs
+        assertThat(queued).hasSize(3);
+        assertThat(dashboard).isNotDone();
+        runQueued();
+        assertThat(dashboard.get().tasks()).containsExactly(
+            new TaskCountDTO(TaskCountDTO.PAST, 3),
+            new TaskCountDTO(TaskCountDTO.UPCOMING, 2)
+        );
+        assertThat(dashboard.get().resolvedTasksByTag()).containsExactly(new TaskCountDTO("work", 1));
+    }
+
+    @Test
+    void shouldFailWhenAQueryFails() {
+        when(taskService.countUpcomingTasks(1L)).thenThrow(new IllegalStateException("failed"));
+
+        CompletableFuture<TaskDashboardDTO> dashboard = taskDashboardService.getDashboard(1L);
+        runQueued();
+
+        assertThatThrownBy(dashboard::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldSkipTheQueuedQueriesWhenOneIsRejected() {
+        queueCapacity = 2;
+
+        assertThatThrownBy(() -> taskDashboardService.getDashboard(1L)).isInstanceOf(RejectedExecutionException.class);
+        runQueued();
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void shouldSkipTheQueriesQueuedLongerThanTheTimeout() throws Exception {
+        applicationProperties.getReporting().setTimeout(Duration.ofMillis(1));
+        taskDashboardService = new TaskDashboardService(taskService, reportRunner());
+
+        CompletableFuture<TaskDashboardDTO> dashboard = taskDashboardService.getDashboard(1L);
+        Thread.sleep(10);
+        runQueued();
+
+        assertThat(dashboard).isCompletedExceptionally();
+        verifyNoInteractions(taskService);
+    }
+
+    private AsyncReportRunner reportRunner() {
+        Executor executor = task -> {
+            if (queued.size() >= queueCapacity) {
+                throw new RejectedExecutionException("full");
+            }
+            queued.add(task);
+        };
+        return new AsyncReportRunner(executor, applicationProperties, new SimpleMeterRegistry());
+    }
+
+    private void runQueued() {
+        Runnable task;
+        while ((task = queued.poll()) != null) {
+            task.run();
+        }
+    }
+}
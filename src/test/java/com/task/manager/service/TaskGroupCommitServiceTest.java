@@ -0,0 +1,156 @@
+package com.task.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.domain.Task;
+import com.task.manager.repository.QueryBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+class TaskGroupCommitServiceTest {
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private TaskService taskService;
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry registry;
+
+    private TaskGroupCommitService taskGroupCommitService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        when(taskService.save(any())).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        when(taskService.saveAll(anyList()))
+            .thenAnswer(invocation -> invocation.<List<Task>>getArgument(0).stream().map(this::withId).toList());
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getGroupCommit().setMaxBatchSize(10);
+        applicationProperties.getGroupCommit().setMaxDelay(Duration.ofMillis(50));
+        registry = new SimpleMeterRegistry();
+        taskGroupCommitService = new TaskGroupCommitService(taskService, applicationProperties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskGroupCommitService.stop();
+    }
+
+    @Test
+    void shouldSaveDirectlyWhenDisabled() {
+        taskGroupCommitService.start();
+
+        assertThat(taskGroupCommitService.save(new Task()).getId()).isNotNull();
+
+        verify(taskService).save(any());
+        verify(taskService, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldCommitConcurrentCreationsTogether() throws Exception {
+        applicationProperties.getGroupCommit().setEnabled(true);
+        taskGroupCommitService.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<Task>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> taskGroupCommitService.save(new Task())));
+            }
+            for (Future<Task> result : results) {
+                assertThat(result.get().getId()).isNotNull();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(taskService, never()).save(any());
+        assertThat(registry.get(TaskGroupCommitService.BATCH_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(20);
+        assertThat(registry.get(TaskGroupCommitService.BATCH_SIZE_METER_NAME).summary().count()).isLessThan(20);
+    }
+
+    @Test
+    void shouldFailOnlyTheInvalidTaskOfAFailedBatch() {
+        applicationProperties.getGroupCommit().setEnabled(true);
+        when(taskService.saveAll(anyList())).thenThrow(new IllegalStateException("batch failed"));
+        Task invalid = new Task().title("invalid");
+        when(taskService.save(invalid)).thenThrow(new IllegalArgumentException("invalid task"));
+        taskGroupCommitService.start();
+
+        assertThatThrownBy(() -> taskGroupCommitService.save(invalid)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(taskGroupCommitService.save(new Task()).getId()).isNotNull();
+    }
+
+    @Test
+    void shouldFailTheQueuedTasksAndSaveDirectlyOnceTheWriterDied() {
+        applicationProperties.getGroupCommit().setEnabled(true);
+        when(taskService.saveAll(anyList())).thenThrow(new LinkageError("writer died"));
+        taskGroupCommitService.start();
+
+        assertThatThrownBy(() -> taskGroupCommitService.save(new Task())).hasCauseInstanceOf(LinkageError.class);
+        assertThat(taskGroupCommitService.isRunning()).isFalse();
+        assertThat(taskGroupCommitService.save(new Task()).getId()).isNotNull();
+        verify(taskService).save(any());
+    }
+
+    @Test
+    void shouldCommitWithTheCrudBudget() {
+        applicationProperties.getGroupCommit().setEnabled(true);
+        AtomicReference<QueryBudget> budget = new AtomicReference<>();
+        when(taskService.saveAll(anyList()))
+            .thenAnswer(invocation -> {
+                budget.set(QueryBudget.current());
+                return invocation.<List<Task>>getArgument(0).stream().map(this::withId).toList();
+            });
+        taskGroupCommitService.start();
+
+        taskGroupCommitService.save(new Task());
+
+        assertThat(budget.get()).isNotNull();
+        assertThat(budget.get().getName()).isEqualTo("crud");
+    }
+
+    @Test
+    void shouldFailACallerWhoseTaskIsNotCommittedInTime() {
+        applicationProperties.getGroupCommit().setEnabled(true);
+        applicationProperties.getLatencyBudgets().setCrud(Duration.ofMillis(100));
+        CountDownLatch stuck = new CountDownLatch(1);
+        when(taskService.saveAll(anyList()))
+            .thenAnswer(invocation -> {
+                stuck.await();
+                return invocation.<List<Task>>getArgument(0).stream().map(this::withId).toList();
+            });
+        taskGroupCommitService.start();
+
+        try {
+            assertThatThrownBy(() -> taskGroupCommitService.save(new Task())).isInstanceOf(QueryTimeoutException.class);
+        } finally {
+            stuck.countDown();
+        }
+    }
+
+    private Task withId(Task task) {
+        return task.id(ids.incrementAndGet());
+    }
+}
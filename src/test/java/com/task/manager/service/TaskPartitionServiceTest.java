@@ -0,0 +1,112 @@
+package com.task.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.config.ApplicationProperties.Partitioning.ExpiredPartitions;
+import com.task.manager.repository.TaskArchiveRepository;
+import com.task.manager.repository.TaskPartitionRepository;
+import com.task.manager.repository.TaskPartitionRepository.TaskPartition;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class TaskPartitionServiceTest {
+
+    private TaskPartitionRepository taskPartitionRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private TaskPartitionService taskPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        taskPartitionRepository = mock(TaskPartitionRepository.class);
+        applicationProperties = new ApplicationProperties();
+        taskPartitionService =
+            new TaskPartitionService(
+                taskPartitionRepository,
+                mock(TaskArchiveRepository.class),
+                mock(TaskTagIndexService.class),
+                mock(DataVersionService.class),
+                applicationProperties,
+                mock(PlatformTransactionManager.class),
+                "UTC"
+            );
+    }
+
+    @Test
+    void partitionDefinitionShouldBoundTheMonth() {
+        assertThat(TaskPartitionRepository.partitionDefinition(YearMonth.of(2024, 12)))
+            .isEqualTo("partition p202412 values less than ('2025-01-01 00:00:00')");
+    }
+
+    @Test
+    void shouldDoNothingWhenNotPartitioned() {
+        when(taskPartitionRepository.findPartitions()).thenReturn(List.of());
+
+        taskPartitionService.maintainPartitions();
+
+        verify(taskPartitionRepository, never()).addMonthPartitions(any());
+    }
+
+    @Test
+    void shouldCreateTheMissingFutureMonths() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        when(taskPartitionRepository.findPartitions()).thenReturn(partitions(current.minusMonths(2), current));
+
+        taskPartitionService.maintainPartitions();
+
+        verify(taskPartitionRepository).addMonthPartitions(List.of(current.plusMonths(1), current.plusMonths(2), current.plusMonths(3)));
+    }
+
+    @Test
+    void shouldNotCreateExistingMonths() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        when(taskPartitionRepository.findPartitions()).thenReturn(partitions(current, current.plusMonths(3)));
+
+        taskPartitionService.maintainPartitions();
+
+        verify(taskPartitionRepository, never()).addMonthPartitions(any());
+    }
+
+    @Test
+    void shouldDropExpiredPartitionsButTheFirstOne() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        applicationProperties.getPartitioning().setExpiredPartitions(ExpiredPartitions.DROP);
+        applicationProperties.getPartitioning().setRetention(Duration.ofDays(100));
+        when(taskPartitionRepository.findPartitions()).thenReturn(partitions(current.minusMonths(12), current.plusMonths(3)));
+
+        taskPartitionService.maintainPartitions();
+
+        verify(taskPartitionRepository, never()).dropPartition(TaskPartitionRepository.partitionName(current.minusMonths(12)));
+        verify(taskPartitionRepository).dropPartition(TaskPartitionRepository.partitionName(current.minusMonths(11)));
+        verify(taskPartitionRepository).dropPartition(TaskPartitionRepository.partitionName(current.minusMonths(5)));
+        verify(taskPartitionRepository, never()).dropPartition(TaskPartitionRepository.partitionName(current.minusMonths(3)));
+        verify(taskPartitionRepository, never()).dropPartition(TaskPartitionRepository.CATCH_ALL_PARTITION);
+        verify(taskPartitionRepository, never()).findTaskIds(anyString(), anyInt());
+    }
+
+    private static List<TaskPartition> partitions(YearMonth first, YearMonth last) {
+        List<TaskPartition> partitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate upperBound = month.plusMonths(1).atDay(1);
+            partitions.add(new TaskPartition(TaskPartitionRepository.partitionName(month), upperBound));
+        }
+        partitions.add(new TaskPartition(TaskPartitionRepository.CATCH_ALL_PARTITION, null));
+        return partitions;
+    }
+}
@@ -0,0 +1,154 @@
+package com.task.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import com.task.manager.domain.User;
+import com.task.manager.repository.TaskRepository;
+import com.task.manager.service.dto.TaskTagFilter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class TaskTagIndexServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Long WORK = 10L;
+    private static final Long HOME = 11L;
+    private static final Long URGENT = 12L;
+
+    private static final Instant DAY_1 = Instant.parse("2024-05-01T00:00:00Z");
+    private static final Instant DAY_2 = Instant.parse("2024-05-02T00:00:00Z");
+
+    private TaskRepository taskRepository;
+
+    private TaskTagIndexService taskTagIndexService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskTagIndexService = new TaskTagIndexService(taskRepository, new ApplicationProperties());
+
+        List<Object[]> executionTimes = new ArrayList<>();
+        executionTimes.add(new Object[] { 1L, DAY_1.plusSeconds(3600) });
+        executionTimes.add(new Object[] { 2L, DAY_1.plusSeconds(7200) });
+        executionTimes.add(new Object[] { 3L, DAY_2.plusSeconds(3600) });
+        executionTimes.add(new Object[] { 4L, DAY_2.plusSeconds(7200) });
+        executionTimes.add(new Object[] { 5L, null });
+        List<Object[]> tags = new ArrayList<>();
+        tags.add(new Object[] { 1L, WORK });
+        tags.add(new Object[] { 1L, URGENT });
+        tags.add(new Object[] { 2L, HOME });
+        tags.add(new Object[] { 3L, WORK });
+        tags.add(new Object[] { 4L, WORK });
+        tags.add(new Object[] { 4L, URGENT });
+        tags.add(new Object[] { 5L, WORK });
+        when(taskRepository.findIdAndExecutionTimeByUserId(USER_ID)).thenReturn(executionTimes);
+        when(taskRepository.findTaskIdAndTagIdByUserId(USER_ID)).thenReturn(tags);
+    }
+
+    @Test
+    void shouldIntersectAllTags() {
+        TaskTagIndexService.Hits hits = find(filter(Set.of(WORK, URGENT), Set.of(), Set.of()), PageRequest.of(0, 20));
+
+        assertThat(hits.taskIds()).containsExactly(1L, 4L);
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUniteAnyTagsAndExcludeNoneTags() {
+        TaskTagIndexService.Hits hits = find(filter(Set.of(), Set.of(HOME, URGENT), Set.of(WORK)), PageRequest.of(0, 20));
+
+        assertThat(hits.taskIds()).containsExactly(2L);
+    }
+
+    @Test
+    void shouldReturnNothingForAnUnknownTag() {
+        assertThat(find(filter(Set.of(WORK, 99L), Set.of(), Set.of()), PageRequest.of(0, 20)).taskIds()).isEmpty();
+    }
+
+    @Test
+    void shouldSortTasksWithoutExecutionTimeAsMySql() {
+        TaskTagFilter work = filter(Set.of(WORK), Set.of(), Set.of());
+
+        assertThat(find(work, PageRequest.of(0, 20)).taskIds()).containsExactly(5L, 1L, 3L, 4L);
+        assertThat(find(work, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "executionTime"))).taskIds())
+            .containsExactly(4L, 3L, 1L, 5L);
+    }
+
+    @Test
+    void shouldFilterTheBoundaryDaysOfTheRangeOnTheExactTime() {
+        TaskTagFilter filter = new TaskTagFilter(Set.of(), Set.of(), Set.of(), DAY_1.plusSeconds(5000), DAY_2.plusSeconds(5000));
+
+        TaskTagIndexService.Hits hits = find(filter, PageRequest.of(0, 20));
+
+        assertThat(hits.taskIds()).containsExactly(2L, 3L);
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldPageAcrossDaysInBothDirections() {
+        TaskTagFilter filter = filter(Set.of(), Set.of(), Set.of());
+
+        assertThat(find(filter, PageRequest.of(1, 2)).taskIds()).containsExactly(2L, 3L);
+        assertThat(find(filter, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "executionTime"))).taskIds())
+            .containsExactly(4L, 3L, 2L);
+        assertThat(find(filter, PageRequest.of(2, 2)).total()).isEqualTo(5);
+        verify(taskRepository, times(1)).findIdAndExecutionTimeByUserId(USER_ID);
+    }
+
+    @Test
+    void shouldApplyTheWritesToTheLoadedIndex() {
+        TaskTagFilter urgent = filter(Set.of(URGENT), Set.of(), Set.of());
+        assertThat(find(urgent, PageRequest.of(0, 20)).taskIds()).containsExactly(1L, 4L);
+
+        taskTagIndexService.taskCreated(task(6L, USER_ID, DAY_1, URGENT));
+        taskTagIndexService.taskUpdated(task(1L, USER_ID, DAY_2.plusSeconds(9000), HOME));
+        taskTagIndexService.taskUpdated(task(4L, 2L, DAY_2, URGENT));
+        taskTagIndexService.taskDeleted(3L);
+
+        assertThat(find(urgent, PageRequest.of(0, 20)).taskIds()).containsExactly(6L);
+        assertThat(find(filter(Set.of(), Set.of(), Set.of()), PageRequest.of(0, 20)).taskIds()).containsExactly(5L, 6L, 2L, 1L);
+    }
+
+    @Test
+    void shouldReuseTheSlotsOfDeletedTasks() {
+        TaskTagFilter work = filter(Set.of(WORK), Set.of(), Set.of());
+        assertThat(find(work, PageRequest.of(0, 20)).taskIds()).containsExactly(5L, 1L, 3L, 4L);
+
+        taskTagIndexService.taskDeleted(3L);
+        taskTagIndexService.taskCreated(task(7L, USER_ID, DAY_1.plusSeconds(1000), WORK));
+        taskTagIndexService.taskDeleted(2L);
+        taskTagIndexService.taskCreated(task(8L, USER_ID, DAY_2.plusSeconds(9000), HOME));
+
+        assertThat(find(work, PageRequest.of(0, 20)).taskIds()).containsExactly(5L, 7L, 1L, 4L);
+        assertThat(find(filter(Set.of(HOME), Set.of(), Set.of()), PageRequest.of(0, 20)).taskIds()).containsExactly(8L);
+    }
+
+    private TaskTagIndexService.Hits find(TaskTagFilter filter, Pageable pageable) {
+        return taskTagIndexService.find(USER_ID, filter, pageable);
+    }
+
+    private static TaskTagFilter filter(Set<Long> allTags, Set<Long> anyTags, Set<Long> noneTags) {
+        return new TaskTagFilter(allTags, anyTags, noneTags, null, null);
+    }
+
+    private static Task task(Long id, Long userId, Instant executionTime, Long tagId) {
+        User user = new User();
+        user.setId(userId);
+        return new Task().id(id).user(user).executionTime(executionTime).addTag(new Tag().id(tagId));
+    }
+}
@@ -0,0 +1,89 @@
+package com.task.manager.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.task.manager.web.filter.RequestRouter.Route;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class RequestRouterTest {
+
+    private final RequestRouter router = RequestRouter.defaultRoutes();
+
+    @Test
+    void shouldForwardClientRoutes() {
+        assertThat(router.route("GET", "/")).isEqualTo(Route.SPA_FORWARD);
+        assertThat(router.route("GET", "/first-level")).isEqualTo(Route.SPA_FORWARD);
+        assertThat(router.route("GET", "/1/2/3/4/5/6/7/8/9/10")).isEqualTo(Route.SPA_FORWARD);
+        assertThat(router.route("GET", "/app/tasks")).isEqualTo(Route.SPA_FORWARD);
+    }
+
+    @Test
+    void shouldNotForwardApiManagementAndFiles() {
+        assertThat(router.route("GET", "/apiary")).isEqualTo(Route.UNMAPPED);
+        assertThat(router.route("GET", "/foo/bar.js")).isEqualTo(Route.UNMAPPED);
+        assertThat(router.route("GET", "/foo.exe")).isEqualTo(Route.UNMAPPED);
+        assertThat(router.route("GET", "")).isEqualTo(Route.UNMAPPED);
+    }
+
+    @Test
+    void shouldRouteStaticResources() {
+        assertThat(router.route("GET", "/index.html")).isEqualTo(Route.STATIC);
+        assertThat(router.route("GET", "/main.js")).isEqualTo(Route.STATIC);
+        assertThat(router.route("GET", "/favicon.ico")).isEqualTo(Route.STATIC);
+        assertThat(router.route("GET", "/manifest.webapp")).isEqualTo(Route.STATIC);
+        assertThat(router.route("GET", "/app/main.js")).isEqualTo(Route.STATIC);
+        assertThat(router.route("GET", "/i18n/en.json")).isEqualTo(Route.STATIC);
+        assertThat(router.route("GET", "/content/images/logo.png")).isEqualTo(Route.STATIC);
+        assertThat(router.route("GET", "/swagger-ui/index.html")).isEqualTo(Route.STATIC);
+    }
+
+    @Test
+    void shouldRouteApi() {
+        assertThat(router.route("POST", "/api/authenticate")).isEqualTo(Route.PUBLIC_API);
+        assertThat(router.route("GET", "/api/authenticate")).isEqualTo(Route.PUBLIC_API);
+        assertThat(router.route("DELETE", "/api/authenticate")).isEqualTo(Route.API);
+        assertThat(router.route("POST", "/api/register")).isEqualTo(Route.PUBLIC_API);
+        assertThat(router.route("POST", "/api/register-user-for-tasks")).isEqualTo(Route.PUBLIC_API);
+        assertThat(router.route("POST", "/api/account/reset-password/init")).isEqualTo(Route.PUBLIC_API);
+        assertThat(router.route("POST", "/api/register/")).isEqualTo(Route.API);
+        assertThat(router.route("GET", "/api")).isEqualTo(Route.API);
+        assertThat(router.route("GET", "/api/tasks/user-tasks/1")).isEqualTo(Route.API);
+        assertThat(router.route("GET", "/api/account/reset-password")).isEqualTo(Route.API);
+        assertThat(router.route("GET", "/api/admin/users")).isEqualTo(Route.ADMIN);
+        assertThat(router.route("GET", "/v3/api-docs")).isEqualTo(Route.ADMIN);
+        assertThat(router.route("GET", "/v3/api-docs/swagger-config")).isEqualTo(Route.ADMIN);
+    }
+
+    @Test
+    void shouldRouteManagement() {
+        assertThat(router.route("GET", "/management/health")).isEqualTo(Route.PUBLIC_MANAGEMENT);
+        assertThat(router.route("GET", "/management/health/liveness")).isEqualTo(Route.PUBLIC_MANAGEMENT);
+        assertThat(router.route("GET", "/management/info")).isEqualTo(Route.PUBLIC_MANAGEMENT);
+        assertThat(router.route("GET", "/management/prometheus")).isEqualTo(Route.PUBLIC_MANAGEMENT);
+        assertThat(router.route("GET", "/management/info/more")).isEqualTo(Route.MANAGEMENT);
+        assertThat(router.route("GET", "/management/loggers")).isEqualTo(Route.MANAGEMENT);
+        assertThat(router.route("GET", "/management")).isEqualTo(Route.MANAGEMENT);
+    }
+
+    @Test
+    void shouldRouteRequestOncePerUri() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ctx/api/tasks");
+        request.setContextPath("/ctx");
+        assertThat(router.route(request)).isEqualTo(Route.API);
+        assertThat(router.matcher(Route.API).matches(request)).isTrue();
+
+        request.setRequestURI("/ctx/index.html");
+        assertThat(router.route(request)).isEqualTo(Route.STATIC);
+    }
+
+    @Test
+    void shouldRouteDecodedPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ctx/api/%61dmin/users");
+        request.setContextPath("/ctx");
+        assertThat(router.route(request)).isEqualTo(Route.ADMIN);
+
+        request.setRequestURI("/ctx/management;jsessionid=1/loggers");
+        assertThat(router.route(request)).isEqualTo(Route.MANAGEMENT);
+    }
+}
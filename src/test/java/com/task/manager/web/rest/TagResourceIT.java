@@ -121,7 +121,7 @@ class TagResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(tag.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(tag.getId())))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
@@ -136,7 +136,7 @@ class TagResourceIT {
             .perform(get(ENTITY_API_URL_ID, tag.getId()))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.id").value(tag.getId().intValue()))
+            .andExpect(jsonPath("$.id").value(tag.getId()))
             .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
     }
 
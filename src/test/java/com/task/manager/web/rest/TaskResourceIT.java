@@ -6,16 +6,27 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
 import com.task.manager.IntegrationTest;
+import com.task.manager.domain.Tag;
 import com.task.manager.domain.Task;
+import com.task.manager.domain.User;
 import com.task.manager.repository.TaskRepository;
+import com.task.manager.repository.UserRepository;
 import com.task.manager.service.TaskService;
+import com.task.manager.service.dto.TaskBulkOperationDTO;
+import com.task.manager.service.dto.TaskTagChangeDTO;
+import com.task.manager.web.rest.json.BinaryFormats;
+import com.task.manager.web.rest.json.EntityProtobufHttpMessageConverter;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +40,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -70,6 +82,9 @@ class TaskResourceIT {
     @Mock
     private TaskService taskServiceMock;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -164,7 +179,7 @@ class TaskResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId())))
             .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].executionTime").value(hasItem(DEFAULT_EXECUTION_TIME.toString())))
@@ -172,6 +187,25 @@ class TaskResourceIT {
             .andExpect(jsonPath("$.[*].closed").value(hasItem(DEFAULT_CLOSED.booleanValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllTasksLeavesTheDescriptionToTheDetailView() throws Exception {
+        // Initialize the database
+        taskRepository.saveAndFlush(task);
+        em.clear();
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId())))
+            .andExpect(jsonPath("$.[*].description").doesNotExist());
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL_ID, task.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllTasksWithEagerRelationshipsIsEnabled() throws Exception {
         when(taskServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -200,7 +234,7 @@ class TaskResourceIT {
             .perform(get(ENTITY_API_URL_ID, task.getId()))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.id").value(task.getId().intValue()))
+            .andExpect(jsonPath("$.id").value(task.getId()))
             .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
             .andExpect(jsonPath("$.executionTime").value(DEFAULT_EXECUTION_TIME.toString()))
@@ -313,7 +347,7 @@ class TaskResourceIT {
     @Transactional
     void partialUpdateTaskWithPatch() throws Exception {
         // Initialize the database
-        taskRepository.saveAndFlush(task);
+        taskRepository.saveAndFlush(task.user(currentUser()));
 
         int databaseSizeBeforeUpdate = taskRepository.findAll().size();
 
@@ -346,7 +380,7 @@ class TaskResourceIT {
     @Transactional
     void fullUpdateTaskWithPatch() throws Exception {
         // Initialize the database
-        taskRepository.saveAndFlush(task);
+        taskRepository.saveAndFlush(task.user(currentUser()));
 
         int databaseSizeBeforeUpdate = taskRepository.findAll().size();
 
@@ -453,4 +487,406 @@ class TaskResourceIT {
         List<Task> taskList = taskRepository.findAll();
         assertThat(taskList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void createTaskWithTheSameTagTwice() throws Exception {
+        // Initialize the database
+        Tag tag = TagResourceIT.createEntity(em);
+        em.persist(tag);
+        task.addTag(new Tag().id(tag.getId())).addTag(new Tag().id(tag.getId()));
+
+        restTaskMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(task)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.tags.length()").value(1))
+            .andExpect(jsonPath("$.tags.[0].id").value(tag.getId()));
+
+        // the tag links are inserted by the flush
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void bulkCloseTasksById() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        Task other = createEntity(em).user(user);
+        taskRepository.saveAndFlush(task.user(user));
+        taskRepository.saveAndFlush(other);
+
+        TaskBulkOperationDTO operation = new TaskBulkOperationDTO();
+        operation.setOperation(TaskBulkOperationDTO.Operation.CLOSE);
+        operation.setUserId(user.getId());
+        operation.setIds(List.of(task.getId()));
+
+        restTaskMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk-ops")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(operation))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks").value(1));
+
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getClosed()).isTrue();
+        assertThat(taskRepository.findById(other.getId()).orElseThrow().getClosed()).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void bulkDeleteTasksInRange() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        Tag tag = TagResourceIT.createEntity(em);
+        em.persist(tag);
+        taskRepository.saveAndFlush(task.user(user).addTag(tag));
+        Task later = taskRepository.saveAndFlush(createEntity(em).user(user).executionTime(UPDATED_EXECUTION_TIME));
+
+        TaskBulkOperationDTO operation = new TaskBulkOperationDTO();
+        operation.setOperation(TaskBulkOperationDTO.Operation.DELETE);
+        operation.setUserId(user.getId());
+        operation.setFrom(DEFAULT_EXECUTION_TIME);
+        operation.setTo(DEFAULT_EXECUTION_TIME.plus(1, ChronoUnit.DAYS));
+
+        restTaskMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk-ops")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(operation))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks").value(1))
+            .andExpect(jsonPath("$.tagLinks").value(1));
+
+        assertThat(taskRepository.existsById(task.getId())).isFalse();
+        assertThat(taskRepository.existsById(later.getId())).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void bulkCloseTasksOfAnotherUser() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        taskRepository.saveAndFlush(task.user(user));
+
+        TaskBulkOperationDTO operation = new TaskBulkOperationDTO();
+        operation.setOperation(TaskBulkOperationDTO.Operation.CLOSE);
+        operation.setUserId(user.getId());
+        operation.setIds(List.of(task.getId()));
+
+        restTaskMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk-ops")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(operation))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getClosed()).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void bulkOperationNeedsASingleScope() throws Exception {
+        TaskBulkOperationDTO operation = new TaskBulkOperationDTO();
+        operation.setOperation(TaskBulkOperationDTO.Operation.REOPEN);
+        operation.setUserId(1L);
+
+        restTaskMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk-ops")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(operation))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void patchWithMinimalReturn() throws Exception {
+        // Initialize the database
+        taskRepository.saveAndFlush(task.user(currentUser()));
+
+        Task partialUpdatedTask = new Task();
+        partialUpdatedTask.setId(task.getId());
+        partialUpdatedTask.closed(UPDATED_CLOSED);
+
+        restTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedTask.getId())
+                    .contentType("application/merge-patch+json")
+                    .header("If-Match", "\"" + task.getVersion() + "\"")
+                    .header("Prefer", "return=minimal")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedTask))
+            )
+            .andExpect(status().isNoContent())
+            .andExpect(header().string("ETag", "\"" + (task.getVersion() + 1) + "\""))
+            .andExpect(header().string("Preference-Applied", "return=minimal"));
+
+        Task testTask = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(testTask.getClosed()).isEqualTo(UPDATED_CLOSED);
+        assertThat(testTask.getTitle()).isEqualTo(DEFAULT_TITLE);
+        assertThat(testTask.getVersion()).isEqualTo(task.getVersion() + 1);
+    }
+
+    @Test
+    @Transactional
+    void patchWithStaleVersion() throws Exception {
+        // Initialize the database
+        taskRepository.saveAndFlush(task.user(currentUser()));
+
+        Task partialUpdatedTask = new Task();
+        partialUpdatedTask.setId(task.getId());
+        partialUpdatedTask.title(UPDATED_TITLE);
+
+        restTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedTask.getId())
+                    .contentType("application/merge-patch+json")
+                    .header("If-Match", "\"" + (task.getVersion() + 1) + "\"")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedTask))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getTitle()).isEqualTo(DEFAULT_TITLE);
+    }
+
+    @Test
+    @Transactional
+    void patchWithoutChangesKeepsTheVersion() throws Exception {
+        // Initialize the database
+        taskRepository.saveAndFlush(task.user(currentUser()));
+
+        Task partialUpdatedTask = new Task();
+        partialUpdatedTask.setId(task.getId());
+
+        restTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedTask.getId())
+                    .contentType("application/merge-patch+json")
+                    .header("If-Match", "\"" + task.getVersion() + "\"")
+                    .header("Prefer", "return=minimal")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedTask))
+            )
+            .andExpect(status().isNoContent())
+            .andExpect(header().string("ETag", "\"" + task.getVersion() + "\""));
+
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getVersion()).isEqualTo(task.getVersion());
+    }
+
+    @Test
+    @Transactional
+    void patchTaskOfAnotherUser() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        taskRepository.saveAndFlush(task.user(user));
+
+        Task partialUpdatedTask = new Task();
+        partialUpdatedTask.setId(task.getId());
+        partialUpdatedTask.title(UPDATED_TITLE);
+
+        restTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedTask.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedTask))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getTitle()).isEqualTo(DEFAULT_TITLE);
+    }
+
+    @Test
+    @Transactional
+    void changeTagsWritesOnlyTheChangedLinks() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        Tag kept = TagResourceIT.createEntity(em).user(user);
+        Tag removed = TagResourceIT.createEntity(em).user(user);
+        Tag added = TagResourceIT.createEntity(em).user(user);
+        em.persist(kept);
+        em.persist(removed);
+        em.persist(added);
+        taskRepository.saveAndFlush(task.user(user).addTag(kept).addTag(removed));
+        long version = task.getVersion();
+
+        TaskTagChangeDTO changes = new TaskTagChangeDTO();
+        changes.setAdd(Set.of(added.getId(), kept.getId()));
+        changes.setRemove(Set.of(removed.getId()));
+
+        restTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID + "/tags", task.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(changes))
+            )
+            .andExpect(status().isNoContent());
+
+        Task testTask = taskRepository.findOneWithEagerRelationships(task.getId()).orElseThrow();
+        assertThat(testTask.getTags()).extracting(Tag::getId).containsExactlyInAnyOrder(kept.getId(), added.getId());
+        assertThat(testTask.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @Transactional
+    void changeTagsRejectsTagsOfAnotherUser() throws Exception {
+        // Initialize the database
+        User other = UserResourceIT.createEntity(em);
+        em.persist(other);
+        Tag foreign = TagResourceIT.createEntity(em).user(other);
+        em.persist(foreign);
+        taskRepository.saveAndFlush(task.user(currentUser()));
+
+        TaskTagChangeDTO changes = new TaskTagChangeDTO();
+        changes.setAdd(Set.of(foreign.getId()));
+
+        restTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID + "/tags", task.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(changes))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(taskRepository.findOneWithEagerRelationships(task.getId()).orElseThrow().getTags()).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void getTasksOfUserWithFields() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        Tag tag = TagResourceIT.createEntity(em).user(user);
+        em.persist(tag);
+        taskRepository.saveAndFlush(task.user(user).addTag(tag));
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/user-tasks/{userId}?fields=title,tags&sort=id,desc", user.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(task.getId()))
+            .andExpect(jsonPath("$.[0].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.[0].description").doesNotExist())
+            .andExpect(jsonPath("$.[0].executionTime").doesNotExist())
+            .andExpect(jsonPath("$.[0].tags[0].id").value(tag.getId()))
+            .andExpect(jsonPath("$.[0].tags[0].name").value(tag.getName()));
+    }
+
+    @Test
+    @Transactional
+    void getTasksWithFieldsLoadsTagsOnlyWhenRequested() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        Tag tag = TagResourceIT.createEntity(em).user(user);
+        em.persist(tag);
+        taskRepository.saveAndFlush(task.user(user).addTag(tag));
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=executionTime,closed&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].executionTime").value(hasItem(DEFAULT_EXECUTION_TIME.toString())))
+            .andExpect(jsonPath("$.[*].closed").value(hasItem(DEFAULT_CLOSED.booleanValue())))
+            .andExpect(jsonPath("$.[*].title").doesNotExist())
+            .andExpect(jsonPath("$.[*].tags").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getTasksWithUnknownField() throws Exception {
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "?fields=title,user")).andExpect(status().isBadRequest());
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "?fields=title&sort=tags,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getTasksOfUserInBinaryFormats() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        taskRepository.saveAndFlush(task.user(user));
+
+        byte[] cbor = restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/user-tasks/{userId}?sort=id,desc", user.getId()).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        JsonNode tasks = new CBORMapper().readTree(cbor);
+        assertThat(tasks.get(0).get("id").asLong()).isEqualTo(task.getId());
+        assertThat(tasks.get(0).get("uuid").asText()).isEqualTo(task.getUuid().toString());
+        assertThat(tasks.get(0).get("executionTime").asText()).isEqualTo(DEFAULT_EXECUTION_TIME.toString());
+
+        byte[] protobuf = restTaskMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/user-tasks/{userId}?fields=title&sort=id,desc", user.getId())
+                    .accept(BinaryFormats.APPLICATION_PROTOBUF)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(BinaryFormats.APPLICATION_PROTOBUF))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        tasks = new ProtobufMapper()
+            .readerFor(JsonNode.class)
+            .with(EntityProtobufHttpMessageConverter.schema("TaskList"))
+            .<JsonNode>readValue(protobuf)
+            .get("tasks");
+        assertThat(tasks.get(0).get("id").asLong()).isEqualTo(task.getId());
+        assertThat(tasks.get(0).get("title").asText()).isEqualTo(DEFAULT_TITLE);
+    }
+
+    @Test
+    @Transactional
+    void getReportsOfUserAsynchronously() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        taskRepository.saveAndFlush(task.user(user));
+
+        MvcResult rel = restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/rel/{userId}", user.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restTaskMockMvc
+            .perform(asyncDispatch(rel))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[0].uv").value(1))
+            .andExpect(jsonPath("$.[1].uv").value(0));
+
+        MvcResult export = restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/user-tasks/{userId}?includeArchived=true&sort=id,desc", user.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restTaskMockMvc
+            .perform(asyncDispatch(export))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId())));
+    }
+
+    @Test
+    @Transactional
+    void getDashboardOfUser() throws Exception {
+        // Initialize the database
+        User user = currentUser();
+        taskRepository.saveAndFlush(task.user(user));
+
+        MvcResult dashboard = restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/dashboard/{userId}", user.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restTaskMockMvc
+            .perform(asyncDispatch(dashboard))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.tasks.[0].uv").value(1))
+            .andExpect(jsonPath("$.tasks.[1].uv").value(0))
+            .andExpect(jsonPath("$.resolvedTasksByTag").isEmpty());
+    }
+
+    private User currentUser() {
+        return userRepository.findOneByLogin("user").orElseThrow();
+    }
 }
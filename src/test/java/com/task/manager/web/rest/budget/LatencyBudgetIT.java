@@ -0,0 +1,138 @@
+package com.task.manager.web.rest.budget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.task.manager.IntegrationTest;
+import com.task.manager.aop.budget.QueryBudgetAspect;
+import com.task.manager.repository.QueryBudget;
+import com.task.manager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the latency budgets of the REST endpoints, see {@link LatencyBudget}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = { "application.latency-budgets.search=0s", "application.latency-budgets.calendar=0s" })
+class LatencyBudgetIT {
+
+    private static final String SLOW_QUERY = "SELECT SLEEP(10)";
+
+    private static final Duration SLOW_QUERY_STOPPED_WITHIN = Duration.ofSeconds(5);
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearBudget() {
+        QueryBudget.restore(null);
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableBeyondTheBudget() throws Exception {
+        Long userId = userRepository.findOneByLogin("user").orElseThrow().getId();
+
+        restMockMvc.perform(get("/api/tasks/tasks-by-title/{title}/{userId}", "title", userId)).andExpect(status().isServiceUnavailable());
+
+        assertThat(timeouts("search", "timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableBeyondTheBudgetOfTheCalendar() throws Exception {
+        Long userId = userRepository.findOneByLogin("user").orElseThrow().getId();
+
+        restMockMvc
+            .perform(get("/api/tasks/tasks-by-month/{month}/{userId}", "2024-05", userId))
+            .andExpect(status().isServiceUnavailable());
+        // not the current week, which is served through the response cache
+        restMockMvc
+            .perform(get("/api/tasks/tasks-by-week/{week}/{userId}", "2020-W01", userId))
+            .andExpect(status().isServiceUnavailable());
+
+        assertThat(timeouts("calendar", "timeout")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRefuseTransactionsOnceTheBudgetIsExhausted() {
+        QueryBudget.use(new QueryBudget("test-exhausted", Duration.ZERO));
+
+        assertThatThrownBy(() -> userRepository.findOneByLogin("user")).isInstanceOf(TransactionTimedOutException.class);
+        assertThatThrownBy(() -> userRepository.findOneByLogin("user")).isInstanceOf(TransactionTimedOutException.class);
+        assertThat(timeouts("test-exhausted", "timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeOutStatementsBeyondTheBudget() {
+        QueryBudget.use(new QueryBudget("test-slow", Duration.ofSeconds(1)));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(this::runSlowQuery).isInstanceOf(QueryTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(SLOW_QUERY_STOPPED_WITHIN);
+    }
+
+    @Test
+    void shouldCancelRunningStatements() throws Exception {
+        QueryBudget budget = new QueryBudget("test-cancelled", Duration.ofSeconds(30));
+        CompletableFuture<Object> slowQuery = CompletableFuture.supplyAsync(() -> {
+            QueryBudget.use(budget);
+            try {
+                return runSlowQuery();
+            } finally {
+                QueryBudget.restore(null);
+            }
+        });
+
+        long start = System.nanoTime();
+        // the statement may not run yet when cancelled first
+        while (!slowQuery.isDone() && Duration.ofNanos(System.nanoTime() - start).compareTo(SLOW_QUERY_STOPPED_WITHIN) < 0) {
+            budget.cancel();
+            Thread.sleep(100);
+        }
+        assertThat(slowQuery).isCompletedExceptionally();
+        assertThatThrownBy(slowQuery::join).isInstanceOf(CompletionException.class);
+    }
+
+    private Object runSlowQuery() {
+        return new TransactionTemplate(transactionManager).execute(status -> em.createNativeQuery(SLOW_QUERY).getSingleResult());
+    }
+
+    private double timeouts(String endpointClass, String cause) {
+        return meterRegistry
+            .get(QueryBudgetAspect.TIMEOUTS_METER_NAME)
+            .tag(QueryBudgetAspect.ENDPOINT_CLASS_DIMENSION, endpointClass)
+            .tag(QueryBudgetAspect.CAUSE_DIMENSION, cause)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,163 @@
+package com.task.manager.web.rest.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.manager.config.ApplicationProperties;
+import com.task.manager.service.DataVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+class SerializedResponseCacheTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private DataVersionService dataVersionService;
+
+    private SerializedResponseCache cache;
+
+    private final AtomicInteger computed = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        dataVersionService = new DataVersionService();
+        cache = new SerializedResponseCache(dataVersionService, new ObjectMapper(), applicationProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldServeTheCachedResponseUntilTheUserChanges() throws Exception {
+        MockHttpServletRequest request = request(1L);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        ResponseEntity<?> miss = cache.get(request, 1L, () -> tasks("a"));
+        ResponseEntity<?> hit = cache.get(request, 1L, () -> tasks("b"));
+
+        assertThat(computed).hasValue(1);
+        assertThat(miss.getHeaders().getFirst(SerializedResponseCache.CACHE_HEADER)).isEqualTo("miss");
+        assertThat(hit.getHeaders().getFirst(SerializedResponseCache.CACHE_HEADER)).isEqualTo("hit");
+        assertThat(hit.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(hit.getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+        assertThat(gunzip((byte[]) hit.getBody())).isEqualTo("[\"a\"]");
+
+        dataVersionService.changed(2L);
+        cache.get(request, 1L, () -> tasks("b"));
+        assertThat(computed).hasValue(1);
+
+        dataVersionService.changed(1L);
+        ResponseEntity<?> changed = cache.get(request, 1L, () -> tasks("b"));
+        assertThat(computed).hasValue(2);
+        assertThat(gunzip((byte[]) changed.getBody())).isEqualTo("[\"b\"]");
+        assertThat(cache.statistics().responses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDecompressForClientsNotAcceptingGzip() {
+        cache.get(request(1L), 1L, () -> tasks("a"));
+        ResponseEntity<?> hit = cache.get(request(1L), 1L, () -> tasks("b"));
+
+        assertThat(hit.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(new String((byte[]) hit.getBody())).isEqualTo("[\"a\"]");
+    }
+
+    @Test
+    void shouldKeyResponsesByRequest() {
+        MockHttpServletRequest sorted = request(1L);
+        sorted.setParameter("sort", "id,desc");
+        sorted.setParameter("page", "0");
+        MockHttpServletRequest reordered = request(1L);
+        reordered.setParameter("page", "0");
+        reordered.setParameter("sort", "id,desc");
+        MockHttpServletRequest otherPage = request(1L);
+        otherPage.setParameter("page", "1");
+
+        cache.get(sorted, 1L, () -> tasks("a"));
+        cache.get(reordered, 1L, () -> tasks("a"));
+        cache.get(otherPage, 1L, () -> tasks("a"));
+
+        assertThat(computed).hasValue(2);
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedBeyondMaxSize() {
+        applicationProperties.getResponseCache().setMaxSize(DataSize.ofBytes(2000));
+        String body = randomText(1000);
+
+        cache.get(request(1L), 1L, () -> tasks(body));
+        cache.get(request(2L), 2L, () -> tasks(body));
+        cache.get(request(1L), 1L, () -> tasks(body));
+        cache.get(request(3L), 3L, () -> tasks(body));
+
+        SerializedResponseCache.Snapshot snapshot = cache.snapshot();
+        assertThat(snapshot.statistics().evictions()).isEqualTo(1);
+        assertThat(snapshot.statistics().bytes()).isLessThanOrEqualTo(2000);
+        assertThat(snapshot.responses()).extracting(SerializedResponseCache.CachedResponse::userId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void shouldOnlyCacheSuccessfulJsonResponses() {
+        MockHttpServletRequest cbor = request(1L);
+        cbor.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        cache.get(cbor, 1L, () -> tasks("a"));
+        cache.get(cbor, 1L, () -> tasks("a"));
+
+        MockHttpServletRequest json = request(2L);
+        json.addHeader(HttpHeaders.ACCEPT, "application/json, text/plain, */*");
+        cache.get(json, 2L, this::badRequest);
+        cache.get(json, 2L, this::badRequest);
+
+        assertThat(computed).hasValue(4);
+        assertThat(cache.statistics().responses()).isZero();
+    }
+
+    @Test
+    void shouldFlushTheResponsesOfAUser() {
+        cache.get(request(1L), 1L, () -> tasks("a"));
+        cache.get(request(2L), 2L, () -> tasks("a"));
+
+        assertThat(cache.evict(1L)).isEqualTo(1);
+        assertThat(cache.snapshot().responses()).extracting(SerializedResponseCache.CachedResponse::userId).containsExactly(2L);
+        assertThat(cache.evictAll()).isEqualTo(1);
+        assertThat(cache.statistics().bytes()).isZero();
+    }
+
+    private static MockHttpServletRequest request(Long userId) {
+        return new MockHttpServletRequest("GET", "/api/tags/user-tags/" + userId);
+    }
+
+    private ResponseEntity<List<String>> tasks(String task) {
+        computed.incrementAndGet();
+        return ResponseEntity.ok().header("X-Total-Count", "1").body(List.of(task));
+    }
+
+    private ResponseEntity<List<String>> badRequest() {
+        computed.incrementAndGet();
+        return ResponseEntity.badRequest().build();
+    }
+
+    private static String gunzip(byte[] gzipped) throws Exception {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return new String(gzip.readAllBytes());
+        }
+    }
+
+    private static String randomText(int length) {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) random.nextInt('!', '~'));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.task.manager.web.rest.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import com.task.manager.domain.User;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntityJsonModuleTest {
+
+    private ObjectMapper reflective;
+
+    private ObjectMapper handWritten;
+
+    private Task task;
+
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        reflective = mapper().build();
+        handWritten = mapper().addModule(new EntityJsonModule()).build();
+
+        User user = new User();
+        user.setId(7L);
+        user.setLogin("user");
+        tag = new Tag().id(2L).name("work").user(user);
+        task = new Task()
+            .id(1L)
+            .title("title")
+            .description("description")
+            .executionTime(Instant.parse("2024-03-01T10:15:30Z"))
+            .durationMin(30L)
+            .closed(false)
+            .user(user)
+            .addTag(tag);
+        task.setVersion(3L);
+        tag.getTasks().add(task);
+    }
+
+    @Test
+    void shouldWriteTasksAsTheReflectiveSerializer() throws Exception {
+        assertSameJson(List.of(task, new Task().id(4L)));
+    }
+
+    @Test
+    void shouldWriteTagsAsTheReflectiveSerializer() throws Exception {
+        assertSameJson(List.of(tag, new Tag().id(5L)));
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        String expected = reflective.writeValueAsString(value);
+        String actual = handWritten.writeValueAsString(value);
+
+        assertThat(handWritten.readTree(actual)).isEqualTo(reflective.readTree(expected));
+    }
+
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper
+            .builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new Jdk8Module())
+            .addModule(new Hibernate6Module().configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true))
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,122 @@
+package com.task.manager.web.rest.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.task.manager.domain.Tag;
+import com.task.manager.domain.Task;
+import com.task.manager.domain.User;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class EntityProtobufHttpMessageConverterTest {
+
+    private ObjectMapper protobuf;
+
+    private EntityProtobufHttpMessageConverter converter;
+
+    private Task task;
+
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        protobuf = BinaryFormats.protobuf(
+            new Jackson2ObjectMapperBuilder()
+                .modules(
+                    new JavaTimeModule(),
+                    new Jdk8Module(),
+                    new Hibernate6Module().configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true),
+                    new EntityJsonModule()
+                )
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        );
+        converter = new EntityProtobufHttpMessageConverter(protobuf);
+
+        User user = new User();
+        user.setId(7L);
+        user.setLogin("user");
+        user.setEmail("user@localhost");
+        tag = new Tag().id(2L).name("work").user(user);
+        tag.setUuid(UUID.randomUUID());
+        task = new Task()
+            .id(1L)
+            .title("title")
+            .description("description")
+            .executionTime(Instant.parse("2024-03-01T08:00:00Z"))
+            .durationMin(30L)
+            .closed(true)
+            .user(user);
+        tag.addTask(task);
+        task.setUuid(UUID.randomUUID());
+        task.setVersion(3L);
+    }
+
+    @Test
+    void shouldWriteTasksWithTheSchema() throws Exception {
+        JsonNode tasks = write(List.of(task), "TaskList").get("tasks");
+
+        assertThat(tasks).hasSize(1);
+        assertThat(tasks.get(0).get("id").asLong()).isEqualTo(1L);
+        assertThat(tasks.get(0).get("uuid").asText()).isEqualTo(task.getUuid().toString());
+        assertThat(tasks.get(0).get("title").asText()).isEqualTo("title");
+        assertThat(tasks.get(0).get("executionTime").asText()).isEqualTo("2024-03-01T08:00:00Z");
+        assertThat(tasks.get(0).get("closed").asBoolean()).isTrue();
+        assertThat(tasks.get(0).get("version").asLong()).isEqualTo(3L);
+        // the properties of the user which are not in the schema are skipped
+        assertThat(tasks.get(0).get("user").get("login").asText()).isEqualTo("user");
+        assertThat(tasks.get(0).get("user").has("email")).isFalse();
+        assertThat(tasks.get(0).get("tags").get(0).get("name").asText()).isEqualTo("work");
+    }
+
+    @Test
+    void shouldWriteSparseFieldsetsAsTasks() throws Exception {
+        JsonNode tasks = write(List.of(Map.of("id", 1L, "uuid", task.getUuid(), "title", "title")), "TaskList").get("tasks");
+
+        assertThat(tasks.get(0).get("uuid").asText()).isEqualTo(task.getUuid().toString());
+        assertThat(tasks.get(0).get("title").asText()).isEqualTo("title");
+        assertThat(tasks.get(0).has("closed")).isFalse();
+    }
+
+    @Test
+    void shouldWriteTags() throws Exception {
+        JsonNode tags = write(List.of(tag), "TagList").get("tags");
+
+        assertThat(tags.get(0).get("id").asLong()).isEqualTo(2L);
+        assertThat(tags.get(0).get("name").asText()).isEqualTo("work");
+        assertThat(tags.get(0).get("tasks").get(0).get("title").asText()).isEqualTo("title");
+    }
+
+    @Test
+    void shouldOnlyWriteListsOfTasksAndTags() {
+        MediaType mediaType = BinaryFormats.APPLICATION_PROTOBUF;
+
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<Task>>() {}.getType(), List.class, mediaType)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<?>>() {}.getType(), List.class, mediaType)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<User>>() {}.getType(), List.class, mediaType)).isFalse();
+        assertThat(converter.canWrite(Task.class, Task.class, mediaType)).isFalse();
+        assertThat(converter.canRead(List.class, mediaType)).isFalse();
+    }
+
+    private JsonNode write(List<?> entities, String rootType) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(entities, List.class, BinaryFormats.APPLICATION_PROTOBUF, output);
+        assertThat(output.getHeaders().getContentType()).isEqualTo(BinaryFormats.APPLICATION_PROTOBUF);
+        ProtobufSchema schema = EntityProtobufHttpMessageConverter.schema(rootType);
+        return protobuf.readerFor(JsonNode.class).with(schema).readValue(output.getBodyAsBytes());
+    }
+}
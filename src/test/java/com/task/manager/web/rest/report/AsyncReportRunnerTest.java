@@ -0,0 +1,97 @@
+package com.task.manager.web.rest.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.task.manager.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+class AsyncReportRunnerTest {
+
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+
+    private int queueCapacity = 10;
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry registry;
+
+    private AsyncReportRunner runner;
+
+    private final AtomicInteger computed = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = task -> {
+            if (queued.size() >= queueCapacity) {
+                throw new RejectedExecutionException("full");
+            }
+            queued.add(task);
+        };
+        applicationProperties = new ApplicationProperties();
+        registry = new SimpleMeterRegistry();
+        runner = new AsyncReportRunner(executor, applicationProperties, registry);
+    }
+
+    @Test
+    void shouldAnswerWithTheReportOnceItRan() {
+        DeferredResult<String> result = runner.run(this::report);
+
+        assertThat(result.hasResult()).isFalse();
+        runQueued();
+        assertThat(result.getResult()).isEqualTo("report");
+        assertThat(computed).hasValue(1);
+    }
+
+    @Test
+    void shouldAnswerWithTheFailureOfTheReport() {
+        IllegalStateException failure = new IllegalStateException("failed");
+        DeferredResult<String> result = runner.run(() -> {
+            throw failure;
+        });
+
+        runQueued();
+        assertThat(result.getResult()).isSameAs(failure);
+    }
+
+    @Test
+    void shouldRejectReportsBeyondTheQueueCapacity() {
+        queueCapacity = 1;
+        runner.run(this::report);
+
+        assertThatThrownBy(() -> runner.run(this::report)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(registry.counter(AsyncReportRunner.REJECTIONS_METER_NAME).count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipReportsWaitingLongerThanTheTimeout() throws Exception {
+        applicationProperties.getReporting().setTimeout(Duration.ofMillis(1));
+        runner = new AsyncReportRunner(queued::add, applicationProperties, registry);
+        runner.run(this::report);
+
+        Thread.sleep(10);
+        runQueued();
+        assertThat(computed).hasValue(0);
+    }
+
+    private String report() {
+        computed.incrementAndGet();
+        return "report";
+    }
+
+    private void runQueued() {
+        Runnable task;
+        while ((task = queued.poll()) != null) {
+            task.run();
+        }
+    }
+}